@@ -4,20 +4,49 @@ import com.kms.chinesechess.game.data.ChessManType;
 
 /**
  * ChessManType에 따른 위치 이동 특성을 분석하고 제공해주는 클래스
+ * 각 특성은 클래스가 로드될 때 ChessManType.ordinal() 순서의 표로 한번만 만들어지며, 매서드는 표를 조회만 한다.
  * @author Kwon
  *
  */
 public class ChessManAnalyzer {
+	private static final int CHESS_MAN_TYPE_COUNT = ChessManType.values().length;
+	
+	private static final boolean[] JUMPABLE = new boolean[CHESS_MAN_TYPE_COUNT];
+	private static final boolean[] BACKWARDABLE = new boolean[CHESS_MAN_TYPE_COUNT];
+	private static final boolean[] MUST_IN_PALACE = new boolean[CHESS_MAN_TYPE_COUNT];
+	private static final int[] STRAIGHT_COUNT = new int[CHESS_MAN_TYPE_COUNT];
+	private static final int[] DIAGONAL_COUNT = new int[CHESS_MAN_TYPE_COUNT];
+	private static final boolean[] TARGETING_MOVEMENT = new boolean[CHESS_MAN_TYPE_COUNT];
+	
+	static {
+		for(ChessManType chessManType : ChessManType.values()) {
+			BACKWARDABLE[chessManType.ordinal()] = true;
+			STRAIGHT_COUNT[chessManType.ordinal()] = 1;
+		}
+		
+		JUMPABLE[ChessManType.CANNON.ordinal()] = true;
+		
+		BACKWARDABLE[ChessManType.SOLDIER.ordinal()] = false;
+		
+		MUST_IN_PALACE[ChessManType.ADVISER.ordinal()] = true;
+		MUST_IN_PALACE[ChessManType.KING.ordinal()] = true;
+		
+		STRAIGHT_COUNT[ChessManType.CANNON.ordinal()] = Integer.MAX_VALUE;
+		STRAIGHT_COUNT[ChessManType.CHARIOT.ordinal()] = Integer.MAX_VALUE;
+		
+		DIAGONAL_COUNT[ChessManType.HORSE.ordinal()] = 1;
+		DIAGONAL_COUNT[ChessManType.ELEPHANT.ordinal()] = 2;
+		
+		TARGETING_MOVEMENT[ChessManType.HORSE.ordinal()] = true;
+		TARGETING_MOVEMENT[ChessManType.ELEPHANT.ordinal()] = true;
+	}
 	/**
 	 * 장기말이 점프 가능한 장기말인지를 반환해주는 매서드
 	 * @param chessManType 장기말
 	 * @return 점프 가능 여부
 	 */
 	static boolean isJumpable(ChessManType chessManType) {
-		switch(chessManType) {
-		case CANNON : return true;
-		default : return false;
-		}
+		return JUMPABLE[chessManType.ordinal()];
 	}
 	/**
 	 * 장기말이 뒤로 이동 가능한지를 반환해주는 매서드
@@ -25,10 +54,7 @@ public class ChessManAnalyzer {
 	 * @return 뒤로 이동 가능 여부
 	 */
 	static boolean isBackwardable(ChessManType chessManType) {
-		switch(chessManType) {
-		case SOLDIER : return false;
-		default : return true;
-		}
+		return BACKWARDABLE[chessManType.ordinal()];
 	}
 	/**
 	 * 장기말이 궁성 안에 있어야하는지를 반환해주는 매서드
@@ -36,11 +62,7 @@ public class ChessManAnalyzer {
 	 * @return 궁성안에 있어야하는지에 대한 여부
 	 */
 	static boolean isMustInPalace(ChessManType chessManType) {
-		switch(chessManType) {
-		case ADVISER : return true;
-		case KING : return true;
-		default : return false;
-		}
+		return MUST_IN_PALACE[chessManType.ordinal()];
 	}
 	/**
 	 * 장기말의 직진 이동 횟수를 반환해주는 매서드
@@ -48,11 +70,7 @@ public class ChessManAnalyzer {
 	 * @return 장기말의 직진 이동 횟수
 	 */
 	static int getStraightCount(ChessManType chessManType) {
-		switch(chessManType) {
-		case CANNON : return Integer.MAX_VALUE;
-		case CHARIOT :	return Integer.MAX_VALUE;
-		default :	return 1;
-		}
+		return STRAIGHT_COUNT[chessManType.ordinal()];
 	}
 	/**
 	 * 장기말의 대각선 이동 횟수를 반환해주는 매서드
@@ -60,11 +78,7 @@ public class ChessManAnalyzer {
 	 * @return 장기말의 대각선 이동 횟수
 	 */
 	static int getDiagonalCount(ChessManType chessManType) {
-		switch(chessManType) {
-		case HORSE : return 1;
-		case ELEPHANT : return 2;
-		default : return 0;
-		}
+		return DIAGONAL_COUNT[chessManType.ordinal()];
 	}
 	/**
 	 * 장기말이 일정 지역을 타겟으로 이동하는지를 반환해주는 매서드
@@ -72,10 +86,6 @@ public class ChessManAnalyzer {
 	 * @return 장기말이 일정 위치를 타겟으로 이동하면 true, 장기말이 이동 횟수만큼의 위치를 모두 이동하면 false 
 	 */
 	static boolean isTargetingMovement(ChessManType chessManType) {
-		switch(chessManType) {
-		case HORSE : return true;
-		case ELEPHANT : return true;
-		default : return false;
-		}
+		return TARGETING_MOVEMENT[chessManType.ordinal()];
 	}
-}
\ No newline at end of file
+}
@@ -1,45 +1,90 @@
 package com.kms.chinesechess.game.chess_men_paths;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
-import com.kms.chinesechess.game.data.ChessManType;
+import com.kms.chinesechess.game.data.Move;
 import com.kms.chinesechess.game.data.TeamType;
 import com.kms.chinesechess.game.data.board.BoardStatus;
+import com.kms.chinesechess.game.data.board.ReadableBoardStatus;
 import com.kms.chinesechess.support.Location;
 
 /**
  * 장기판의 모든 위치에 대해서 이동 경로와 경고 경로(이동 했을 시 이동하는 팀이 체크를 당하는 경우의 경로)들을 설정하고 제공하는 클래스
+ * 경고 경로를 계산하는 예상 장기판 등 변경되는 상태를 가지므로 여러 스레드가 한 인스턴스를 공유하면 안되고, 스레드마다 장기판과 함께 따로 생성해야한다.
+ * 지연 모드에서는 setPaths()가 경로를 계산하지 않고, 한 위치의 경로가 처음 조회될 때 그 장기말의 이동 경로와 경고 경로만 계산하여 다음 이동까지 보관한다.
+ * 화면에서 클릭한 장기말의 경로만 조회하는 경우처럼 일부 위치만 조회할 때 사용한다.
  * @author Kwon
  *
  */
 public class ChessMenPaths {
-	private final MovablePaths MOVABLE_PATHS;
-	private final WarningPaths WARNING_PATHS = new WarningPaths();
+	private final MovablePaths MOVABLE_PATHS;	// 지연 모드이면 null
+	private final WarningPaths WARNING_PATHS;	// 지연 모드이면 null
+	private final LazyPaths LAZY_PATHS;		// 지연 모드가 아니면 null
+	private final PathList[] LEGAL_PATHS = new PathList[Location.COUNT];	// Location.INDEX 순서의 이동 경로에서 경고 경로를 제외한 실제 이동 가능한 경로
 	
-	private final BoardStatus BOARD_STATUS;
+	private final ReadableBoardStatus BOARD_STATUS;
+	private final PathAnalyzer PATH_ANALYZER;
 	
-	public ChessMenPaths(BoardStatus boardStatus) {
+	public ChessMenPaths(ReadableBoardStatus boardStatus) {
+		this(boardStatus, false);
+	}
+	/**
+	 * @param boardStatus 장기판
+	 * @param isLazy 지연 모드이면 true, 조회된 위치의 경로만 계산한다.
+	 */
+	public ChessMenPaths(ReadableBoardStatus boardStatus, boolean isLazy) {
 		this.BOARD_STATUS = boardStatus;
-		MOVABLE_PATHS = new MovablePaths(this.BOARD_STATUS);
+		MOVABLE_PATHS = isLazy ? null : new MovablePaths(this.BOARD_STATUS);
+		WARNING_PATHS = isLazy ? null : new WarningPaths();
+		LAZY_PATHS = isLazy ? new LazyPaths() : null;
+		PATH_ANALYZER = new PathAnalyzer(this.BOARD_STATUS);
+		
+		for(int index = 0; index < Location.COUNT; index++) {
+			LEGAL_PATHS[index] = new PathList(PathList.PIECE_CAPACITY);
+		}
 	}
 	/**
-	 * 장기판의 모든 위치에 대해서 이동 경로와 경고 경로를 설정하는 매서드
+	 * 장기판의 모든 위치에 대해서 이동 경로와 경고 경로를 설정하는 매서드, 지연 모드에서는 계산해둔 경로를 버리기만 한다.
 	 */
 	public void setPaths() {
+		if(LAZY_PATHS != null) {
+			LAZY_PATHS.reset();
+			return;
+		}
+		
 		MOVABLE_PATHS.setPaths();
 		WARNING_PATHS.setPaths();
 		
-		for(Location[] locations : Location.values()) {
-			for(Location location : locations) {
-				for(int index = 0; index < MOVABLE_PATHS.getPathList(location).size(); index++) {
-					if(WARNING_PATHS.getPathList(location).contains(MOVABLE_PATHS.getPathList(location).get(index))) {
-						MOVABLE_PATHS.getPathList(location).remove(index);
-						--index;
-					}
-				}
+		setLegalPaths();
+	}
+	/**
+	 * 장기판에 before 위치에서 after 위치로의 이동이 반영된 후 이동 경로와 경고 경로를 증분 갱신하는 매서드
+	 * 이동 경로는 before, after 위치를 지나거나 조회하는 장기말의 경로만 다시 계산한다.
+	 * 장기판의 변경이 이 매서드를 거치지 않았다면 setPaths()로 전체를 다시 설정해야한다. 지연 모드에서는 계산해둔 경로를 버리기만 한다.
+	 * @param before 이동 전의 위치
+	 * @param after 이동 후의 위치
+	 */
+	public void setPaths(Location before, Location after) {
+		if(LAZY_PATHS != null) {
+			LAZY_PATHS.reset();
+			return;
+		}
+		
+		MOVABLE_PATHS.updatePaths(before, after);
+		WARNING_PATHS.updatePaths(before, after);
+		
+		setLegalPaths();
+	}
+	/**
+	 * 이동 경로에서 경고 경로를 제외하여 실제 이동 가능한 경로를 설정하는 매서드
+	 */
+	private void setLegalPaths() {
+		for(int index = 0; index < Location.COUNT; index++) {
+			PathList movablePaths = MOVABLE_PATHS.getPathList(index), warningPaths = WARNING_PATHS.getPathList(index);
+			
+			LEGAL_PATHS[index].reset();
+			for(int position = 0; position < movablePaths.size(); position++) {
+				if(!warningPaths.contains(movablePaths.getIndex(position)))	LEGAL_PATHS[index].add(movablePaths.getIndex(position));
 			}
 		}
 	}
@@ -49,7 +94,15 @@ public class ChessMenPaths {
 	 * @return source 위치의 장기말의 이동 가능한 위치의 리스트
 	 */
 	public List<Location> getMovablePaths(Location source) {
-		return MOVABLE_PATHS.getPathList(source);
+		return getLegalPaths(source.INDEX);
+	}
+	/**
+	 * 위치의 INDEX로 장기말의 이동 경로를 리스트로 반환하는 매서드
+	 * @param index 장기말의 위치의 Location.INDEX
+	 * @return 해당 위치의 장기말의 이동 가능한 위치의 리스트
+	 */
+	public List<Location> getMovablePaths(int index) {
+		return getLegalPaths(index);
 	}
 	/**
 	 * source 위치의 장기말의 경고 경로를 리스트로 반환하는 매서드
@@ -57,7 +110,19 @@ public class ChessMenPaths {
 	 * @return source 위치의 장기말의 경고 경로의 리스트
 	 */
 	public List<Location> getWarningPaths(Location source) {
-		return WARNING_PATHS.getPathList(source);
+		return getWarningPaths(source.INDEX);
+	}
+	/**
+	 * 위치의 INDEX로 장기말의 경고 경로를 리스트로 반환하는 매서드
+	 * @param index 장기말의 위치의 Location.INDEX
+	 * @return 해당 위치의 장기말의 경고 경로의 리스트
+	 */
+	public List<Location> getWarningPaths(int index) {
+		return LAZY_PATHS != null ? LAZY_PATHS.getWarningPaths(index) : WARNING_PATHS.getPathList(index);
+	}
+	
+	private PathList getLegalPaths(int index) {
+		return LAZY_PATHS != null ? LAZY_PATHS.getLegalPaths(index) : LEGAL_PATHS[index];
 	}
 	/**
 	 * 해당 팀의 모든 이동 경로를 리스트로 반환하는 매서드
@@ -65,7 +130,57 @@ public class ChessMenPaths {
 	 * @return teamType팀의 모든 이동 경로의 리스트
 	 */
 	public List<Location> getAllMovablePaths(TeamType teamType) {
-		return MOVABLE_PATHS.getAllPathList(teamType);
+		PathList allMovablePaths = new PathList();
+		
+		for(int index = 0; index < Location.COUNT; index++) {
+			if(BOARD_STATUS.isSpace(index))	continue;
+			if(BOARD_STATUS.getTeamType(index) != teamType)	continue;
+			
+			PathList legalPaths = getLegalPaths(index);
+			for(int position = 0; position < legalPaths.size(); position++) {
+				allMovablePaths.add(legalPaths.getIndex(position));
+			}
+		}
+		
+		return allMovablePaths;
+	}
+	/**
+	 * 해당 팀의 모든 이동 가능한 이동을 Move로 부호화하여 moves에 담는 매서드
+	 * @param teamType 조회하고자하는 팀
+	 * @param moves 부호화된 이동을 담을 배열, 충분한 크기여야 한다.
+	 * @return moves에 담은 이동의 수
+	 */
+	public int getAllMoves(TeamType teamType, int[] moves) {
+		int count = 0;
+		
+		for(int index = 0; index < Location.COUNT; index++) {
+			if(BOARD_STATUS.isSpace(index))	continue;
+			if(BOARD_STATUS.getTeamType(index) != teamType)	continue;
+			
+			PathList legalPaths = getLegalPaths(index);
+			for(int position = 0; position < legalPaths.size(); position++) {
+				moves[count++] = Move.encode(index, legalPaths.getIndex(position));
+			}
+		}
+		
+		return count;
+	}
+	/**
+	 * attackerTeamType팀의 장기말 중 하나라도 해당 위치로 이동할 수 있는지를 반환하는 매서드
+	 * @param location 확인할 위치
+	 * @param attackerTeamType 공격하는 팀
+	 * @return 해당 위치가 attackerTeamType팀의 이동 경로 위에 있으면 true, 그렇지 않으면 false
+	 */
+	public boolean isAttacked(Location location, TeamType attackerTeamType) {
+		return PATH_ANALYZER.isAttacked(location, attackerTeamType);
+	}
+	/**
+	 * 해당 팀이 체크를 당하고 있는지를 반환하는 매서드
+	 * @param teamType 조회하고자하는 팀
+	 * @return teamType팀의 왕이 상대 팀의 이동 경로 위에 있으면 true, 그렇지 않으면 false
+	 */
+	public boolean isChecked(TeamType teamType) {
+		return isAttacked(BOARD_STATUS.getKingLocation(teamType), (teamType == TeamType.AWAY) ? TeamType.HOME : TeamType.AWAY);
 	}
 	/**
 	 * 장기판 위의 모든 위치에 대해서 경고 경로(이동했을 시 이동한 팀이 체크를 당하는 경우의 경로)들을 설정하고 제공해주는 클래스
@@ -73,74 +188,162 @@ public class ChessMenPaths {
 	 *
 	 */
 	private class WarningPaths {
-		private final Map<Location, List<Location>> WARNING_PATHS = new HashMap<>();
+		private final PathList[] WARNING_PATHS = new PathList[Location.COUNT];	// Location.INDEX 순서의 각 위치의 경고 경로
 		
 		private final BoardStatus PREDICTED_BOARD_STATUS = new BoardStatus();	// 예상 장기판의 현황
-		private final MovablePaths PREDICTED_MOVABLE_PATHS = new MovablePaths(PREDICTED_BOARD_STATUS);	// 예상 이동 가능 경로를 계산해주는 클래스
+		private final PathAnalyzer PREDICTED_PATH_ANALYZER = new PathAnalyzer(PREDICTED_BOARD_STATUS);	// 예상 장기판에서 왕이 공격받는지를 판단해주는 클래스
 		
 		private WarningPaths() {
-			for(Location[] locations : Location.values()) {
-				for(Location location : locations) {
-					WARNING_PATHS.put(location, new ArrayList<>());
-				}
+			for(int index = 0; index < Location.COUNT; index++) {
+				WARNING_PATHS[index] = new PathList(PathList.PIECE_CAPACITY);
 			}
 		}
 		
-		private List<Location> getPathList(Location source) {
-			return WARNING_PATHS.get(source);
+		private PathList getPathList(int index) {
+			return WARNING_PATHS[index];
 		}
 		/**
 		 * 장기판 위의 모든 위치에 대해서 경고 경로들을 설정하는 매서드
-		 * 모든 경로에 대해서 이동 가능 경로로 이동했을때 해당 팀이 체크를 당하는 경우를 경고 경로에 추가한다.
+		 * 예상 장기판을 현재 장기판으로 복사한 후 경고 경로를 설정한다.
 		 */
 		private void setPaths() {
+			PREDICTED_BOARD_STATUS.copy(BOARD_STATUS);
+			
+			setWarningPaths();
+		}
+		/**
+		 * 장기판에 반영된 before 위치에서 after 위치로의 이동을 예상 장기판에도 반영하고 경고 경로들을 설정하는 매서드
+		 * @param before 이동 전의 위치
+		 * @param after 이동 후의 위치
+		 */
+		private void updatePaths(Location before, Location after) {
+			PREDICTED_BOARD_STATUS.moveBoxStatus(before, after);
+			
+			setWarningPaths();
+		}
+		/**
+		 * 모든 경로에 대해서 이동 가능 경로로 이동했을때 해당 팀이 체크를 당하는 경우를 경고 경로에 추가하는 매서드
+		 * 예상 장기판은 makeMove로 이동을 반영한 후 unmakeMove로 되돌리며, 체크 여부는 왕의 위치에서 거꾸로 공격 여부만 확인한다.
+		 */
+		private void setWarningPaths() {
 			TeamType ownTeamType = null, partnerTeamType = null;
-			List<Location> predictedPartnerAllMovablePaths = null;
 			
-			for(Location[] locations : Location.values()) {
-				for(Location source : locations) {
-					WARNING_PATHS.get(source).clear();
-					
-					for(Location predictedPath : MOVABLE_PATHS.getPathList(source)) {
-						ownTeamType = BOARD_STATUS.getTeamType(source);
-						partnerTeamType = (ownTeamType == TeamType.AWAY) ? TeamType.HOME : TeamType.AWAY;
-						predictedPartnerAllMovablePaths = getPredictedAllMovablePaths(source, predictedPath, partnerTeamType);
-						
-						if(predictedPartnerAllMovablePaths.contains(getPredictedKingLocation(ownTeamType)))
-							WARNING_PATHS.get(source).add(predictedPath);
-					}
+			for(int index = 0; index < Location.COUNT; index++) {
+				WARNING_PATHS[index].reset();
+				if(BOARD_STATUS.isSpace(index))	continue;
+				
+				ownTeamType = BOARD_STATUS.getTeamType(index);
+				partnerTeamType = (ownTeamType == TeamType.AWAY) ? TeamType.HOME : TeamType.AWAY;
+				
+				PathList movablePaths = MOVABLE_PATHS.getPathList(index);
+				for(int position = 0; position < movablePaths.size(); position++) {
+					if(isPredictedChecked(Location.instanceAt(index), movablePaths.get(position), ownTeamType, partnerTeamType))
+						WARNING_PATHS[index].add(movablePaths.getIndex(position));
 				}
 			}
 		}
 		/**
-		 * 장기말을 이동시켰을때 해당 팀의 예상되는 모든 경로의 리스트를 반환하는 매서드
+		 * 장기말을 이동시켰을때 해당 팀이 체크를 당하는지를 반환하는 매서드
 		 * @param before 이동 전의 위치
 		 * @param after 이동 후의 위치
-		 * @param teamType 조회하고자하는 팀
-		 * @return before위치에서 after위치로 장기말을 이동시켰을때 teamType팀의 모든 경로의 리스트
+		 * @param ownTeamType 이동하는 팀
+		 * @param partnerTeamType 상대 팀
+		 * @return before위치에서 after위치로 장기말을 이동시켰을때 ownTeamType팀의 왕이 partnerTeamType팀의 경로 위에 있으면 true, 그렇지 않으면 false
 		 */
-		private List<Location> getPredictedAllMovablePaths(Location before, Location after, TeamType teamType) {
-			PREDICTED_BOARD_STATUS.copy(BOARD_STATUS);
-			PREDICTED_BOARD_STATUS.moveBoxStatus(before, after);
+		private boolean isPredictedChecked(Location before, Location after, TeamType ownTeamType, TeamType partnerTeamType) {
+			PREDICTED_BOARD_STATUS.makeMove(before, after);
+			
+			boolean isChecked = PREDICTED_PATH_ANALYZER.isAttacked(PREDICTED_BOARD_STATUS.getKingLocation(ownTeamType), partnerTeamType);
 			
-			PREDICTED_MOVABLE_PATHS.setPaths();
+			PREDICTED_BOARD_STATUS.unmakeMove();
 			
-			return PREDICTED_MOVABLE_PATHS.getAllPathList(teamType);
+			return isChecked;
+		}
+	}
+	/**
+	 * 지연 모드에서 조회된 위치의 이동 경로와 경고 경로만 계산하여 다음 이동까지 보관하는 클래스
+	 * 장기말의 이동을 MoveGenerator로 생성하고, 예상 장기판에 이동마다 makeMove로 반영하여 왕이 공격받으면 경고 경로, 그렇지 않으면 실제 이동 가능한 경로에 추가한다.
+	 * @author Kwon
+	 *
+	 */
+	private class LazyPaths {
+		private final PathList[] WARNING_PATHS = new PathList[Location.COUNT];	// Location.INDEX 순서의 각 위치의 경고 경로
+		private final BoardStatus PREDICTED_BOARD_STATUS = new BoardStatus();	// 예상 장기판의 현황
+		private final MoveGenerator PREDICTED_MOVE_GENERATOR = new MoveGenerator(PREDICTED_BOARD_STATUS);
+		private final int[] MOVES = new int[MoveGenerator.MAX_MOVE_COUNT];
+		
+		private long computedLow = 0, computedHigh = 0;	// 경로를 계산해둔 위치들의 90비트 집합
+		private boolean isPredictedSynced = false;	// 예상 장기판이 마지막 이동 이후의 장기판으로 복사되었는지
+		
+		private LazyPaths() {
+			for(int index = 0; index < Location.COUNT; index++) {
+				WARNING_PATHS[index] = new PathList(PathList.PIECE_CAPACITY);
+			}
+		}
+		/**
+		 * 계산해둔 경로를 모두 버리는 매서드, 장기판이 바뀔 때마다 호출된다.
+		 */
+		private void reset() {
+			computedLow = computedHigh = 0;
+			isPredictedSynced = false;
+		}
+		
+		private PathList getLegalPaths(int index) {
+			compute(index);
+			return LEGAL_PATHS[index];
+		}
+		
+		private PathList getWarningPaths(int index) {
+			compute(index);
+			return WARNING_PATHS[index];
 		}
 		/**
-		 * 예상 장기판의 현황에서 해당 팀의 왕의 위치를 반환해주는 매서드
-		 * @param teamType 조회하고자하는 팀
-		 * @return 예상 장기판의 현황에서 teamType팀의 왕의 위치
+		 * 해당 위치의 장기말의 실제 이동 가능한 경로와 경고 경로를 계산하는 매서드, 이미 계산해두었으면 무시한다.
+		 * @param index 장기말의 위치의 Location.INDEX
 		 */
-		private Location getPredictedKingLocation(TeamType teamType) {
-			for(Location[] locations : Location.values()) {
-				for(Location location : locations) {
-					if(PREDICTED_BOARD_STATUS.getChessManType(location) == ChessManType.KING
-							&& PREDICTED_BOARD_STATUS.getTeamType(location) == teamType)	return location;
+		private void compute(int index) {
+			long bit = 1L << (index < Long.SIZE ? index : index - Long.SIZE);
+			if(((index < Long.SIZE ? computedLow : computedHigh) & bit) != 0)	return;
+			
+			LEGAL_PATHS[index].reset();
+			WARNING_PATHS[index].reset();
+			if(!BOARD_STATUS.isSpace(index)) {
+				if(!isPredictedSynced) {
+					PREDICTED_BOARD_STATUS.copy(BOARD_STATUS);
+					isPredictedSynced = true;
+				}
+				
+				TeamType ownTeamType = BOARD_STATUS.getTeamType(index);
+				TeamType partnerTeamType = (ownTeamType == TeamType.AWAY) ? TeamType.HOME : TeamType.AWAY;
+				
+				int count = PREDICTED_MOVE_GENERATOR.generateMoves(index, MOVES, 0, null);
+				for(int position = 0; position < count; position++) {
+					int destination = Move.getDestination(MOVES[position]);
+					if(isPredictedChecked(index, destination, ownTeamType, partnerTeamType))	WARNING_PATHS[index].add(destination);
+					else	LEGAL_PATHS[index].add(destination);
 				}
 			}
 			
-			return null;
+			if(index < Long.SIZE)	computedLow |= bit;
+			else	computedHigh |= bit;
+		}
+		/**
+		 * 장기말을 이동시켰을때 해당 팀이 체크를 당하는지를 반환하는 매서드
+		 * @param before 이동 전의 위치의 Location.INDEX
+		 * @param after 이동 후의 위치의 Location.INDEX
+		 * @param ownTeamType 이동하는 팀
+		 * @param partnerTeamType 상대 팀
+		 * @return 이동 후 ownTeamType팀의 왕이 partnerTeamType팀에게 공격받으면 true, 그렇지 않으면 false
+		 */
+		private boolean isPredictedChecked(int before, int after, TeamType ownTeamType, TeamType partnerTeamType) {
+			PREDICTED_BOARD_STATUS.makeMove(Location.instanceAt(before), Location.instanceAt(after));
+			
+			Location kingLocation = PREDICTED_BOARD_STATUS.getKingLocation(ownTeamType);
+			boolean isChecked = kingLocation != null && PathMasks.isAttacked(PREDICTED_BOARD_STATUS.getBitBoardStatus(), kingLocation.INDEX, partnerTeamType);
+			
+			PREDICTED_BOARD_STATUS.unmakeMove();
+			
+			return isChecked;
 		}
 	}
 }
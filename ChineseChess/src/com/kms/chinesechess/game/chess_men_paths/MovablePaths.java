@@ -1,12 +1,8 @@
 package com.kms.chinesechess.game.chess_men_paths;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
+import com.kms.chinesechess.game.data.Move;
 import com.kms.chinesechess.game.data.TeamType;
-import com.kms.chinesechess.game.data.board.BoardStatus;
+import com.kms.chinesechess.game.data.board.ReadableBoardStatus;
 import com.kms.chinesechess.support.Location;
 
 /**
@@ -15,19 +11,20 @@ import com.kms.chinesechess.support.Location;
  *
  */
 public class MovablePaths {
-	private final Map<Location, List<Location>> MOVABLE_PATHS = new HashMap<>();
+	private final PathList[] MOVABLE_PATHS = new PathList[Location.COUNT];	// Location.INDEX 순서의 각 위치의 이동 경로
+	private final PathList[] INSPECTED_PATHS = new PathList[Location.COUNT];	// 각 위치의 이동 경로를 계산할 때 조회한 위치들, 증분 갱신에 사용한다.
 	
-	private final BoardStatus BOARD_STATUS;			// 장기판의 현황을 참조, 본 클래스에서 변경을 불허한다.
-	private final PathAnalyzer PATH_ANALYZER;
+	private final ReadableBoardStatus BOARD_STATUS;			// 장기판의 현황을 참조, 본 클래스에서 변경을 불허한다.
+	private final MoveGenerator MOVE_GENERATOR;
+	private final int[] MOVES = new int[MoveGenerator.MAX_MOVE_COUNT];	// 한 장기말의 이동을 생성할 때 사용하는 배열
 	
-	MovablePaths(BoardStatus boardStatus) {
+	MovablePaths(ReadableBoardStatus boardStatus) {
 		this.BOARD_STATUS = boardStatus;
-		this.PATH_ANALYZER = new PathAnalyzer(this.BOARD_STATUS);
+		this.MOVE_GENERATOR = new MoveGenerator(this.BOARD_STATUS);
 		
-		for(Location[] locations : Location.values()) {
-			for(Location location : locations) {
-				MOVABLE_PATHS.put(location, new ArrayList<>());
-			}
+		for(int index = 0; index < Location.COUNT; index++) {
+			MOVABLE_PATHS[index] = new PathList(PathList.PIECE_CAPACITY);
+			INSPECTED_PATHS[index] = new PathList(PathList.PIECE_CAPACITY);
 		}
 	}
 	/**
@@ -35,177 +32,89 @@ public class MovablePaths {
 	 * @param source 장기말의 위치
 	 * @return 해당 위치의 장기말의 이동 경로 리스트
 	 */
-	List<Location> getPathList(Location source) {
-		return MOVABLE_PATHS.get(source);
+	PathList getPathList(Location source) {
+		return MOVABLE_PATHS[source.INDEX];
+	}
+	/**
+	 * 장기말 위치의 INDEX로 장기말의 이동 경로 리스트를 반환하는 매서드
+	 * @param index 장기말의 위치의 Location.INDEX
+	 * @return 해당 위치의 장기말의 이동 경로 리스트
+	 */
+	PathList getPathList(int index) {
+		return MOVABLE_PATHS[index];
 	}
 	/**
-	 * 해당 팀의 모든 이동 경로 리스트
+	 * 해당 팀의 모든 이동 경로 리스트, 중복된 경로는 90비트 집합으로 걸러낸다.
 	 * @param teamType 모든 이동 경로를 알고자 하는 팀
 	 * @return 해당 팀의 모든 이동 경로 리스트
 	 */
-	List<Location> getAllPathList(TeamType teamType) {
-		List<Location> allMovablePaths = new ArrayList<>();
+	PathList getAllPathList(TeamType teamType) {
+		PathList allMovablePaths = new PathList();
 		
-		for(Location[] locations : Location.values()) {
-			for(Location source : locations) {
-				if(BOARD_STATUS.isSpace(source))	continue;
-				if(BOARD_STATUS.getTeamType(source) != teamType)	continue;
-				
-				for(Location movablePath : MOVABLE_PATHS.get(source)) {
-					if(allMovablePaths.contains(movablePath))	continue;
-					allMovablePaths.add(movablePath);
-				}
+		for(int index = 0; index < Location.COUNT; index++) {
+			if(BOARD_STATUS.isSpace(index))	continue;
+			if(BOARD_STATUS.getTeamType(index) != teamType)	continue;
+			
+			for(int position = 0; position < MOVABLE_PATHS[index].size(); position++) {
+				allMovablePaths.add(MOVABLE_PATHS[index].getIndex(position));
 			}
 		}
 		
 		return allMovablePaths;
 	}
 	/**
-	 * 모든 위치에 대하여 이동 경로를 설정해주는 매서드
-	 */
-	void setPaths() {
-		Location startLocation = null;
-		for(Location[] locations : Location.values()) {
-			for(Location source : locations) {
-				MOVABLE_PATHS.get(source).clear();
-				if(BOARD_STATUS.isSpace(source))	continue;
-				
-				for(Direction direction : Direction.values()) {
-					startLocation = getMovingStartLocation(source, direction);
-					
-					if(ChessManAnalyzer.isTargetingMovement(BOARD_STATUS.getChessManType(source))) {
-						for(Direction targetingDirection : getTargetingDirections(direction)) {
-							addTargetingLocation(source, startLocation, targetingDirection);
-						}
-					} else {
-						addStraightPaths(source, startLocation, direction);
-					}
-				}
-			}
-		}
-	}
-	/**
-	 * source위치의 장기말이 이동을 시작하는 위치를 반환하는 매서드
-	 * @param source 장기말의 위치
-	 * @param direction 이동하는 방향
-	 * @return 이동을 시작하는 위치
+	 * 해당 팀의 모든 이동을 Move로 부호화하여 moves에 담는 매서드
+	 * @param teamType 모든 이동을 알고자 하는 팀
+	 * @param moves 부호화된 이동을 담을 배열, 충분한 크기여야 한다.
+	 * @return moves에 담은 이동의 수
 	 */
-	private Location getMovingStartLocation(Location source, Direction direction) {
-		Location startLocation = null;
-		
-		boolean isJumpable = ChessManAnalyzer.isJumpable(BOARD_STATUS.getChessManType(source));
-		boolean isTargetingMovement = ChessManAnalyzer.isTargetingMovement(BOARD_STATUS.getChessManType(source));
+	int getAllMoves(TeamType teamType, int[] moves) {
+		int count = 0;
 		
-		if(isJumpable) {
-			startLocation = Location.instanceAt(source.ROW + direction.ROW_INCREASE, source.COL + direction.COL_INCREASE);
-			boolean isStartJumpable;
+		for(int index = 0; index < Location.COUNT; index++) {
+			if(BOARD_STATUS.isSpace(index))	continue;
+			if(BOARD_STATUS.getTeamType(index) != teamType)	continue;
 			
-			while(startLocation != null && !PATH_ANALYZER.isCrossable(startLocation)) {
-				isStartJumpable = !BOARD_STATUS.isSpace(startLocation)
-									&& ChessManAnalyzer.isJumpable(BOARD_STATUS.getChessManType(startLocation));
-				startLocation = isStartJumpable ? null 
-						: Location.instanceAt(startLocation.ROW + direction.ROW_INCREASE, startLocation.COL + direction.COL_INCREASE);
+			for(int position = 0; position < MOVABLE_PATHS[index].size(); position++) {
+				moves[count++] = Move.encode(index, MOVABLE_PATHS[index].getIndex(position));
 			}
-			if(startLocation != null)
-				startLocation = Location.instanceAt(startLocation.ROW + direction.ROW_INCREASE, startLocation.COL + direction.COL_INCREASE);
-		} else if(isTargetingMovement) {
-			startLocation = source;
-			for(int count = 1; count <= ChessManAnalyzer.getStraightCount(BOARD_STATUS.getChessManType(source)); count++) {
-				startLocation = Location.instanceAt(startLocation.ROW + direction.ROW_INCREASE, startLocation.COL + direction.COL_INCREASE);
-				if(!PATH_ANALYZER.isPassable(startLocation))	startLocation = null;
-			}
-		} else {
-			startLocation = Location.instanceAt(source.ROW + direction.ROW_INCREASE, source.COL + direction.COL_INCREASE);
 		}
 		
-		return startLocation;
+		return count;
 	}
 	/**
-	 * 타겟 위치로 이동하는 장기말의 타겟의 방향 집합을 반환하는 매서드
-	 * @param direction 현재 방향
-	 * @return 크기 2(이동 방향의 좌,우 대각선)의 Direction 배열
+	 * 모든 위치에 대하여 이동 경로를 설정해주는 매서드
 	 */
-	private Direction[] getTargetingDirections(Direction direction) {
-		Direction[] returnValue = new Direction[2];
-		switch(direction) {
-		case NORTH : 
-			returnValue[0] = Direction.NORTH_WEST;
-			returnValue[1] = Direction.NORTH_EAST;
-			break;
-		case SOUTH :
-			returnValue[0] = Direction.SOUTH_WEST;
-			returnValue[1] = Direction.SOUTH_EAST;
-			break;
-		case WEST :
-			returnValue[0] = Direction.SOUTH_WEST;
-			returnValue[1] = Direction.NORTH_WEST;
-			break;
-		case EAST :
-			returnValue[0] = Direction.NORTH_EAST;
-			returnValue[1] = Direction.SOUTH_EAST;
-			break;
-		default : break;
+	void setPaths() {
+		for(int index = 0; index < Location.COUNT; index++) {
+			setPaths(Location.instanceAt(index));
 		}
-		
-		return returnValue;
 	}
 	/**
-	 * 타겟 위치로 이동하는 장기말의 이동 경로를 추가하는 매서드
-	 * @param source 장기말의 위치
-	 * @param startLocation 타겟 방향으로의 탐색을 시작하는 위치
-	 * @param targetingDirection 타겟의 방향
+	 * before 위치에서 after 위치로의 이동이 장기판에 반영된 후 영향을 받는 위치들의 이동 경로만 다시 설정하는 매서드
+	 * 이동 경로를 계산할 때 before 또는 after 위치를 조회한 장기말만 경로가 달라질 수 있으므로 그 장기말들만 다시 계산한다.
+	 * @param before 이동 전의 위치
+	 * @param after 이동 후의 위치
 	 */
-	private void addTargetingLocation(Location source, Location startLocation, Direction targetingDirection) {
-		if(targetingDirection == null || !isDiagonal(targetingDirection))	return;
-		
-		Location targetingPath = startLocation;
-		for(int count = 1; count <= ChessManAnalyzer.getDiagonalCount(BOARD_STATUS.getChessManType(source)); count++) {
-			if(!PATH_ANALYZER.isPassable(targetingPath))	return;
-			targetingPath = Location.instanceAt(targetingPath.ROW + targetingDirection.ROW_INCREASE, 
-					targetingPath.COL + targetingDirection.COL_INCREASE);
+	void updatePaths(Location before, Location after) {
+		for(int index = 0; index < Location.COUNT; index++) {
+			if(index == before.INDEX || index == after.INDEX
+					|| INSPECTED_PATHS[index].contains(before.INDEX) || INSPECTED_PATHS[index].contains(after.INDEX))
+				setPaths(Location.instanceAt(index));
 		}
-		if(PATH_ANALYZER.isReplacable(source, targetingPath))	MOVABLE_PATHS.get(source).add(targetingPath);
 	}
 	/**
-	 * 넌타겟형(직진형) 장기말의 이동 경로를 추가하는 매서드
+	 * source 위치의 장기말의 이동 경로를 설정하는 매서드
+	 * MoveGenerator로 이동을 생성하면서 조회한 위치들을 함께 기록한다.
 	 * @param source 장기말의 위치
-	 * @param startLocation 이동 시작 위치
-	 * @param direction 이동 방향
 	 */
-	private void addStraightPaths(Location source, Location startLocation, Direction direction) {
-		Location path = startLocation;
-		for(int count = 1; count <= ChessManAnalyzer.getStraightCount(BOARD_STATUS.getChessManType(source)); count++) {
-			if(!PATH_ANALYZER.isReplacable(source, path))	break;
-			MOVABLE_PATHS.get(source).add(path);
-			if(!PATH_ANALYZER.isPassable(path))	break;
-			path = Location.instanceAt(path.ROW + direction.ROW_INCREASE, path.COL + direction.COL_INCREASE);
-		}
-	}
-	/**
-	 * direction이 대각선 방향인지를 반환하는 매서드
-	 * @param direction 방향
-	 * @return 대각선이면 true, 그렇지 않으면 false
-	 */
-	private boolean isDiagonal(Direction direction) {
-		return direction.ROW_INCREASE != 0 && direction.COL_INCREASE != 0;
-	}
-	
-	/**
-	 * 8방향(북서, 북, 북동, 동, 남동, 남, 남서, 서)을 표현한 enum클래스
-	 * row, col의 증가량을 통해 방향의 정체성을 갖는다.
-	 * @author Kwon
-	 *
-	 */
-	private enum Direction {
-		NORTH(-1,0), SOUTH(1,0), WEST(0,-1), EAST(0,1),
-		NORTH_WEST(-1,-1), NORTH_EAST(-1,1),
-		SOUTH_WEST(1,-1), SOUTH_EAST(1,1);
-		
-		private final int ROW_INCREASE, COL_INCREASE;
+	private void setPaths(Location source) {
+		MOVABLE_PATHS[source.INDEX].reset();
+		INSPECTED_PATHS[source.INDEX].reset();
 		
-		private Direction(int rowIncrease, int colIncrease) {
-			this.ROW_INCREASE = rowIncrease;
-			this.COL_INCREASE = colIncrease;
+		int count = MOVE_GENERATOR.generateMoves(source.INDEX, MOVES, 0, INSPECTED_PATHS[source.INDEX]);
+		for(int position = 0; position < count; position++) {
+			MOVABLE_PATHS[source.INDEX].add(Move.getDestination(MOVES[position]));
 		}
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,164 @@
+package com.kms.chinesechess.game.chess_men_paths;
+
+import com.kms.chinesechess.game.data.ChessManType;
+import com.kms.chinesechess.game.data.Move;
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.game.data.board.ReadableBoardStatus;
+import com.kms.chinesechess.support.Location;
+
+/**
+ * MoveTables의 표를 따라가며 장기판의 장기말들의 이동(체크 여부를 따지지 않는 이동)을 Move로 부호화하여 생성하는 클래스
+ * 경로 리스트를 만들지 않고 int 배열에 바로 담으므로, 탐색처럼 같은 장기판에서 이동을 반복해서 생성할 때 사용한다.
+ * 잡는 이동과 잡지 않는 이동을 따로 생성할 수 있으므로, 정지 탐색처럼 잡는 이동만 필요하거나 잡는 이동을 먼저 탐색할 때는 단계별로 생성한다.
+ * @author Kwon
+ *
+ */
+public class MoveGenerator {
+	public static final int MAX_MOVE_COUNT = 256;	// 한 팀이 한 장기판에서 가질 수 있는 이동의 수보다 큰 값, 이동을 담을 배열의 크기로 사용한다.
+	private static final int ALL_MOVES = 0, CAPTURES = 1, QUIET_MOVES = 2;	// 생성할 이동의 종류
+	
+	private final ReadableBoardStatus BOARD_STATUS;	// 장기판의 현황을 참조, 본 클래스에서 변경을 불허한다.
+	private final PathAnalyzer PATH_ANALYZER;
+	
+	public MoveGenerator(ReadableBoardStatus boardStatus) {
+		this.BOARD_STATUS = boardStatus;
+		this.PATH_ANALYZER = new PathAnalyzer(this.BOARD_STATUS);
+	}
+	/**
+	 * 해당 팀의 모든 장기말의 이동을 부호화하여 moves에 담는 매서드
+	 * @param teamType 이동을 생성할 팀
+	 * @param moves 부호화된 이동을 담을 배열, offset 이후로 MAX_MOVE_COUNT 이상의 크기가 남아있어야 한다.
+	 * @param offset moves에 담기 시작할 순번
+	 * @return 이동을 담은 후의 순번(offset + 담은 이동의 수)
+	 */
+	public int generateMoves(TeamType teamType, int[] moves, int offset) {
+		return generateMoves(teamType, moves, offset, ALL_MOVES);
+	}
+	/**
+	 * 해당 팀의 장기말의 이동 중 상대 팀의 장기말을 잡는 이동만 부호화하여 moves에 담는 매서드
+	 * @param teamType 이동을 생성할 팀
+	 * @param moves 부호화된 이동을 담을 배열, offset 이후로 MAX_MOVE_COUNT 이상의 크기가 남아있어야 한다.
+	 * @param offset moves에 담기 시작할 순번
+	 * @return 이동을 담은 후의 순번(offset + 담은 이동의 수)
+	 */
+	public int generateCaptures(TeamType teamType, int[] moves, int offset) {
+		return generateMoves(teamType, moves, offset, CAPTURES);
+	}
+	/**
+	 * 해당 팀의 장기말의 이동 중 빈칸으로 가는 이동만 부호화하여 moves에 담는 매서드, generateCaptures()와 합치면 generateMoves()와 같은 이동들이 된다.
+	 * @param teamType 이동을 생성할 팀
+	 * @param moves 부호화된 이동을 담을 배열, offset 이후로 MAX_MOVE_COUNT 이상의 크기가 남아있어야 한다.
+	 * @param offset moves에 담기 시작할 순번
+	 * @return 이동을 담은 후의 순번(offset + 담은 이동의 수)
+	 */
+	public int generateQuietMoves(TeamType teamType, int[] moves, int offset) {
+		return generateMoves(teamType, moves, offset, QUIET_MOVES);
+	}
+	
+	private int generateMoves(TeamType teamType, int[] moves, int offset, int kind) {
+		for(int index = 0; index < Location.COUNT; index++) {
+			if(BOARD_STATUS.isSpace(index) || BOARD_STATUS.getTeamType(index) != teamType)	continue;
+			offset = generateMoves(index, moves, offset, null, kind);
+		}
+		
+		return offset;
+	}
+	/**
+	 * source 위치의 장기말의 이동을 부호화하여 moves에 담는 매서드
+	 * 장기판과 무관한 조건은 MoveTables에 미리 계산되어 있으므로 표를 따라가며 빈칸, 팀, 점프 조건만 확인한다.
+	 * @param source 장기말의 위치의 Location.INDEX
+	 * @param moves 부호화된 이동을 담을 배열
+	 * @param offset moves에 담기 시작할 순번
+	 * @param inspectedPaths 이동을 계산하면서 조회한 위치들을 기록할 리스트, 기록이 필요 없으면 null
+	 * @return 이동을 담은 후의 순번
+	 */
+	int generateMoves(int source, int[] moves, int offset, PathList inspectedPaths) {
+		return generateMoves(source, moves, offset, inspectedPaths, ALL_MOVES);
+	}
+	
+	private int generateMoves(int source, int[] moves, int offset, PathList inspectedPaths, int kind) {
+		if(BOARD_STATUS.isSpace(source))	return offset;
+		
+		ChessManType chessManType = BOARD_STATUS.getChessManType(source);
+		TeamType teamType = BOARD_STATUS.getTeamType(source);
+		
+		if(ChessManAnalyzer.isTargetingMovement(chessManType)) {
+			for(int[] targetingPath : MoveTables.getTargetingPaths(chessManType, teamType, source)) {
+				offset = addTargetingMove(source, targetingPath, moves, offset, inspectedPaths, kind);
+			}
+		} else if(ChessManAnalyzer.isJumpable(chessManType)) {
+			for(int[] straightPath : MoveTables.getStraightPaths(chessManType, teamType, source)) {
+				offset = addJumpingMoves(source, straightPath, moves, offset, inspectedPaths, kind);
+			}
+		} else {
+			for(int[] straightPath : MoveTables.getStraightPaths(chessManType, teamType, source)) {
+				offset = addStraightMoves(source, straightPath, 0, moves, offset, inspectedPaths, kind);
+			}
+		}
+		
+		return offset;
+	}
+	/**
+	 * 타겟 위치로 이동하는 장기말의 이동을 추가하는 매서드
+	 * @param source 장기말의 위치의 Location.INDEX
+	 * @param targetingPath 지나쳐야하는 위치들과 마지막의 타겟 위치로 이루어진 경로
+	 */
+	private int addTargetingMove(int source, int[] targetingPath, int[] moves, int offset, PathList inspectedPaths, int kind) {
+		int target = targetingPath.length - 1;
+		
+		for(int position = 0; position < target; position++) {
+			inspect(targetingPath[position], inspectedPaths);
+			if(!PATH_ANALYZER.isPassable(targetingPath[position]))	return offset;
+		}
+		
+		inspect(targetingPath[target], inspectedPaths);
+		return addMove(source, targetingPath[target], moves, offset, kind);
+	}
+	/**
+	 * 점프하는 장기말의 이동을 추가하는 매서드, 넘을 수 있는 장기말을 찾은 다음 위치부터 직진형 장기말처럼 이동을 추가한다.
+	 * @param source 장기말의 위치의 Location.INDEX
+	 * @param straightPath 한 방향의 경로
+	 */
+	private int addJumpingMoves(int source, int[] straightPath, int[] moves, int offset, PathList inspectedPaths, int kind) {
+		for(int position = 0; position < straightPath.length; position++) {
+			inspect(straightPath[position], inspectedPaths);
+			if(PATH_ANALYZER.isPassable(straightPath[position]))	continue;
+			
+			if(PATH_ANALYZER.isCrossable(straightPath[position]))	return addStraightMoves(source, straightPath, position + 1, moves, offset, inspectedPaths, kind);
+			return offset;
+		}
+		
+		return offset;
+	}
+	/**
+	 * 넌타겟형(직진형) 장기말의 이동을 추가하는 매서드
+	 * @param source 장기말의 위치의 Location.INDEX
+	 * @param straightPath 한 방향의 경로
+	 * @param start 경로에서 이동을 시작하는 순번
+	 */
+	private int addStraightMoves(int source, int[] straightPath, int start, int[] moves, int offset, PathList inspectedPaths, int kind) {
+		for(int position = start; position < straightPath.length; position++) {
+			inspect(straightPath[position], inspectedPaths);
+			offset = addMove(source, straightPath[position], moves, offset, kind);
+			if(!PATH_ANALYZER.isPassable(straightPath[position]))	return offset;
+		}
+		
+		return offset;
+	}
+	
+	/**
+	 * 장기말이 destination으로 이동할 수 있고 생성할 종류의 이동이면 추가하는 매서드
+	 * @param kind ALL_MOVES, CAPTURES(도착 위치에 장기말이 있는 이동만), QUIET_MOVES(도착 위치가 빈칸인 이동만)
+	 */
+	private int addMove(int source, int destination, int[] moves, int offset, int kind) {
+		if(!PATH_ANALYZER.isCapturable(source, destination))	return offset;
+		if(kind != ALL_MOVES && BOARD_STATUS.isSpace(destination) == (kind == CAPTURES))	return offset;
+		
+		moves[offset++] = Move.encode(source, destination);
+		return offset;
+	}
+	
+	private void inspect(int path, PathList inspectedPaths) {
+		if(inspectedPaths != null)	inspectedPaths.add(path);
+	}
+}
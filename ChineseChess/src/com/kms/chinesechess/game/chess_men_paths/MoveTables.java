@@ -0,0 +1,159 @@
+package com.kms.chinesechess.game.chess_men_paths;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.kms.chinesechess.game.data.ChessManType;
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.support.Location;
+
+/**
+ * 장기말의 종류, 팀, 위치(Location.INDEX)별로 이동 가능한 경로를 미리 계산해둔 표를 제공하는 클래스
+ * 표는 클래스가 로드될 때 ChessManAnalyzer의 이동 특성과 PathAnalyzer의 장기판과 무관한 조건(궁성, 궁성 안의 대각선, 뒤 이동 불가)으로 한번만 만들어진다.
+ * 따라서 이동 경로를 계산할 때는 표를 따라가면서 장기판의 현황에 따른 조건(빈칸, 팀, 점프)만 확인하면 된다.
+ * @author Kwon
+ *
+ */
+public class MoveTables {
+	private static final int CHESS_MAN_TYPE_COUNT = ChessManType.values().length, TEAM_TYPE_COUNT = TeamType.values().length;
+	private static final int[] EMPTY = new int[0];
+	/**
+	 * 직진형 장기말의 방향별 경로, [ChessManType][TeamType][Location.INDEX][Direction]의 순서로 가까운 위치부터 담는다.
+	 */
+	private static final int[][][][][] STRAIGHT_PATHS = new int[CHESS_MAN_TYPE_COUNT][TEAM_TYPE_COUNT][Location.COUNT][][];
+	/**
+	 * 타겟형 장기말의 경로, [ChessManType][TeamType][Location.INDEX]의 각 경로는 지나쳐야하는 위치(멱)들과 마지막의 타겟 위치로 이루어진다.
+	 */
+	private static final int[][][][][] TARGETING_PATHS = new int[CHESS_MAN_TYPE_COUNT][TEAM_TYPE_COUNT][Location.COUNT][][];
+	
+	static {
+		for(ChessManType chessManType : ChessManType.values()) {
+			for(TeamType teamType : TeamType.values()) {
+				for(int index = 0; index < Location.COUNT; index++) {
+					if(ChessManAnalyzer.isTargetingMovement(chessManType))	initTargetingPaths(chessManType, teamType, Location.instanceAt(index));
+					else	initStraightPaths(chessManType, teamType, Location.instanceAt(index));
+				}
+			}
+		}
+	}
+	
+	private MoveTables() {}
+	
+	private static void initStraightPaths(ChessManType chessManType, TeamType teamType, Location source) {
+		int[][] straightPaths = new int[Direction.values().length][];
+		
+		for(Direction direction : Direction.values()) {
+			List<Integer> paths = new ArrayList<>();
+			Location path = direction.next(source);
+			
+			for(int count = 1; count <= ChessManAnalyzer.getStraightCount(chessManType); count++) {
+				if(path == null || !PathAnalyzer.isRuleReplacable(chessManType, teamType, source, path))	break;
+				paths.add(path.INDEX);
+				path = direction.next(path);
+			}
+			
+			straightPaths[direction.ordinal()] = toArray(paths);
+		}
+		
+		STRAIGHT_PATHS[chessManType.ordinal()][teamType.ordinal()][source.INDEX] = straightPaths;
+	}
+	
+	private static void initTargetingPaths(ChessManType chessManType, TeamType teamType, Location source) {
+		List<int[]> targetingPaths = new ArrayList<>();
+		
+		for(Direction direction : Direction.values()) {
+			for(Direction targetingDirection : direction.getTargetingDirections()) {
+				List<Integer> path = new ArrayList<>();
+				Location location = source;
+				
+				for(int count = 1; location != null && count <= ChessManAnalyzer.getStraightCount(chessManType); count++) {
+					location = direction.next(location);
+					if(location != null)	path.add(location.INDEX);
+				}
+				for(int count = 1; location != null && count <= ChessManAnalyzer.getDiagonalCount(chessManType); count++) {
+					location = targetingDirection.next(location);
+					if(location != null)	path.add(location.INDEX);
+				}
+				
+				if(location != null && PathAnalyzer.isRuleReplacable(chessManType, teamType, source, location))	targetingPaths.add(toArray(path));
+			}
+		}
+		
+		TARGETING_PATHS[chessManType.ordinal()][teamType.ordinal()][source.INDEX] = targetingPaths.toArray(new int[targetingPaths.size()][]);
+	}
+	
+	private static int[] toArray(List<Integer> list) {
+		if(list.isEmpty())	return EMPTY;
+		
+		int[] array = new int[list.size()];
+		for(int index = 0; index < array.length; index++)	array[index] = list.get(index);
+		return array;
+	}
+	/**
+	 * 직진형 장기말의 방향별 경로를 반환하는 매서드
+	 * @param chessManType 장기말
+	 * @param teamType 장기말의 팀
+	 * @param source 장기말의 위치의 Location.INDEX
+	 * @return Direction.ordinal() 순서의 방향별 경로, 각 경로는 가까운 위치의 Location.INDEX부터 담겨있다. 타겟형 장기말이면 null
+	 */
+	static int[][] getStraightPaths(ChessManType chessManType, TeamType teamType, int source) {
+		return STRAIGHT_PATHS[chessManType.ordinal()][teamType.ordinal()][source];
+	}
+	/**
+	 * 타겟형 장기말의 경로들을 반환하는 매서드
+	 * @param chessManType 장기말
+	 * @param teamType 장기말의 팀
+	 * @param source 장기말의 위치의 Location.INDEX
+	 * @return 각 경로는 지나쳐야하는 위치들과 마지막의 타겟 위치의 Location.INDEX로 이루어진다. 직진형 장기말이면 null
+	 */
+	static int[][] getTargetingPaths(ChessManType chessManType, TeamType teamType, int source) {
+		return TARGETING_PATHS[chessManType.ordinal()][teamType.ordinal()][source];
+	}
+	
+	/**
+	 * 8방향(북서, 북, 북동, 동, 남동, 남, 남서, 서)을 표현한 enum클래스
+	 * row, col의 증가량을 통해 방향의 정체성을 갖는다.
+	 * @author Kwon
+	 *
+	 */
+	enum Direction {
+		NORTH(-1,0), SOUTH(1,0), WEST(0,-1), EAST(0,1),
+		NORTH_WEST(-1,-1), NORTH_EAST(-1,1),
+		SOUTH_WEST(1,-1), SOUTH_EAST(1,1);
+		
+		final int ROW_INCREASE, COL_INCREASE;
+		
+		private Direction(int rowIncrease, int colIncrease) {
+			this.ROW_INCREASE = rowIncrease;
+			this.COL_INCREASE = colIncrease;
+		}
+		/**
+		 * 해당 위치에서 본 방향으로 한칸 이동한 위치를 반환하는 매서드
+		 * @param location 위치
+		 * @return 이동한 위치, 장기판 밖이면 null
+		 */
+		Location next(Location location) {
+			return Location.instanceAt(location.ROW + ROW_INCREASE, location.COL + COL_INCREASE);
+		}
+		/**
+		 * Location.INDEX가 증가하는 방향인지를 반환하는 매서드
+		 * @return 남, 동, 남서, 남동 방향이면 true, 그렇지 않으면 false
+		 */
+		boolean isIncreasing() {
+			return ROW_INCREASE > 0 || (ROW_INCREASE == 0 && COL_INCREASE > 0);
+		}
+		/**
+		 * 타겟 위치로 이동하는 장기말의 타겟의 방향 집합을 반환하는 매서드
+		 * @return 직진 방향이면 이동 방향의 좌,우 대각선, 대각선 방향이면 크기 0의 Direction 배열
+		 */
+		Direction[] getTargetingDirections() {
+			switch(this) {
+			case NORTH : return new Direction[] { NORTH_WEST, NORTH_EAST };
+			case SOUTH : return new Direction[] { SOUTH_WEST, SOUTH_EAST };
+			case WEST : return new Direction[] { SOUTH_WEST, NORTH_WEST };
+			case EAST : return new Direction[] { NORTH_EAST, SOUTH_EAST };
+			default : return new Direction[0];
+			}
+		}
+	}
+}
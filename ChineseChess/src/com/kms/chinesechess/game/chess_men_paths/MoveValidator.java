@@ -0,0 +1,65 @@
+package com.kms.chinesechess.game.chess_men_paths;
+
+import com.kms.chinesechess.game.data.Move;
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.game.data.board.BoardStatus;
+import com.kms.chinesechess.support.Location;
+
+/**
+ * 장기판의 이동 하나의 합법성과 이동 후의 체크 여부를 setPaths() 없이 검증하는 클래스
+ * 출발 위치의 장기말의 이동만 MoveGenerator로 생성하여 도착 위치가 있는지 확인하고,
+ * 복사한 장기판에 makeMove로 이동을 반영하여 양 팀의 왕이 공격받는지를 PathMasks로 확인한 후 unmakeMove로 되돌린다.
+ * 복사한 장기판과 이동 목록을 가지므로 스레드마다 따로 생성해야한다.
+ * @author Kwon
+ *
+ */
+public class MoveValidator {
+	private final BoardStatus BOARD_STATUS = new BoardStatus();	// 검증할 장기판의 복사본
+	private final MoveGenerator MOVE_GENERATOR = new MoveGenerator(BOARD_STATUS);
+	private final int[] MOVES = new int[MoveGenerator.MAX_MOVE_COUNT];
+	/**
+	 * 이동을 검증하는 매서드, 이동하는 팀은 출발 위치의 장기말의 팀이다.
+	 * @param boardStatus 장기판, 복사본에서 검증하므로 변경되지 않는다.
+	 * @param move 부호화된 이동, 장기판 밖의 위치를 가리키면 거부한다.
+	 * @return 검증 결과
+	 */
+	public ValidationResult validate(BoardStatus boardStatus, int move) {
+		if(!Move.isValid(move))	return ValidationResult.REJECTED;
+		
+		int source = Move.getSource(move), destination = Move.getDestination(move);
+		if(boardStatus.isSpace(source))	return ValidationResult.REJECTED;
+		
+		BOARD_STATUS.copy(boardStatus);
+		if(!isGenerated(source, destination))	return ValidationResult.REJECTED;
+		
+		TeamType ownTeamType = BOARD_STATUS.getTeamType(source);
+		TeamType partnerTeamType = (ownTeamType == TeamType.AWAY) ? TeamType.HOME : TeamType.AWAY;
+		
+		BOARD_STATUS.makeMove(Location.instanceAt(source), Location.instanceAt(destination));
+		try {
+			if(isAttacked(ownTeamType, partnerTeamType))	return ValidationResult.REJECTED;
+			return isAttacked(partnerTeamType, ownTeamType) ? ValidationResult.ACCEPTED_WITH_CHECK : ValidationResult.ACCEPTED;
+		} finally {
+			BOARD_STATUS.unmakeMove();
+		}
+	}
+	
+	private boolean isGenerated(int source, int destination) {
+		int count = MOVE_GENERATOR.generateMoves(source, MOVES, 0, null);
+		for(int position = 0; position < count; position++) {
+			if(Move.getDestination(MOVES[position]) == destination)	return true;
+		}
+		
+		return false;
+	}
+	/**
+	 * 해당 팀의 왕이 공격받는지를 반환하는 매서드
+	 * @param kingTeamType 왕의 팀
+	 * @param attackerTeamType 공격하는 팀
+	 * @return 왕이 공격받으면 true, 장기판에 왕이 없거나 공격받지 않으면 false
+	 */
+	private boolean isAttacked(TeamType kingTeamType, TeamType attackerTeamType) {
+		Location kingLocation = BOARD_STATUS.getKingLocation(kingTeamType);
+		return kingLocation != null && PathMasks.isAttacked(BOARD_STATUS.getBitBoardStatus(), kingLocation.INDEX, attackerTeamType);
+	}
+}
@@ -3,8 +3,9 @@ package com.kms.chinesechess.game.chess_men_paths;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.kms.chinesechess.game.data.ChessManType;
 import com.kms.chinesechess.game.data.TeamType;
-import com.kms.chinesechess.game.data.board.BoardStatus;
+import com.kms.chinesechess.game.data.board.ReadableBoardStatus;
 import com.kms.chinesechess.support.Location;
 
 /**
@@ -24,64 +25,88 @@ public class PathAnalyzer {
 		DIAGONAL_IN_PALACE.add(Location.instanceAt(Location.MAX_ROW - 2, Location.MAX_COL / 2));
 		DIAGONAL_IN_PALACE.add(Location.instanceAt(Location.MAX_ROW - 2, Location.MAX_COL / 2 + 2));
 	}
+	/**
+	 * Location.INDEX별 궁성 안의 위치 여부와 궁성 안의 대각선 위치 여부, 클래스가 로드될 때 한번만 계산하여 리스트 탐색을 대신한다.
+	 */
+	private static final boolean[] IN_PALACE = new boolean[Location.COUNT], DIAGONAL_IN_PALACE_TABLE = new boolean[Location.COUNT];
+	static {
+		for(int index = 0; index < Location.COUNT; index++) {
+			Location location = Location.instanceAt(index);
+			
+			IN_PALACE[index] = ((location.ROW >= Location.MIN_ROW && location.ROW <= Location.MIN_ROW + 2) 
+					&& ( location.COL >= Location.MAX_COL / 2 && location.COL <= Location.MAX_COL / 2 + 2 ))
+					|| 
+					((location.ROW >= Location.MAX_ROW - 2 && location.ROW <= Location.MAX_ROW) 
+					&& ( location.COL >= Location.MAX_COL / 2 && location.COL <= Location.MAX_COL / 2 + 2 ));
+			DIAGONAL_IN_PALACE_TABLE[index] = DIAGONAL_IN_PALACE.contains(location) || DIAGONAL_IN_PALACE.contains(location.getAwayLocation());
+		}
+	}
 	
-	private final BoardStatus BOARD_STATUS;	// 장기판의 현황을 참조, 본 클래스에서 변경을 불허한다.
+	private final ReadableBoardStatus BOARD_STATUS;	// 장기판의 현황을 참조, 본 클래스에서 변경을 불허한다.
 	
-	PathAnalyzer(BoardStatus boardStatus) {
+	PathAnalyzer(ReadableBoardStatus boardStatus) {
 		this.BOARD_STATUS = boardStatus;
 	}
 	/**
 	 * 해당 경로를 지나칠 수 있는지를 반환하는 매서드
-	 * @param path 경로
-	 * @return 경로에 장기말이 없고 장기판 내의 위치면 true, 경로에 장기말이 존재하거나 장기판 내의 위치가 아니면 false
+	 * @param path 장기판 내의 경로의 Location.INDEX
+	 * @return 경로에 장기말이 없으면 true, 경로에 장기말이 존재하면 false
 	 */
-	boolean isPassable(Location path) {
-		if(path == null)	return false;
-		if(!BOARD_STATUS.isSpace(path))	return false;
-		return true;
+	boolean isPassable(int path) {
+		return BOARD_STATUS.isSpace(path);
 	}
 	/**
-	 * source위치의 장기말을 path위치로 이동가능한지를 반환하는 매서드
+	 * 장기판의 현황에 따라 달라지는 조건(팀 조건, 점프 이동 조건)만으로 source위치의 장기말이 path위치로 이동가능한지를 반환하는 매서드
+	 * 장기판의 현황과 관계없는 조건은 MoveTables의 표를 만들 때 이미 확인된 것으로 본다.
+	 * @param source 장기말의 위치의 Location.INDEX
+	 * @param path 경로의 Location.INDEX
+	 * @return 장기말과 경로 상의 장기말의 팀이 다르고, 장기말이 점프형이라면 경로상의 장기말은 점프형이 아니어야 true
+	 */
+	boolean isCapturable(int source, int path) {
+		if(BOARD_STATUS.isSpace(path))	return true;
+		if(BOARD_STATUS.getTeamType(source) == BOARD_STATUS.getTeamType(path))	return false;
+		return !ChessManAnalyzer.isJumpable(BOARD_STATUS.getChessManType(source)) || !ChessManAnalyzer.isJumpable(BOARD_STATUS.getChessManType(path));
+	}
+	/**
+	 * 장기판의 현황과 관계없는 조건(뒤 이동 조건, 대각선 이동 조건, 궁성 조건)만으로 장기말이 source위치에서 path위치로 이동가능한지를 반환하는 매서드
+	 * @param chessManType 이동하는 장기말
+	 * @param teamType 이동하는 장기말의 팀
 	 * @param source 장기말의 위치
 	 * @param path 경로
-	 * @return 장기말이 뒤로 이동 불가능하다면 경로는 앞 방향이어야 하고, 경로가 대각선 방향이라면 장기말의 위치와 경로 모두 궁성안의 대각선의 위치여하하고, 
-	 * 			장기말이 점프형이라면 경로상의 장기말은 점프형이 아니어야하고, 장기말이 궁성에서만 이동 가능하면 경로는 궁성안에 존재해야하고, 
-	 * 			장기말과 경로 상의 장기말은 팀이 달라야 true
+	 * @return 세 조건을 모두 만족하면 true, 그렇지 않으면 false
 	 */
-	boolean isReplacable(Location source, Location path) {
-		if(path == null)	return false;
-		
-		return checkTeamCondition(source, path) && checkBackwardCondition(source, path) && checkDiagonalCondition(source, path)
-				&& checkJumpableCondition(source, path) && checkPalaceCondition(source, path);
+	static boolean isRuleReplacable(ChessManType chessManType, TeamType teamType, Location source, Location path) {
+		return checkBackwardCondition(chessManType, teamType, source, path) && checkDiagonalCondition(source, path)
+				&& checkPalaceCondition(chessManType, path);
 	}
 	/**
 	 * 해당 경로를 Jump할 수 있는지를 반환하는 매서드
-	 * @param path 경로
+	 * @param path 장기판 내의 경로의 Location.INDEX
 	 * @return 경로 위에 장기말이 존재하고 그 장기말이 점프가 불가능한 장기말이면 true, 그렇지 않으면 false
 	 */
-	boolean isCrossable(Location path) {
-		if(path == null)	return false;
-		if(!BOARD_STATUS.isSpace(path) && !ChessManAnalyzer.isJumpable(BOARD_STATUS.getChessManType(path)))	return true;
-		return false;
+	boolean isCrossable(int path) {
+		return !BOARD_STATUS.isSpace(path) && !ChessManAnalyzer.isJumpable(BOARD_STATUS.getChessManType(path));
 	}
 	/**
-	 * 팀 조건을 판별하는 매서드, 이동하는 장기말과 경로 상의 장기말의 팀이 달라야한다.
-	 * @param source 장기말의 위치
-	 * @param path 경로
-	 * @return 이동하는 장기말과 경로 상의 장기말의 팀이 다르면 true, 그렇지 않으면 false
+	 * attackerTeamType팀의 장기말 중 하나라도 해당 위치로 이동할 수 있는지를 반환하는 매서드
+	 * 상대 팀의 모든 이동 경로를 계산하지 않고 해당 위치에서 거꾸로 차, 포의 직진 경로와 마, 상, 왕, 사, 졸의 이동 경로를 따라가며 판단한다.
+	 * @param location 확인할 위치
+	 * @param attackerTeamType 공격하는 팀
+	 * @return 해당 위치가 attackerTeamType팀의 이동 경로 위에 있으면 true, 그렇지 않으면 false
 	 */
-	private boolean checkTeamCondition(Location source, Location path) {
-		return BOARD_STATUS.getTeamType(source) != BOARD_STATUS.getTeamType(path);
+	boolean isAttacked(Location location, TeamType attackerTeamType) {
+		if(location == null)	return false;
+		return PathMasks.isAttacked(BOARD_STATUS.getBitBoardStatus(), location.INDEX, attackerTeamType);
 	}
 	/**
 	 * 궁성 조건을 판별하는 매서드, 이동하는 장기말이 궁성안에 존재해야만 하면 경로는 궁성안의 위치여야한다.
-	 * @param source 장기말의 위치
+	 * @param chessManType 이동하는 장기말
 	 * @param path 경로
 	 * @return 이동하는 장기말이 궁성안에 존재해야만 하면 경로는 궁성안의 위치여야 true, 이동하는 장기말이 궁성안에 존재해야만 하는게 아니라면 true
 	 */
-	private boolean checkPalaceCondition(Location source, Location path) {
-		return (ChessManAnalyzer.isMustInPalace(BOARD_STATUS.getChessManType(source)) && isInPalace(path))
-				|| !ChessManAnalyzer.isMustInPalace(BOARD_STATUS.getChessManType(source));
+	private static boolean checkPalaceCondition(ChessManType chessManType, Location path) {
+		return (ChessManAnalyzer.isMustInPalace(chessManType) && isInPalace(path))
+				|| !ChessManAnalyzer.isMustInPalace(chessManType);
 	}
 	/**
 	 * 대각선 이동 조건을 판별하는 매서드, 경로의 위치가 대각선 방향이라면 장기말의 위치와 경로의 위치 모두 궁성안의 대각선 위치여야한다.
@@ -89,38 +114,29 @@ public class PathAnalyzer {
 	 * @param path 경로
 	 * @return 경로의 위치가 대각선 방향이라면 장기말의 위치와 경로의 위치가 모두 궁성안의 대각선 위치여야 true, 경로의 위치가 대각선 방향이 아니라면 true
 	 */
-	private boolean checkDiagonalCondition(Location source, Location path) {
+	private static boolean checkDiagonalCondition(Location source, Location path) {
 		return (isPathDiagonal(source, path) && isDiagonalInPalace(source) && isDiagonalInPalace(path))
 				|| !isPathDiagonal(source, path);
 	}
-	/**
-	 * 점프 이동 조건을 판별하는 매서드, 장기말이 점프형이라면 경로상의 장기말은 점프형이 아니어야한다.
-	 * @param source 장기말의 위치
-	 * @param path 경로
-	 * @return 이동하는 장기말이 점프형이라면 경로상의 장기말은 점프형이 아니어야 true, 이동하는 장기말이 점프형이 아니라면 true
-	 */
-	private boolean checkJumpableCondition(Location source, Location path) {
-		return ( ChessManAnalyzer.isJumpable(BOARD_STATUS.getChessManType(source)) 
-				&& (BOARD_STATUS.isSpace(path) || !ChessManAnalyzer.isJumpable(BOARD_STATUS.getChessManType(path))) )
-				|| !ChessManAnalyzer.isJumpable(BOARD_STATUS.getChessManType(source));
-	}
 	/**
 	 * 뒤 이동 조건을 판별하는 매서드, 장기말이 뒤로 이동 불가라면 경로는 뒤 방향이 아니어야한다.
+	 * @param chessManType 이동하는 장기말
+	 * @param teamType 이동하는 장기말의 팀
 	 * @param source 장기말의 위치
 	 * @param path 경로
 	 * @return 이동하는 장기말이 뒤로 이동 불가라면 경로는 뒤 방향이 아니어야 true, 이동하는 장기말이 뒤로 이동 가능하면 true
 	 */
-	private boolean checkBackwardCondition(Location source, Location path) {
-		return (!ChessManAnalyzer.isBackwardable(BOARD_STATUS.getChessManType(source)) && !isPathBackward(source, path))
-				|| ChessManAnalyzer.isBackwardable(BOARD_STATUS.getChessManType(source));
+	private static boolean checkBackwardCondition(ChessManType chessManType, TeamType teamType, Location source, Location path) {
+		return (!ChessManAnalyzer.isBackwardable(chessManType) && !isPathBackward(teamType, source, path))
+				|| ChessManAnalyzer.isBackwardable(chessManType);
 	}
 	/**
 	 * 해당 경로가 궁성안의 대각선 위치에 해당하는지를 반환하는 매서드
 	 * @param path 경로
 	 * @return 해당 경로가 궁성안의 대각선 위치에 해당하면 true, 그렇지 않으면 false
 	 */
-	private boolean isDiagonalInPalace(Location path) {
-		return DIAGONAL_IN_PALACE.contains(path) || DIAGONAL_IN_PALACE.contains(path.getAwayLocation());
+	private static boolean isDiagonalInPalace(Location path) {
+		return DIAGONAL_IN_PALACE_TABLE[path.INDEX];
 	}
 	/**
 	 * 경로가 대각선 방향인지를 반환하는 매서드
@@ -128,29 +144,26 @@ public class PathAnalyzer {
 	 * @param path 경로
 	 * @return 경로가 대각선 방향이면 true, 그렇지 않으면 false
 	 */
-	private boolean isPathDiagonal(Location source, Location path) {
+	private static boolean isPathDiagonal(Location source, Location path) {
 		return source.ROW - path.ROW == source.COL - path.COL
 				|| source.ROW - path.ROW == -(source.COL - path.COL);
 	}
 	/**
-	 * 경로가 뒤 방향인지를 반환하는 매서드
+	 * 해당 팀의 장기말에게 경로가 뒤 방향인지를 반환하는 매서드
+	 * @param teamType 장기말의 팀
 	 * @param source 장기말의 위치
 	 * @param path 경로
 	 * @return 경로가 뒤 방향이면 true, 그렇지 않으면 false
 	 */
-	private boolean isPathBackward(Location source, Location path) {
-		return BOARD_STATUS.getTeamType(source) == TeamType.AWAY ? source.ROW > path.ROW : source.ROW < path.ROW;
+	private static boolean isPathBackward(TeamType teamType, Location source, Location path) {
+		return teamType == TeamType.AWAY ? source.ROW > path.ROW : source.ROW < path.ROW;
 	}
 	/**
 	 * 경로가 궁성안의 위치인지를 반환하는 매서드
 	 * @param path 경로
 	 * @return 경로가 궁성안의 위치이면 true, 그렇지 않으면 false
 	 */
-	private boolean isInPalace(Location path) {
-		return ((path.ROW >= Location.MIN_ROW && path.ROW <= Location.MIN_ROW + 2) 
-				&& ( path.COL >= Location.MAX_COL / 2 && path.COL <= Location.MAX_COL / 2 + 2 ))
-				|| 
-				((path.ROW >= Location.MAX_ROW - 2 && path.ROW <= Location.MAX_ROW) 
-				&& ( path.COL >= Location.MAX_COL / 2 && path.COL <= Location.MAX_COL / 2 + 2 ));
+	private static boolean isInPalace(Location path) {
+		return IN_PALACE[path.INDEX];
 	}
-}
+}
\ No newline at end of file
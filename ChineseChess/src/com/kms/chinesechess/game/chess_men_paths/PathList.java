@@ -0,0 +1,107 @@
+package com.kms.chinesechess.game.chess_men_paths;
+
+import java.util.AbstractList;
+
+import com.kms.chinesechess.support.Location;
+
+/**
+ * 한 장기말의 경로들을 Location.INDEX의 byte 배열과 90비트 집합(long 2개)으로 저장하는 리스트 클래스
+ * 경로의 추가와 포함 여부 확인이 상수 시간이며, 중복된 경로는 추가되지 않는다.
+ * 외부에는 읽기 전용 List<Location>으로 제공되며, 경로의 변경은 본 패키지 안에서만 가능하다.
+ * @author Kwon
+ *
+ */
+public class PathList extends AbstractList<Location> {
+	static final int PIECE_CAPACITY = 32;	// 한 장기말의 경로의 최대 수(궁성 중앙의 차 21개, 조회한 위치를 포함해도 21개)보다 큰 값
+	
+	private final byte[] PATHS;
+	private int size = 0;
+	private long low = 0, high = 0;	// 경로들의 90비트 집합
+	/**
+	 * 장기판의 모든 위치를 담을 수 있는 리스트를 생성한다.
+	 */
+	PathList() {
+		this(Location.COUNT);
+	}
+	/**
+	 * 주어진 수의 경로를 담을 수 있는 리스트를 생성한다. 한 장기말의 경로는 PIECE_CAPACITY로 충분하다.
+	 * @param capacity 담을 수 있는 경로의 최대 수
+	 */
+	PathList(int capacity) {
+		PATHS = new byte[capacity];
+	}
+	/**
+	 * 경로를 추가하는 매서드, 이미 추가된 경로라면 무시한다.
+	 * @param index 추가할 경로의 Location.INDEX
+	 */
+	void add(int index) {
+		if(contains(index))	return;
+		
+		PATHS[size++] = (byte)index;
+		if(index < Long.SIZE)	low |= 1L << index;
+		else	high |= 1L << (index - Long.SIZE);
+	}
+	/**
+	 * 모든 경로를 제거하는 매서드
+	 */
+	void reset() {
+		size = 0;
+		low = high = 0;
+	}
+	/**
+	 * 해당 경로가 포함되어있는지를 반환하는 매서드
+	 * @param index 확인할 경로의 Location.INDEX
+	 * @return 포함되어있으면 true, 그렇지 않으면 false
+	 */
+	public boolean contains(int index) {
+		return index < Long.SIZE ? (low & (1L << index)) != 0 : (high & (1L << (index - Long.SIZE))) != 0;
+	}
+	/**
+	 * position번째 경로의 INDEX를 반환하는 매서드
+	 * @param position 0 ~ size() - 1의 순서
+	 * @return 경로의 Location.INDEX
+	 */
+	public int getIndex(int position) {
+		return PATHS[position];
+	}
+	/**
+	 * 경로들의 90비트 집합의 하위 64비트를 반환하는 매서드
+	 * @return 집합의 하위 64비트
+	 */
+	public long getLow() {
+		return low;
+	}
+	/**
+	 * 경로들의 90비트 집합의 상위 26비트를 반환하는 매서드
+	 * @return 집합의 상위 26비트
+	 */
+	public long getHigh() {
+		return high;
+	}
+	
+	@Override
+	public Location get(int position) {
+		if(position < 0 || position >= size)	throw new IndexOutOfBoundsException("Position: " + position + ", Size: " + size);
+		return Location.instanceAt(PATHS[position]);
+	}
+	
+	@Override
+	public int size() {
+		return size;
+	}
+	
+	@Override
+	public boolean contains(Object object) {
+		return object instanceof Location && contains(((Location)object).INDEX);
+	}
+	
+	@Override
+	public int indexOf(Object object) {
+		if(!contains(object))	return -1;
+		
+		for(int position = 0; position < size; position++) {
+			if(PATHS[position] == ((Location)object).INDEX)	return position;
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,239 @@
+package com.kms.chinesechess.game.chess_men_paths;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.kms.chinesechess.game.chess_men_paths.MoveTables.Direction;
+import com.kms.chinesechess.game.data.ChessManType;
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.game.data.board.BitBoardStatus;
+import com.kms.chinesechess.support.Location;
+
+/**
+ * Location.INDEX(칸의 번호)를 기준으로 미리 계산된 직진 경로의 마스크와 MoveTables의 경로를 뒤집은 표를 제공하고,
+ * 이를 이용해 마스크 연산만으로 특정 칸이 공격받고 있는지를 판단하는 클래스
+ * 모든 표는 클래스가 로드될 때 MoveTables의 표로부터 한번만 생성된다.
+ * @author Kwon
+ *
+ */
+public class PathMasks {
+	private static final int CHESS_MAN_TYPE_COUNT = ChessManType.values().length, TEAM_TYPE_COUNT = TeamType.values().length;
+	private static final Direction[] DIRECTIONS = Direction.values();
+	
+	/**
+	 * 칸, 방향별 직진 경로의 마스크, 차의 경로와 같으므로 대각선 방향은 궁성 안의 대각선 위에서만 이어진다.
+	 */
+	private static final long[][] RAY_LOW = new long[Location.COUNT][DIRECTIONS.length];
+	private static final long[][] RAY_HIGH = new long[Location.COUNT][DIRECTIONS.length];
+	
+	/**
+	 * 타겟형 장기말(마, 상)의 경로를 뒤집은 표, [ChessManType][TeamType][타겟 칸]의 각 경로는 장기말의 위치와 멱(지나쳐야하는 칸)들로 이루어진다.
+	 */
+	private static final int[][][][][] REVERSED_TARGETING_PATHS = new int[CHESS_MAN_TYPE_COUNT][TEAM_TYPE_COUNT][Location.COUNT][][];
+	/**
+	 * 한칸씩 이동하는 장기말(왕, 사, 졸)의 경로를 뒤집은 표, [ChessManType][TeamType][타겟 칸]별로 공격 가능한 장기말의 위치를 담는다.
+	 */
+	private static final int[][][][] REVERSED_STEP_PATHS = new int[CHESS_MAN_TYPE_COUNT][TEAM_TYPE_COUNT][Location.COUNT][];
+	private static final ChessManType[] TARGETING_TYPES, STEP_TYPES;
+	
+	static {
+		List<ChessManType> targetingTypes = new ArrayList<>(), stepTypes = new ArrayList<>();
+		for(ChessManType chessManType : ChessManType.values()) {
+			if(ChessManAnalyzer.isTargetingMovement(chessManType))	targetingTypes.add(chessManType);
+			else if(ChessManAnalyzer.getStraightCount(chessManType) == 1)	stepTypes.add(chessManType);
+		}
+		TARGETING_TYPES = targetingTypes.toArray(new ChessManType[targetingTypes.size()]);
+		STEP_TYPES = stepTypes.toArray(new ChessManType[stepTypes.size()]);
+		
+		initRays();
+		for(TeamType teamType : TeamType.values()) {
+			for(ChessManType chessManType : TARGETING_TYPES)	initReversedTargetingPaths(chessManType, teamType);
+			for(ChessManType chessManType : STEP_TYPES)	initReversedStepPaths(chessManType, teamType);
+		}
+	}
+	
+	private PathMasks() {}
+	
+	private static void initRays() {
+		for(int index = 0; index < Location.COUNT; index++) {
+			int[][] straightPaths = MoveTables.getStraightPaths(ChessManType.CHARIOT, TeamType.HOME, index);
+			
+			for(int direction = 0; direction < DIRECTIONS.length; direction++) {
+				for(int path : straightPaths[direction]) {
+					if(path < Long.SIZE)	RAY_LOW[index][direction] |= 1L << path;
+					else	RAY_HIGH[index][direction] |= 1L << (path - Long.SIZE);
+				}
+			}
+		}
+	}
+	/**
+	 * 타겟형 장기말의 경로(멱들과 타겟)를 뒤집어서 타겟 칸별로 공격 가능한 장기말의 위치와 멱들을 설정하는 매서드
+	 * @param chessManType 타겟형 장기말
+	 * @param teamType 장기말의 팀
+	 */
+	private static void initReversedTargetingPaths(ChessManType chessManType, TeamType teamType) {
+		List<List<int[]>> reversedPaths = new ArrayList<>();
+		for(int index = 0; index < Location.COUNT; index++)	reversedPaths.add(new ArrayList<>());
+		
+		for(int source = 0; source < Location.COUNT; source++) {
+			for(int[] targetingPath : MoveTables.getTargetingPaths(chessManType, teamType, source)) {
+				int[] reversedPath = targetingPath.clone();
+				int target = reversedPath[reversedPath.length - 1];
+				
+				System.arraycopy(reversedPath, 0, reversedPath, 1, reversedPath.length - 1);
+				reversedPath[0] = source;
+				reversedPaths.get(target).add(reversedPath);
+			}
+		}
+		
+		for(int target = 0; target < Location.COUNT; target++) {
+			REVERSED_TARGETING_PATHS[chessManType.ordinal()][teamType.ordinal()][target] 
+					= reversedPaths.get(target).toArray(new int[reversedPaths.get(target).size()][]);
+		}
+	}
+	/**
+	 * 한칸씩 이동하는 장기말의 경로를 뒤집어서 타겟 칸별로 공격 가능한 장기말의 위치를 설정하는 매서드
+	 * @param chessManType 한칸씩 이동하는 장기말
+	 * @param teamType 장기말의 팀
+	 */
+	private static void initReversedStepPaths(ChessManType chessManType, TeamType teamType) {
+		List<List<Integer>> sources = new ArrayList<>();
+		for(int index = 0; index < Location.COUNT; index++)	sources.add(new ArrayList<>());
+		
+		for(int source = 0; source < Location.COUNT; source++) {
+			for(int[] straightPath : MoveTables.getStraightPaths(chessManType, teamType, source)) {
+				for(int target : straightPath)	sources.get(target).add(source);
+			}
+		}
+		
+		for(int target = 0; target < Location.COUNT; target++) {
+			int[] array = new int[sources.get(target).size()];
+			for(int count = 0; count < array.length; count++)	array[count] = sources.get(target).get(count);
+			REVERSED_STEP_PATHS[chessManType.ordinal()][teamType.ordinal()][target] = array;
+		}
+	}
+	/**
+	 * index 칸에서 direction 방향으로 처음 만나는 장기말의 칸의 번호를 반환하는 매서드
+	 * 칸의 번호가 증가하는 방향(남, 동, 남서, 남동)은 가장 낮은 비트를, 감소하는 방향은 가장 높은 비트를 찾는다.
+	 * @param index 시작 칸의 번호
+	 * @param direction 방향
+	 * @param occupiedLow 장기말이 놓인 칸의 집합의 하위 64비트
+	 * @param occupiedHigh 장기말이 놓인 칸의 집합의 상위 26비트
+	 * @return 처음 만나는 장기말의 칸의 번호, 없으면 -1
+	 */
+	private static int getFirstBlocker(int index, int direction, long occupiedLow, long occupiedHigh) {
+		long low = RAY_LOW[index][direction] & occupiedLow, high = RAY_HIGH[index][direction] & occupiedHigh;
+		if(low == 0 && high == 0)	return -1;
+		
+		if(DIRECTIONS[direction].isIncreasing())	return low != 0 ? Long.numberOfTrailingZeros(low) : Long.SIZE + Long.numberOfTrailingZeros(high);
+		return high != 0 ? Long.SIZE + Long.SIZE - 1 - Long.numberOfLeadingZeros(high) : Long.SIZE - 1 - Long.numberOfLeadingZeros(low);
+	}
+	/**
+	 * attackerTeamType팀의 장기말 중 하나라도 index 칸으로 이동할 수 있는지를 반환하는 매서드
+	 * 해당 칸에서 거꾸로 차, 포의 직진 경로와 마, 상, 왕, 사, 졸의 이동 경로를 따라가며 마스크 연산으로 판단한다.
+	 * @param boardStatus 장기판
+	 * @param index 칸의 번호
+	 * @param attackerTeamType 공격하는 팀
+	 * @return 공격받고 있으면 true, 그렇지 않으면 false
+	 */
+	public static boolean isAttacked(BitBoardStatus boardStatus, int index, TeamType attackerTeamType) {
+		if(boardStatus.getTeamType(index) == attackerTeamType)	return false;
+		
+		long occupiedLow = boardStatus.getOccupiedLow(), occupiedHigh = boardStatus.getOccupiedHigh();
+		boolean isCannonTarget = boardStatus.getChessManType(index) == ChessManType.CANNON;
+		
+		for(int direction = 0; direction < DIRECTIONS.length; direction++) {
+			int blocker = getFirstBlocker(index, direction, occupiedLow, occupiedHigh);
+			if(blocker < 0)	continue;
+			if(boardStatus.isChessMan(blocker, ChessManType.CHARIOT, attackerTeamType))	return true;
+			if(isCannonTarget || boardStatus.getChessManType(blocker) == ChessManType.CANNON)	continue;
+			
+			int cannon = getFirstBlocker(blocker, direction, occupiedLow, occupiedHigh);
+			if(cannon >= 0 && boardStatus.isChessMan(cannon, ChessManType.CANNON, attackerTeamType))	return true;
+		}
+		
+		for(ChessManType chessManType : TARGETING_TYPES) {
+			for(int[] reversedPath : REVERSED_TARGETING_PATHS[chessManType.ordinal()][attackerTeamType.ordinal()][index]) {
+				if(isTargetingAttack(boardStatus, reversedPath, chessManType, attackerTeamType))	return true;
+			}
+		}
+		for(ChessManType chessManType : STEP_TYPES) {
+			for(int source : REVERSED_STEP_PATHS[chessManType.ordinal()][attackerTeamType.ordinal()][index]) {
+				if(boardStatus.isChessMan(source, chessManType, attackerTeamType))	return true;
+			}
+		}
+		
+		return false;
+	}
+	/**
+	 * attackerTeamType팀의 chessManType 장기말 중 index 칸으로 이동할 수 있는 장기말 하나의 위치를 반환하는 매서드
+	 * isAttacked()와 같은 규칙(포는 포를 넘거나 잡을 수 없고, 마와 상은 멱이 막히면 이동할 수 없다)을 따르며, 정적 교환 평가에서 가치가 낮은 장기말부터 찾을 때 사용한다.
+	 * @param boardStatus 장기판
+	 * @param index 칸의 번호
+	 * @param attackerTeamType 공격하는 팀
+	 * @param chessManType 찾을 장기말
+	 * @return 공격하는 장기말의 칸의 번호, 없으면 -1
+	 */
+	public static int getAttacker(BitBoardStatus boardStatus, int index, TeamType attackerTeamType, ChessManType chessManType) {
+		if(boardStatus.getTeamType(index) == attackerTeamType)	return -1;
+		
+		if(chessManType == ChessManType.CHARIOT || chessManType == ChessManType.CANNON) {
+			if(chessManType == ChessManType.CANNON && boardStatus.getChessManType(index) == ChessManType.CANNON)	return -1;
+			
+			long occupiedLow = boardStatus.getOccupiedLow(), occupiedHigh = boardStatus.getOccupiedHigh();
+			for(int direction = 0; direction < DIRECTIONS.length; direction++) {
+				int blocker = getFirstBlocker(index, direction, occupiedLow, occupiedHigh);
+				if(blocker < 0)	continue;
+				if(chessManType == ChessManType.CHARIOT) {
+					if(boardStatus.isChessMan(blocker, ChessManType.CHARIOT, attackerTeamType))	return blocker;
+					continue;
+				}
+				if(boardStatus.getChessManType(blocker) == ChessManType.CANNON)	continue;
+				
+				int cannon = getFirstBlocker(blocker, direction, occupiedLow, occupiedHigh);
+				if(cannon >= 0 && boardStatus.isChessMan(cannon, ChessManType.CANNON, attackerTeamType))	return cannon;
+			}
+			return -1;
+		}
+		
+		if(ChessManAnalyzer.isTargetingMovement(chessManType)) {
+			for(int[] reversedPath : REVERSED_TARGETING_PATHS[chessManType.ordinal()][attackerTeamType.ordinal()][index]) {
+				if(isTargetingAttack(boardStatus, reversedPath, chessManType, attackerTeamType))	return reversedPath[0];
+			}
+			return -1;
+		}
+		
+		for(int source : REVERSED_STEP_PATHS[chessManType.ordinal()][attackerTeamType.ordinal()][index]) {
+			if(boardStatus.isChessMan(source, chessManType, attackerTeamType))	return source;
+		}
+		return -1;
+	}
+	/**
+	 * 양 팀의 왕이 같은 세로줄에서 사이에 장기말 없이 마주보고 있는지(빅장)를 반환하는 매서드
+	 * 왕은 궁성 안에만 있으므로 HOME팀의 왕에서 북쪽으로 처음 만나는 장기말이 AWAY팀의 왕인지만 마스크 연산으로 확인한다.
+	 * @param boardStatus 장기판
+	 * @return 왕들이 마주보고 있으면 true, 그렇지 않거나 왕이 없으면 false
+	 */
+	public static boolean isKingsFacing(BitBoardStatus boardStatus) {
+		Location homeKing = boardStatus.getKingLocation(TeamType.HOME), awayKing = boardStatus.getKingLocation(TeamType.AWAY);
+		if(homeKing == null || awayKing == null || homeKing.COL != awayKing.COL)	return false;
+		
+		return getFirstBlocker(homeKing.INDEX, Direction.NORTH.ordinal(), boardStatus.getOccupiedLow(), boardStatus.getOccupiedHigh()) == awayKing.INDEX;
+	}
+	/**
+	 * 뒤집은 경로의 장기말이 멱에 막히지 않고 타겟 칸을 공격할 수 있는지를 반환하는 매서드
+	 * @param boardStatus 장기판
+	 * @param reversedPath 장기말의 위치와 멱들로 이루어진 경로
+	 * @param chessManType 타겟형 장기말
+	 * @param attackerTeamType 공격하는 팀
+	 * @return 경로의 시작 칸에 공격하는 팀의 장기말이 있고 멱이 모두 비어있으면 true, 그렇지 않으면 false
+	 */
+	private static boolean isTargetingAttack(BitBoardStatus boardStatus, int[] reversedPath, ChessManType chessManType, TeamType attackerTeamType) {
+		if(!boardStatus.isChessMan(reversedPath[0], chessManType, attackerTeamType))	return false;
+		
+		for(int position = 1; position < reversedPath.length; position++) {
+			if(!boardStatus.isSpace(reversedPath[position]))	return false;
+		}
+		return true;
+	}
+}
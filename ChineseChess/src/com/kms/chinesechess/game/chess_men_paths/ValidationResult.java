@@ -0,0 +1,12 @@
+package com.kms.chinesechess.game.chess_men_paths;
+
+/**
+ * MoveValidator로 검증한 이동의 결과
+ * @author Kwon
+ *
+ */
+public enum ValidationResult {
+	REJECTED,				// 장기말이 도착 위치로 이동할 수 없거나, 이동하면 자신의 왕이 공격받는다.
+	ACCEPTED,				// 합법적인 이동이다.
+	ACCEPTED_WITH_CHECK		// 합법적인 이동이며, 이동 후 상대 팀의 왕을 공격한다.
+}
@@ -0,0 +1,61 @@
+package com.kms.chinesechess.game.data;
+
+import com.kms.chinesechess.support.Location;
+
+/**
+ * 장기말의 이동(출발 위치, 도착 위치)을 하나의 int(short 범위)로 부호화하고 해석하는 클래스
+ * 상위 비트에 출발 위치의 Location.INDEX를, 하위 7비트에 도착 위치의 Location.INDEX를 저장하므로 값은 0 ~ 11519의 범위를 갖는다.
+ * 이동 목록을 Location 인스턴스의 리스트 대신 int[], short[]에 담을 때 사용한다.
+ * @author Kwon
+ *
+ */
+public class Move {
+	private static final int DESTINATION_BITS = 7;
+	private static final int DESTINATION_MASK = (1 << DESTINATION_BITS) - 1;
+	
+	public static final int NONE = -1;	// 이동이 없음을 나타내는 값
+	
+	private Move() {}
+	/**
+	 * 출발 위치와 도착 위치의 INDEX로 이동을 부호화하는 매서드
+	 * @param source 출발 위치의 Location.INDEX
+	 * @param destination 도착 위치의 Location.INDEX
+	 * @return 부호화된 이동
+	 */
+	public static int encode(int source, int destination) {
+		return source << DESTINATION_BITS | destination;
+	}
+	/**
+	 * 출발 위치와 도착 위치로 이동을 부호화하는 매서드
+	 * @param source 출발 위치
+	 * @param destination 도착 위치
+	 * @return 부호화된 이동
+	 */
+	public static int encode(Location source, Location destination) {
+		return encode(source.INDEX, destination.INDEX);
+	}
+	/**
+	 * 부호화된 이동의 출발 위치와 도착 위치가 모두 장기판 안의 위치인지를 반환하는 매서드, 외부에서 받은 이동을 해석하기 전에 확인한다.
+	 * @param move 부호화된 이동
+	 * @return 두 위치가 모두 0 ~ Location.COUNT - 1의 범위이면 true, 그렇지 않으면 false
+	 */
+	public static boolean isValid(int move) {
+		return move >= 0 && getSource(move) < Location.COUNT && getDestination(move) < Location.COUNT;
+	}
+	/**
+	 * 부호화된 이동의 출발 위치의 INDEX를 반환하는 매서드
+	 * @param move 부호화된 이동
+	 * @return 출발 위치의 Location.INDEX
+	 */
+	public static int getSource(int move) {
+		return move >>> DESTINATION_BITS;
+	}
+	/**
+	 * 부호화된 이동의 도착 위치의 INDEX를 반환하는 매서드
+	 * @param move 부호화된 이동
+	 * @return 도착 위치의 Location.INDEX
+	 */
+	public static int getDestination(int move) {
+		return move & DESTINATION_MASK;
+	}
+}
@@ -0,0 +1,234 @@
+package com.kms.chinesechess.game.data.board;
+
+import java.util.Arrays;
+
+import com.kms.chinesechess.game.data.ChessManType;
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.support.Location;
+
+/**
+ * 장기판 위의 90개의 칸을 90비트의 집합(long 2개)으로 표현하는 장기판 클래스
+ * 장기말의 종류별 집합과 팀별 집합만을 가지고 있으며, 칸의 번호는 Location.INDEX이다.
+ * 번호가 0 ~ 63인 칸은 LOW의 비트에, 64 ~ 89인 칸은 HIGH의 비트에 대응된다.
+ * @author Kwon
+ *
+ */
+public class BitBoardStatus implements ReadableBoardStatus {
+	private static final ChessManType[] CHESS_MAN_TYPES = ChessManType.values();
+	private static final TeamType[] TEAM_TYPES = TeamType.values();
+	
+	private final long[] CHESS_MAN_LOW = new long[CHESS_MAN_TYPES.length], CHESS_MAN_HIGH = new long[CHESS_MAN_TYPES.length];
+	private final long[] TEAM_LOW = new long[TEAM_TYPES.length], TEAM_HIGH = new long[TEAM_TYPES.length];
+	
+	/**
+	 * 90비트 집합에 해당 칸이 포함되어있는지를 반환하는 매서드
+	 * @param low 집합의 하위 64비트
+	 * @param high 집합의 상위 26비트
+	 * @param index 칸의 번호
+	 * @return 포함되어있으면 true, 그렇지 않으면 false
+	 */
+	public static boolean contains(long low, long high, int index) {
+		return index < Long.SIZE ? (low & (1L << index)) != 0 : (high & (1L << (index - Long.SIZE))) != 0;
+	}
+	/**
+	 * copy의 데이터를 본 인스턴스의 데이터로 복사하는 매서드
+	 * @param copy 복사하고자 하는 대상
+	 */
+	public void copy(ReadableBoardStatus copy) {
+		copy(copy.getBitBoardStatus());
+	}
+	/**
+	 * copy의 데이터를 본 인스턴스의 데이터로 복사하는 매서드, 같은 표현 방식이므로 비트 집합만 복사한다.
+	 * @param copy 복사하고자 하는 대상
+	 */
+	public void copy(BitBoardStatus copy) {
+		System.arraycopy(copy.CHESS_MAN_LOW, 0, CHESS_MAN_LOW, 0, CHESS_MAN_LOW.length);
+		System.arraycopy(copy.CHESS_MAN_HIGH, 0, CHESS_MAN_HIGH, 0, CHESS_MAN_HIGH.length);
+		System.arraycopy(copy.TEAM_LOW, 0, TEAM_LOW, 0, TEAM_LOW.length);
+		System.arraycopy(copy.TEAM_HIGH, 0, TEAM_HIGH, 0, TEAM_HIGH.length);
+	}
+	/**
+	 * 모든 칸을 빈칸으로 만드는 매서드
+	 */
+	public void clear() {
+		Arrays.fill(CHESS_MAN_LOW, 0);
+		Arrays.fill(CHESS_MAN_HIGH, 0);
+		Arrays.fill(TEAM_LOW, 0);
+		Arrays.fill(TEAM_HIGH, 0);
+	}
+	/**
+	 * 해당 위치의 칸을 ChessManType, TeamType에 맞는 장기말로 변경하는 매서드
+	 * @param location 변경하고자 하는 위치
+	 * @param chessManType 대입하고자하는 ChessManType
+	 * @param teamType 대입하고자하는 TeamType
+	 */
+	public void setBoxStatus(Location location, ChessManType chessManType, TeamType teamType) {
+		int index = location.INDEX;
+		
+		setSpace(index);
+		if(index < Long.SIZE) {
+			CHESS_MAN_LOW[chessManType.ordinal()] |= 1L << index;
+			TEAM_LOW[teamType.ordinal()] |= 1L << index;
+		} else {
+			CHESS_MAN_HIGH[chessManType.ordinal()] |= 1L << (index - Long.SIZE);
+			TEAM_HIGH[teamType.ordinal()] |= 1L << (index - Long.SIZE);
+		}
+	}
+	/**
+	 * 해당 위치의 칸을 원하는 BoxStatus로 변경하는 매서드
+	 * @param location 변경하고자 하는 위치
+	 * @param boxStatus 대입하고자하는 BoxStatus
+	 */
+	public void setBoxStatus(Location location, BoxStatus boxStatus) {
+		if(boxStatus == BoxStatus.SPACE)	setSpace(location.INDEX);
+		else	setBoxStatus(location, boxStatus.CHESS_MAN_TYPE, boxStatus.TEAM_TYPE);
+	}
+	/**
+	 * before의 위치에 있는 장기말을 after위치로 옮기는 매서드, before 위치는 빈칸이 된다.
+	 * @param before 이동 전의 위치
+	 * @param after 이동 후의 위치
+	 */
+	public void moveBoxStatus(Location before, Location after) {
+		if(isSpace(before)) {
+			setSpace(after.INDEX);
+			return;
+		}
+		
+		setBoxStatus(after, getChessManType(before), getTeamType(before));
+		setSpace(before.INDEX);
+	}
+	
+	private void setSpace(int index) {
+		if(index < Long.SIZE) {
+			long mask = ~(1L << index);
+			for(int type = 0; type < CHESS_MAN_LOW.length; type++)	CHESS_MAN_LOW[type] &= mask;
+			for(int team = 0; team < TEAM_LOW.length; team++)	TEAM_LOW[team] &= mask;
+		} else {
+			long mask = ~(1L << (index - Long.SIZE));
+			for(int type = 0; type < CHESS_MAN_HIGH.length; type++)	CHESS_MAN_HIGH[type] &= mask;
+			for(int team = 0; team < TEAM_HIGH.length; team++)	TEAM_HIGH[team] &= mask;
+		}
+	}
+	/**
+	 * 해당 번호의 칸의 ChessManType을 반환하는 매서드
+	 * @param index 칸의 번호
+	 * @return 해당 칸의 ChessManType, 빈칸이면 null
+	 */
+	public ChessManType getChessManType(int index) {
+		for(ChessManType chessManType : CHESS_MAN_TYPES) {
+			if(contains(CHESS_MAN_LOW[chessManType.ordinal()], CHESS_MAN_HIGH[chessManType.ordinal()], index))	return chessManType;
+		}
+		
+		return null;
+	}
+	/**
+	 * 해당 번호의 칸의 TeamType을 반환하는 매서드
+	 * @param index 칸의 번호
+	 * @return 해당 칸의 TeamType, 빈칸이면 null
+	 */
+	public TeamType getTeamType(int index) {
+		for(TeamType teamType : TEAM_TYPES) {
+			if(contains(TEAM_LOW[teamType.ordinal()], TEAM_HIGH[teamType.ordinal()], index))	return teamType;
+		}
+		
+		return null;
+	}
+	/**
+	 * 해당 번호의 칸이 빈칸인지 판단하는 매서드
+	 * @param index 칸의 번호
+	 * @return 빈칸이면 true, 그렇지 않다면 false
+	 */
+	public boolean isSpace(int index) {
+		return !contains(getOccupiedLow(), getOccupiedHigh(), index);
+	}
+	
+	@Override
+	public ChessManType getChessManType(Location location) {
+		return getChessManType(location.INDEX);
+	}
+	
+	@Override
+	public TeamType getTeamType(Location location) {
+		return getTeamType(location.INDEX);
+	}
+	
+	@Override
+	public boolean isSpace(Location location) {
+		return isSpace(location.INDEX);
+	}
+	@Override
+	public Location getKingLocation(TeamType teamType) {
+		long low = CHESS_MAN_LOW[ChessManType.KING.ordinal()] & TEAM_LOW[teamType.ordinal()];
+		long high = CHESS_MAN_HIGH[ChessManType.KING.ordinal()] & TEAM_HIGH[teamType.ordinal()];
+		
+		if(low != 0)	return Location.instanceAt(Long.numberOfTrailingZeros(low));
+		if(high != 0)	return Location.instanceAt(Long.SIZE + Long.numberOfTrailingZeros(high));
+		return null;
+	}
+	
+	@Override
+	public BitBoardStatus getBitBoardStatus() {
+		return this;
+	}
+	/**
+	 * 해당 번호의 칸에 chessManType, teamType의 장기말이 있는지를 반환하는 매서드
+	 * @param index 칸의 번호
+	 * @param chessManType 장기말
+	 * @param teamType 팀
+	 * @return 해당 칸에 해당 장기말이 있으면 true, 그렇지 않으면 false
+	 */
+	public boolean isChessMan(int index, ChessManType chessManType, TeamType teamType) {
+		return contains(CHESS_MAN_LOW[chessManType.ordinal()] & TEAM_LOW[teamType.ordinal()],
+				CHESS_MAN_HIGH[chessManType.ordinal()] & TEAM_HIGH[teamType.ordinal()], index);
+	}
+	/**
+	 * chessManType 장기말들이 놓인 칸의 집합의 하위 64비트를 반환하는 매서드
+	 * @param chessManType 장기말
+	 * @return 집합의 하위 64비트
+	 */
+	public long getChessManLow(ChessManType chessManType) {
+		return CHESS_MAN_LOW[chessManType.ordinal()];
+	}
+	/**
+	 * chessManType 장기말들이 놓인 칸의 집합의 상위 26비트를 반환하는 매서드
+	 * @param chessManType 장기말
+	 * @return 집합의 상위 26비트
+	 */
+	public long getChessManHigh(ChessManType chessManType) {
+		return CHESS_MAN_HIGH[chessManType.ordinal()];
+	}
+	/**
+	 * teamType 팀의 장기말들이 놓인 칸의 집합의 하위 64비트를 반환하는 매서드
+	 * @param teamType 팀
+	 * @return 집합의 하위 64비트
+	 */
+	public long getTeamLow(TeamType teamType) {
+		return TEAM_LOW[teamType.ordinal()];
+	}
+	/**
+	 * teamType 팀의 장기말들이 놓인 칸의 집합의 상위 26비트를 반환하는 매서드
+	 * @param teamType 팀
+	 * @return 집합의 상위 26비트
+	 */
+	public long getTeamHigh(TeamType teamType) {
+		return TEAM_HIGH[teamType.ordinal()];
+	}
+	/**
+	 * 장기말이 놓인 모든 칸의 집합의 하위 64비트를 반환하는 매서드
+	 * @return 집합의 하위 64비트
+	 */
+	public long getOccupiedLow() {
+		long occupied = 0;
+		for(long team : TEAM_LOW)	occupied |= team;
+		return occupied;
+	}
+	/**
+	 * 장기말이 놓인 모든 칸의 집합의 상위 26비트를 반환하는 매서드
+	 * @return 집합의 상위 26비트
+	 */
+	public long getOccupiedHigh() {
+		long occupied = 0;
+		for(long team : TEAM_HIGH)	occupied |= team;
+		return occupied;
+	}
+}
@@ -0,0 +1,118 @@
+package com.kms.chinesechess.game.data.board;
+
+import com.kms.chinesechess.game.data.ChessManType;
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.support.Location;
+
+/**
+ * 장기판과 이동할 팀을 한 줄의 문자열(FEN과 비슷한 표기)로 읽고 쓰는 클래스
+ * ROW 1부터 ROW 10까지의 각 줄을 '/'로 구분하고, 각 줄은 COL 1부터 장기말의 문자 또는 연속된 빈칸의 수로 적는다.
+ * 장기말의 문자는 왕 K, 사 A, 상 E, 마 H, 차 R, 포 C, 졸 P이며 HOME팀은 대문자, AWAY팀은 소문자이다.
+ * 마지막에 공백과 함께 이동할 팀(HOME h, AWAY a)을 적는다.
+ * 예) 시작 배치: rhea1aehr/4k4/1c5c1/p1p1p1p1p/9/9/P1P1P1P1P/1C5C1/4K4/RHEA1AEHR h
+ * @author Kwon
+ *
+ */
+public class BoardNotation {
+	public static final String CHESS_MAN_LETTERS = "KAEHRCP";	// 장기말의 문자, 이름 등에서 장기말을 적는 순서
+	private static final char HOME_TURN = 'h', AWAY_TURN = 'a';
+	
+	private BoardNotation() {}
+	/**
+	 * 표기를 읽어 장기판에 설정하는 매서드
+	 * @param boardStatus 설정할 장기판
+	 * @param notation 장기판의 표기
+	 * @return 이동할 팀
+	 * @throws IllegalArgumentException 표기의 형식이 잘못된 경우
+	 */
+	public static TeamType setUp(BoardStatus boardStatus, String notation) {
+		String[] fields = notation.trim().split("\\s+");
+		String[] rows = fields[0].split("/");
+		if(fields.length != 2 || rows.length != Location.MAX_ROW)	throw new IllegalArgumentException("Invalid notation: " + notation);
+		
+		for(int index = 0; index < Location.COUNT; index++)	boardStatus.setBoxStatus(Location.instanceAt(index), BoxStatus.SPACE);
+		for(int row = Location.MIN_ROW; row <= Location.MAX_ROW; row++) {
+			int col = Location.MIN_COL;
+			for(char letter : rows[row - Location.MIN_ROW].toCharArray()) {
+				if(Character.isDigit(letter)) {
+					col += letter - '0';
+					continue;
+				}
+				
+				ChessManType chessManType = getChessManType(Character.toUpperCase(letter));
+				if(chessManType == null || col > Location.MAX_COL)	throw new IllegalArgumentException("Invalid notation: " + notation);
+				boardStatus.setBoxStatus(Location.instanceAt(row, col++), chessManType,
+						Character.isUpperCase(letter) ? TeamType.HOME : TeamType.AWAY);
+			}
+			if(col != Location.MAX_COL + 1)	throw new IllegalArgumentException("Invalid notation: " + notation);
+		}
+		
+		if(fields[1].equals(String.valueOf(HOME_TURN)))	return TeamType.HOME;
+		if(fields[1].equals(String.valueOf(AWAY_TURN)))	return TeamType.AWAY;
+		throw new IllegalArgumentException("Invalid notation: " + notation);
+	}
+	/**
+	 * 장기판과 이동할 팀을 표기로 바꾸는 매서드
+	 * @param boardStatus 장기판
+	 * @param teamType 이동할 팀
+	 * @return 장기판의 표기
+	 */
+	public static String toNotation(ReadableBoardStatus boardStatus, TeamType teamType) {
+		StringBuilder notation = new StringBuilder();
+		
+		for(int row = Location.MIN_ROW; row <= Location.MAX_ROW; row++) {
+			if(row > Location.MIN_ROW)	notation.append('/');
+			
+			int spaceCount = 0;
+			for(int col = Location.MIN_COL; col <= Location.MAX_COL; col++) {
+				Location location = Location.instanceAt(row, col);
+				if(boardStatus.isSpace(location)) {
+					spaceCount++;
+					continue;
+				}
+				
+				if(spaceCount > 0)	notation.append(spaceCount);
+				spaceCount = 0;
+				char letter = getLetter(boardStatus.getChessManType(location));
+				notation.append(boardStatus.getTeamType(location) == TeamType.HOME ? letter : Character.toLowerCase(letter));
+			}
+			if(spaceCount > 0)	notation.append(spaceCount);
+		}
+		
+		return notation.append(' ').append(teamType == TeamType.HOME ? HOME_TURN : AWAY_TURN).toString();
+	}
+	/**
+	 * 장기말의 종류를 문자(대문자)로 바꾸는 매서드
+	 * @param chessManType 장기말의 종류
+	 * @return 장기말의 문자
+	 */
+	public static char getLetter(ChessManType chessManType) {
+		switch(chessManType) {
+		case KING :		return 'K';
+		case ADVISER :	return 'A';
+		case ELEPHANT :	return 'E';
+		case HORSE :	return 'H';
+		case CHARIOT :	return 'R';
+		case CANNON :	return 'C';
+		case SOLDIER :	return 'P';
+		default :		throw new IllegalArgumentException("ChessManType: " + chessManType);
+		}
+	}
+	/**
+	 * 문자(대문자)를 장기말의 종류로 바꾸는 매서드
+	 * @param letter 장기말의 문자
+	 * @return 장기말의 종류, 장기말의 문자가 아니면 null
+	 */
+	public static ChessManType getChessManType(char letter) {
+		switch(letter) {
+		case 'K' :	return ChessManType.KING;
+		case 'A' :	return ChessManType.ADVISER;
+		case 'E' :	return ChessManType.ELEPHANT;
+		case 'H' :	return ChessManType.HORSE;
+		case 'R' :	return ChessManType.CHARIOT;
+		case 'C' :	return ChessManType.CANNON;
+		case 'P' :	return ChessManType.SOLDIER;
+		default :	return null;
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package com.kms.chinesechess.game.data.board;
 
+import java.util.Arrays;
+
 import com.kms.chinesechess.game.data.ChessManType;
 import com.kms.chinesechess.game.data.TeamType;
 import com.kms.chinesechess.support.Location;
@@ -9,25 +11,47 @@ import com.kms.chinesechess.support.Location;
  * @author Kwon
  *
  */
-public class BoardStatus {
-	private final BoxStatus[][] BOARD_STATUS = new BoxStatus[Location.MAX_ROW + 1][Location.MAX_COL + 1];
+public class BoardStatus implements ReadableBoardStatus {
+	private final BoxStatus[] BOARD_STATUS = new BoxStatus[Location.COUNT];	// Location.INDEX 순서의 각 칸의 상태
+	private final BitBoardStatus BIT_BOARD_STATUS = new BitBoardStatus();	// BOARD_STATUS와 같은 장기판을 90비트 집합으로 표현, 왕의 위치와 공격 판단에 사용한다.
+	private long zobristKey = 0;	// 칸의 상태가 바뀔 때마다 증분 갱신되는 장기판의 Zobrist 키
+	private int score = 0;			// 칸의 상태가 바뀔 때마다 증분 갱신되는 HOME팀의 입장의 기물 점수와 위치 점수의 합
+	
+	private Location[] madeBefores = new Location[16], madeAfters = new Location[16];	// makeMove로 적용한 이동들, unmakeMove에서 역순으로 되돌린다.
+	private BoxStatus[] capturedBoxStatuses = new BoxStatus[16];	// makeMove로 적용한 이동들에서 잡힌 장기말
+	private int madeMoveCount = 0;
 	
 	public BoardStatus() {
-		for(Location[] locations : Location.values()) {
-			for(Location location : locations) {
-				setBoxStatus(location, BoxStatus.SPACE);
-			}
+		for(int index = 0; index < Location.COUNT; index++) {
+			setBoxStatus(Location.instanceAt(index), BoxStatus.SPACE);
 		}
 	}
 	/**
-	 * copy의 데이터를 본 인스턴스의 데이터로 복사하는 매서드
+	 * copy의 데이터를 본 인스턴스의 데이터로 복사하는 매서드, 이전 장기판에 makeMove로 적용한 이동의 기록은 버린다.
 	 * @param copy 복사하고자 하는 대상
 	 */
 	public void copy(BoardStatus copy) {
-		for(Location[] locations : Location.values()) {
-			for(Location location : locations) {
-				setBoxStatus(location, copy.getBoxStatus(location));
-			}
+		clearMadeMoves();
+		System.arraycopy(copy.BOARD_STATUS, 0, BOARD_STATUS, 0, Location.COUNT);
+		BIT_BOARD_STATUS.copy(copy.BIT_BOARD_STATUS);
+		zobristKey = copy.zobristKey;
+		score = copy.score;
+	}
+	/**
+	 * 다른 방식으로 표현된 장기판의 데이터를 본 인스턴스의 데이터로 복사하는 매서드, 대상이 BoardStatus이면 배열째로 복사한다.
+	 * 이전 장기판에 makeMove로 적용한 이동의 기록은 버린다.
+	 * @param copy 복사하고자 하는 대상
+	 */
+	public void copy(ReadableBoardStatus copy) {
+		if(copy instanceof BoardStatus) {
+			copy((BoardStatus)copy);
+			return;
+		}
+		
+		clearMadeMoves();
+		for(int index = 0; index < Location.COUNT; index++) {
+			if(copy.isSpace(index))	setBoxStatus(Location.instanceAt(index), BoxStatus.SPACE);
+			else	setBoxStatus(Location.instanceAt(index), copy.getChessManType(index), copy.getTeamType(index));
 		}
 	}
 	/**
@@ -45,7 +69,10 @@ public class BoardStatus {
 	 * @param boxStatus 대입하고자하는 BoxStatus
 	 */
 	public void setBoxStatus(Location location, BoxStatus boxStatus) {
-		BOARD_STATUS[location.ROW][location.COL] = boxStatus;
+		zobristKey ^= ZobristKeys.getKey(BOARD_STATUS[location.INDEX], location.INDEX) ^ ZobristKeys.getKey(boxStatus, location.INDEX);
+		score += PieceSquareTables.getScore(boxStatus, location.INDEX) - PieceSquareTables.getScore(BOARD_STATUS[location.INDEX], location.INDEX);
+		BOARD_STATUS[location.INDEX] = boxStatus;
+		BIT_BOARD_STATUS.setBoxStatus(location, boxStatus);
 	}
 	/**
 	 * before의 위치에 있는 BoxStatus를 after위치로 옮기는 매서드, before 위치에는 BoxStatus.SPACE가 들어간다.
@@ -57,8 +84,57 @@ public class BoardStatus {
 		setBoxStatus(before, BoxStatus.SPACE);
 	}
 	
+	/**
+	 * before 위치의 장기말을 after 위치로 옮기고 되돌리기 위한 기록(이동 위치, 잡힌 장기말)을 남기는 매서드
+	 * 장기판을 복사하지 않고 예상 이동을 적용한 후 unmakeMove()로 원래대로 되돌릴 때 사용한다.
+	 * @param before 이동 전의 위치
+	 * @param after 이동 후의 위치
+	 */
+	public void makeMove(Location before, Location after) {
+		if(madeMoveCount == madeBefores.length) {
+			madeBefores = Arrays.copyOf(madeBefores, madeMoveCount * 2);
+			madeAfters = Arrays.copyOf(madeAfters, madeMoveCount * 2);
+			capturedBoxStatuses = Arrays.copyOf(capturedBoxStatuses, madeMoveCount * 2);
+		}
+		
+		madeBefores[madeMoveCount] = before;
+		madeAfters[madeMoveCount] = after;
+		capturedBoxStatuses[madeMoveCount] = getBoxStatus(after);
+		madeMoveCount++;
+		
+		moveBoxStatus(before, after);
+	}
+	/**
+	 * 마지막으로 makeMove로 적용한 이동을 되돌리는 매서드, 잡혔던 장기말은 원래 위치로 복원된다.
+	 */
+	public void unmakeMove() {
+		madeMoveCount--;
+		
+		setBoxStatus(madeBefores[madeMoveCount], getBoxStatus(madeAfters[madeMoveCount]));
+		setBoxStatus(madeAfters[madeMoveCount], capturedBoxStatuses[madeMoveCount]);
+		
+		madeBefores[madeMoveCount] = madeAfters[madeMoveCount] = null;
+		capturedBoxStatuses[madeMoveCount] = null;
+	}
+	/**
+	 * makeMove로 적용한 이동의 기록을 버리는 매서드, 장기판을 복사하여 다시 사용할 때 이전 장기판의 이동이 되돌려지지 않게 한다.
+	 */
+	private void clearMadeMoves() {
+		for(; madeMoveCount > 0; madeMoveCount--) {
+			madeBefores[madeMoveCount - 1] = madeAfters[madeMoveCount - 1] = null;
+			capturedBoxStatuses[madeMoveCount - 1] = null;
+		}
+	}
+	/**
+	 * makeMove로 적용된 후 아직 되돌리지 않은 이동의 수를 반환하는 매서드
+	 * @return 되돌릴 수 있는 이동의 수
+	 */
+	public int getMadeMoveCount() {
+		return madeMoveCount;
+	}
+	
 	private BoxStatus getBoxStatus(Location location) {
-		return BOARD_STATUS[location.ROW][location.COL];
+		return BOARD_STATUS[location.INDEX];
 	}
 	/**
 	 * 해당 위치의 BoxStatus의 ChessManType을 반환하는 매서드
@@ -76,6 +152,59 @@ public class BoardStatus {
 	public TeamType getTeamType(Location location) {
 		return getBoxStatus(location).TEAM_TYPE;
 	}
+	/**
+	 * 해당 INDEX의 위치의 BoxStatus의 ChessManType을 반환하는 매서드
+	 * @param index 원하는 위치의 Location.INDEX
+	 * @return 해당 위치의 ChessManType
+	 */
+	public ChessManType getChessManType(int index) {
+		return BOARD_STATUS[index].CHESS_MAN_TYPE;
+	}
+	/**
+	 * 해당 INDEX의 위치의 BoxStatus의 TeamType을 반환하는 매서드
+	 * @param index 원하는 위치의 Location.INDEX
+	 * @return 해당 위치의 TeamType
+	 */
+	public TeamType getTeamType(int index) {
+		return BOARD_STATUS[index].TEAM_TYPE;
+	}
+	/**
+	 * 해당 INDEX의 위치의 BoxStatus가 SPACE인지 판단하는 매서드
+	 * @param index 확인할 위치의 Location.INDEX
+	 * @return 해당 위치의 BoxStatus가 SPACE면 true, 그렇지 않다면 false
+	 */
+	public boolean isSpace(int index) {
+		return BOARD_STATUS[index] == BoxStatus.SPACE;
+	}
+	/**
+	 * 해당 팀의 왕의 위치를 반환하는 매서드, 장기판을 탐색하지 않고 증분 갱신되는 90비트 집합에서 바로 찾는다.
+	 * @param teamType 조회하고자하는 팀
+	 * @return teamType팀의 왕의 위치, 왕이 없으면 null
+	 */
+	public Location getKingLocation(TeamType teamType) {
+		return BIT_BOARD_STATUS.getKingLocation(teamType);
+	}
+	/**
+	 * 장기판의 점수를 반환하는 매서드, 칸마다 계산하지 않고 증분 갱신된 값을 반환한다.
+	 * @return HOME팀의 입장에서 모든 장기말의 PieceSquareTables 점수의 합, AWAY팀의 입장은 부호를 바꾼다.
+	 */
+	public int getScore() {
+		return score;
+	}
+	/**
+	 * 장기판의 Zobrist 키를 반환하는 매서드, 이동할 차례는 포함하지 않으므로 필요하면 ZobristKeys.getTurnKey를 XOR한다.
+	 * @return 장기말들의 배치에 대한 64비트 키
+	 */
+	public long getZobristKey() {
+		return zobristKey;
+	}
+	/**
+	 * 본 장기판과 항상 같은 상태로 유지되는 90비트 집합 표현을 반환하는 매서드, 반환된 인스턴스의 변경은 불허한다.
+	 * @return 90비트 집합으로 표현된 장기판
+	 */
+	public BitBoardStatus getBitBoardStatus() {
+		return BIT_BOARD_STATUS;
+	}
 	/**
 	 * 해당 위치의 BoxStatus가 SPACE인지 판단하는 매서드
 	 * @param location 확인할 위치
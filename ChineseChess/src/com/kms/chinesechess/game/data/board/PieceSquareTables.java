@@ -0,0 +1,146 @@
+package com.kms.chinesechess.game.data.board;
+
+import com.kms.chinesechess.game.data.ChessManType;
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.support.Location;
+
+/**
+ * 장기말의 기물 점수와 칸마다의 위치 점수를 제공하는 클래스
+ * 점수는 HOME팀 장기말이면 양수, AWAY팀 장기말이면 음수이므로 장기판의 점수는 모든 칸의 점수의 합(HOME팀의 입장)이며,
+ * 칸의 상태가 바뀔 때 이전 상태의 점수를 빼고 새 상태의 점수를 더하는 것만으로 갱신된다.
+ * 위치 점수는 HOME팀의 입장(ROW 1이 상대 진영)으로 적혀있고, AWAY팀은 상하좌우 반전시킨 위치(Location.getAwayLocation())의 점수를 사용한다.
+ * @author Kwon
+ *
+ */
+public class PieceSquareTables {
+	private static final int TEAM_TYPE_COUNT = TeamType.values().length;
+	private static final int[] VALUES = new int[ChessManType.values().length];	// 기물 점수(차 13, 포 7, 마 5, 상 3, 사 3, 졸 2점의 100배)
+	private static final int[][] POSITIONS = new int[ChessManType.values().length][];	// HOME팀의 입장의 위치 점수, Location.INDEX 순서
+	
+	private static final int[][] SCORES = new int[ChessManType.values().length * TEAM_TYPE_COUNT][Location.COUNT];	// 기물 점수 + 위치 점수, AWAY팀은 음수
+	static {
+		VALUES[ChessManType.KING.ordinal()] = 0;
+		VALUES[ChessManType.CHARIOT.ordinal()] = 1300;
+		VALUES[ChessManType.CANNON.ordinal()] = 700;
+		VALUES[ChessManType.HORSE.ordinal()] = 500;
+		VALUES[ChessManType.ELEPHANT.ordinal()] = 300;
+		VALUES[ChessManType.ADVISER.ordinal()] = 300;
+		VALUES[ChessManType.SOLDIER.ordinal()] = 200;
+		
+		POSITIONS[ChessManType.KING.ordinal()] = new int[] {
+			  0,   0,   0,   0,   0,   0,   0,   0,   0,
+			  0,   0,   0,   0,   0,   0,   0,   0,   0,
+			  0,   0,   0,   0,   0,   0,   0,   0,   0,
+			  0,   0,   0,   0,   0,   0,   0,   0,   0,
+			  0,   0,   0,   0,   0,   0,   0,   0,   0,
+			  0,   0,   0,   0,   0,   0,   0,   0,   0,
+			  0,   0,   0,   0,   0,   0,   0,   0,   0,
+			  0,   0,   0, -10, -15, -10,   0,   0,   0,
+			  0,   0,   0,   5,  10,   5,   0,   0,   0,
+			  0,   0,   0,   0,   5,   0,   0,   0,   0 };
+		POSITIONS[ChessManType.ADVISER.ordinal()] = new int[] {
+			  0,   0,   0,   0,   0,   0,   0,   0,   0,
+			  0,   0,   0,   0,   0,   0,   0,   0,   0,
+			  0,   0,   0,   0,   0,   0,   0,   0,   0,
+			  0,   0,   0,   0,   0,   0,   0,   0,   0,
+			  0,   0,   0,   0,   0,   0,   0,   0,   0,
+			  0,   0,   0,   0,   0,   0,   0,   0,   0,
+			  0,   0,   0,   0,   0,   0,   0,   0,   0,
+			  0,   0,   0,  -5,   0,  -5,   0,   0,   0,
+			  0,   0,   0,   0,  10,   0,   0,   0,   0,
+			  0,   0,   0,   5,   0,   5,   0,   0,   0 };
+		POSITIONS[ChessManType.ELEPHANT.ordinal()] = new int[] {
+			  0,   0,   5,   5,   5,   5,   5,   0,   0,
+			  0,   5,  10,  10,  10,  10,  10,   5,   0,
+			  0,   5,  10,  15,  15,  15,  10,   5,   0,
+			  0,   5,  10,  15,  15,  15,  10,   5,   0,
+			  0,   5,  10,  15,  15,  15,  10,   5,   0,
+			  0,   5,  10,  15,  15,  15,  10,   5,   0,
+			  0,   5,  10,  10,  15,  10,  10,   5,   0,
+			  0,   0,   5,  10,  10,  10,   5,   0,   0,
+			  0,   0,   5,   5,   5,   5,   5,   0,   0,
+			-10,  -5,   0,   0,   0,   0,   0,  -5, -10 };
+		POSITIONS[ChessManType.HORSE.ordinal()] = new int[] {
+			  0,   5,  10,  10,  10,  10,  10,   5,   0,
+			  5,  10,  20,  25,  25,  25,  20,  10,   5,
+			  5,  15,  25,  30,  30,  30,  25,  15,   5,
+			  5,  15,  20,  25,  25,  25,  20,  15,   5,
+			  0,  10,  15,  20,  20,  20,  15,  10,   0,
+			  0,  10,  15,  20,  20,  20,  15,  10,   0,
+			  0,   5,  10,  15,  15,  15,  10,   5,   0,
+			  0,   0,   5,  10,  10,  10,   5,   0,   0,
+			 -5,   0,   0,   5,   0,   5,   0,   0,  -5,
+			-15, -10,  -5,  -5,  -5,  -5,  -5, -10, -15 };
+		POSITIONS[ChessManType.CHARIOT.ordinal()] = new int[] {
+			 10,  10,  10,  15,  15,  15,  10,  10,  10,
+			 15,  20,  20,  25,  25,  25,  20,  20,  15,
+			 10,  15,  15,  20,  20,  20,  15,  15,  10,
+			  5,  10,  10,  15,  15,  15,  10,  10,   5,
+			  5,  10,  10,  15,  15,  15,  10,  10,   5,
+			  0,   5,   5,  10,  10,  10,   5,   5,   0,
+			  0,   5,   5,  10,  10,  10,   5,   5,   0,
+			  0,   0,   5,   5,   5,   5,   5,   0,   0,
+			 -5,   0,   0,   0,   0,   0,   0,   0,  -5,
+			 -5,   0,   0,   5,   0,   5,   0,   0,  -5 };
+		POSITIONS[ChessManType.CANNON.ordinal()] = new int[] {
+			  0,   0,   5,  10,  10,  10,   5,   0,   0,
+			  0,   5,   5,  10,  15,  10,   5,   5,   0,
+			  0,   5,   5,  10,  10,  10,   5,   5,   0,
+			  0,   0,   5,   5,   5,   5,   5,   0,   0,
+			  0,   0,   0,   5,   5,   5,   0,   0,   0,
+			  0,   0,   0,   5,   5,   5,   0,   0,   0,
+			  0,   0,   0,   5,   5,   5,   0,   0,   0,
+			  0,   5,   5,  10,  15,  10,   5,   5,   0,
+			  0,   0,   5,  10,  10,  10,   5,   0,   0,
+			  0,   0,   0,   5,   5,   5,   0,   0,   0 };
+		POSITIONS[ChessManType.SOLDIER.ordinal()] = new int[] {
+			  5,   5,  10,  20,  30,  20,  10,   5,   5,
+			 10,  15,  25,  35,  40,  35,  25,  15,  10,
+			 10,  15,  25,  30,  35,  30,  25,  15,  10,
+			 10,  15,  20,  25,  25,  25,  20,  15,  10,
+			  5,  10,  15,  15,  15,  15,  15,  10,   5,
+			  0,   5,   5,  10,  10,  10,   5,   5,   0,
+			  0,   0,   0,   0,   5,   0,   0,   0,   0,
+			  0,   0,   0,   0,   0,   0,   0,   0,   0,
+			  0,   0,   0,   0,   0,   0,   0,   0,   0,
+			  0,   0,   0,   0,   0,   0,   0,   0,   0 };
+		
+		for(ChessManType chessManType : ChessManType.values()) {
+			for(int index = 0; index < Location.COUNT; index++) {
+				int awayIndex = Location.instanceAt(index).getAwayLocation().INDEX;
+				SCORES[chessManType.ordinal() * TEAM_TYPE_COUNT + TeamType.HOME.ordinal()][index] = VALUES[chessManType.ordinal()] + POSITIONS[chessManType.ordinal()][index];
+				SCORES[chessManType.ordinal() * TEAM_TYPE_COUNT + TeamType.AWAY.ordinal()][index] = -(VALUES[chessManType.ordinal()] + POSITIONS[chessManType.ordinal()][awayIndex]);
+			}
+		}
+	}
+	
+	private PieceSquareTables() {}
+	/**
+	 * 장기말의 기물 점수를 반환하는 매서드
+	 * @param chessManType 장기말
+	 * @return 기물 점수, 왕은 잡히지 않으므로 0
+	 */
+	public static int getValue(ChessManType chessManType) {
+		return VALUES[chessManType.ordinal()];
+	}
+	/**
+	 * 해당 칸에 놓인 장기말의 기물 점수와 위치 점수의 합을 HOME팀의 입장에서 반환하는 매서드
+	 * @param chessManType 장기말
+	 * @param teamType 장기말의 팀
+	 * @param index 칸의 Location.INDEX
+	 * @return HOME팀의 장기말이면 양수, AWAY팀의 장기말이면 음수의 점수
+	 */
+	public static int getScore(ChessManType chessManType, TeamType teamType, int index) {
+		return SCORES[chessManType.ordinal() * TEAM_TYPE_COUNT + teamType.ordinal()][index];
+	}
+	/**
+	 * 해당 칸의 상태의 점수를 HOME팀의 입장에서 반환하는 매서드
+	 * @param boxStatus 칸의 상태
+	 * @param index 칸의 Location.INDEX
+	 * @return 빈칸이면 0, 그렇지 않으면 장기말의 점수
+	 */
+	public static int getScore(BoxStatus boxStatus, int index) {
+		if(boxStatus == null || boxStatus == BoxStatus.SPACE)	return 0;
+		return getScore(boxStatus.CHESS_MAN_TYPE, boxStatus.TEAM_TYPE, index);
+	}
+}
@@ -0,0 +1,61 @@
+package com.kms.chinesechess.game.data.board;
+
+import com.kms.chinesechess.game.data.ChessManType;
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.support.Location;
+
+/**
+ * 위치 정보를 이용하여 장기판 위의 각 칸의 정보를 읽을 수 있는 인터페이스
+ * 이동 경로를 계산하는 클래스들은 장기판의 표현 방식과 관계없이 본 인터페이스를 통해서 장기판을 읽는다.
+ * @author Kwon
+ *
+ */
+public interface ReadableBoardStatus {
+	/**
+	 * 해당 위치의 장기말의 ChessManType을 반환하는 매서드
+	 * @param location 원하는 위치
+	 * @return location 위치의 ChessManType, 빈칸이면 null
+	 */
+	ChessManType getChessManType(Location location);
+	/**
+	 * 해당 위치의 장기말의 TeamType을 반환하는 매서드
+	 * @param location 원하는 위치
+	 * @return location 위치의 TeamType, 빈칸이면 null
+	 */
+	TeamType getTeamType(Location location);
+	/**
+	 * 해당 위치가 빈칸인지 판단하는 매서드
+	 * @param location 확인할 위치
+	 * @return location 위치가 빈칸이면 true, 그렇지 않다면 false
+	 */
+	boolean isSpace(Location location);
+	/**
+	 * 해당 INDEX의 위치의 장기말의 ChessManType을 반환하는 매서드
+	 * @param index 원하는 위치의 Location.INDEX
+	 * @return 해당 위치의 ChessManType, 빈칸이면 null
+	 */
+	ChessManType getChessManType(int index);
+	/**
+	 * 해당 INDEX의 위치의 장기말의 TeamType을 반환하는 매서드
+	 * @param index 원하는 위치의 Location.INDEX
+	 * @return 해당 위치의 TeamType, 빈칸이면 null
+	 */
+	TeamType getTeamType(int index);
+	/**
+	 * 해당 INDEX의 위치가 빈칸인지 판단하는 매서드
+	 * @param index 확인할 위치의 Location.INDEX
+	 * @return 해당 위치가 빈칸이면 true, 그렇지 않다면 false
+	 */
+	boolean isSpace(int index);
+	/**
+	 * 해당 팀의 왕의 위치를 반환하는 매서드
+	 * @param teamType 조회하고자하는 팀
+	 * @return teamType팀의 왕의 위치, 왕이 없으면 null
+	 */
+	Location getKingLocation(TeamType teamType);
+	/**
+	 * 장기판을 90비트 집합으로 표현한 BitBoardStatus를 반환하는 매서드, 공격 판단 등의 마스크 연산에 사용한다.
+	 * @return 90비트 집합으로 표현된 장기판
+	 */
+	BitBoardStatus getBitBoardStatus();
+}
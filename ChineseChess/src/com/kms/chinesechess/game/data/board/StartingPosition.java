@@ -0,0 +1,43 @@
+package com.kms.chinesechess.game.data.board;
+
+import com.kms.chinesechess.game.data.ChessManType;
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.support.Location;
+
+/**
+ * 장기의 시작 배치를 장기판에 설정하는 클래스
+ * HOME팀은 장기판의 아래쪽(ROW 7 ~ 10)에, AWAY팀은 HOME팀을 뒤집은 위치(Location.getAwayLocation())에 놓인다.
+ * 마, 상은 차 안쪽에 마상상마의 순서로 놓는다.
+ * @author Kwon
+ *
+ */
+public class StartingPosition {
+	private static final ChessManType[] BACK_ROW = {
+			ChessManType.CHARIOT, ChessManType.HORSE, ChessManType.ELEPHANT, ChessManType.ADVISER, null,
+			ChessManType.ADVISER, ChessManType.ELEPHANT, ChessManType.HORSE, ChessManType.CHARIOT };
+	private static final int[] CANNON_COLS = { 2, 8 };
+	private static final int[] SOLDIER_COLS = { 1, 3, 5, 7, 9 };
+	
+	private StartingPosition() {}
+	/**
+	 * 장기판을 비운 후 시작 배치를 설정하는 매서드
+	 * @param boardStatus 설정할 장기판
+	 */
+	public static void setUp(BoardStatus boardStatus) {
+		for(int index = 0; index < Location.COUNT; index++)	boardStatus.setBoxStatus(Location.instanceAt(index), BoxStatus.SPACE);
+		
+		for(int col = Location.MIN_COL; col <= Location.MAX_COL; col++) {
+			if(BACK_ROW[col - Location.MIN_COL] != null)	setChessMan(boardStatus, Location.instanceAt(Location.MAX_ROW, col), BACK_ROW[col - Location.MIN_COL]);
+		}
+		setChessMan(boardStatus, Location.instanceAt(Location.MAX_ROW - 1, Location.MAX_COL / 2 + 1), ChessManType.KING);
+		for(int col : CANNON_COLS)	setChessMan(boardStatus, Location.instanceAt(Location.MAX_ROW - 2, col), ChessManType.CANNON);
+		for(int col : SOLDIER_COLS)	setChessMan(boardStatus, Location.instanceAt(Location.MAX_ROW - 3, col), ChessManType.SOLDIER);
+	}
+	/**
+	 * HOME팀의 위치에 HOME팀의 장기말을, 그 위치를 뒤집은 위치에 AWAY팀의 장기말을 놓는 매서드
+	 */
+	private static void setChessMan(BoardStatus boardStatus, Location homeLocation, ChessManType chessManType) {
+		boardStatus.setBoxStatus(homeLocation, chessManType, TeamType.HOME);
+		boardStatus.setBoxStatus(homeLocation.getAwayLocation(), chessManType, TeamType.AWAY);
+	}
+}
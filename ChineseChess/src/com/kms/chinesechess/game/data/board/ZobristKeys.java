@@ -0,0 +1,61 @@
+package com.kms.chinesechess.game.data.board;
+
+import java.util.Random;
+
+import com.kms.chinesechess.game.data.ChessManType;
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.support.Location;
+
+/**
+ * 장기판의 64비트 Zobrist 키를 만드는 난수들을 제공하는 클래스
+ * 장기판의 키는 각 칸에 놓인 장기말(ChessManType, TeamType)과 칸의 번호에 해당하는 난수들을 XOR한 값이므로,
+ * 칸의 상태가 바뀔 때 이전 상태와 새 상태의 난수를 XOR하는 것만으로 갱신된다.
+ * 난수는 고정된 씨앗값으로 만들어지므로 실행할 때마다 같은 장기판은 같은 키를 갖는다.
+ * @author Kwon
+ *
+ */
+public class ZobristKeys {
+	private static final long SEED = 0x4A414E474749L;
+	private static final int TEAM_TYPE_COUNT = TeamType.values().length;
+	
+	private static final long[][] KEYS = new long[ChessManType.values().length * TEAM_TYPE_COUNT][Location.COUNT];
+	private static final long AWAY_TURN_KEY;	// AWAY팀이 이동할 차례일 때 장기판의 키에 XOR하는 난수
+	
+	static {
+		Random random = new Random(SEED);
+		for(long[] keys : KEYS) {
+			for(int index = 0; index < Location.COUNT; index++)	keys[index] = random.nextLong();
+		}
+		AWAY_TURN_KEY = random.nextLong();
+	}
+	
+	private ZobristKeys() {}
+	/**
+	 * 해당 칸에 놓인 장기말의 난수를 반환하는 매서드
+	 * @param chessManType 장기말
+	 * @param teamType 장기말의 팀
+	 * @param index 칸의 Location.INDEX
+	 * @return 난수
+	 */
+	public static long getKey(ChessManType chessManType, TeamType teamType, int index) {
+		return KEYS[chessManType.ordinal() * TEAM_TYPE_COUNT + teamType.ordinal()][index];
+	}
+	/**
+	 * 해당 칸의 상태의 난수를 반환하는 매서드
+	 * @param boxStatus 칸의 상태
+	 * @param index 칸의 Location.INDEX
+	 * @return 빈칸이면 0, 그렇지 않으면 장기말의 난수
+	 */
+	public static long getKey(BoxStatus boxStatus, int index) {
+		if(boxStatus == null || boxStatus == BoxStatus.SPACE)	return 0;
+		return getKey(boxStatus.CHESS_MAN_TYPE, boxStatus.TEAM_TYPE, index);
+	}
+	/**
+	 * 이동할 차례의 난수를 반환하는 매서드, 같은 장기판이라도 이동할 팀이 다르면 다른 키를 갖도록 장기판의 키에 XOR한다.
+	 * @param teamType 이동할 팀
+	 * @return HOME팀이면 0, AWAY팀이면 AWAY_TURN_KEY
+	 */
+	public static long getTurnKey(TeamType teamType) {
+		return teamType == TeamType.AWAY ? AWAY_TURN_KEY : 0;
+	}
+}
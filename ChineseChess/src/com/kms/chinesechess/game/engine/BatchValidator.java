@@ -0,0 +1,78 @@
+package com.kms.chinesechess.game.engine;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.kms.chinesechess.game.chess_men_paths.MoveValidator;
+import com.kms.chinesechess.game.chess_men_paths.ValidationResult;
+import com.kms.chinesechess.game.data.board.BoardStatus;
+
+/**
+ * 여러 대국에서 한꺼번에 제출된 이동들을 ForkJoinPool에서 나누어 검증하는 클래스
+ * 요청들을 THRESHOLD개 이하의 구간으로 나누어 병렬로 검증하며, 스레드마다 MoveValidator(장기판의 복사본과 이동 목록)를 한번만 생성하여 모든 요청에 재사용한다.
+ * 요청마다 setPaths()로 모든 장기말의 경로를 계산하지 않고 이동하는 장기말의 이동과 양 팀의 왕의 공격 여부만 확인한다.
+ * @author Kwon
+ *
+ */
+public class BatchValidator {
+	private static final int THRESHOLD = 64;	// 한 작업이 나누지 않고 검증할 요청의 최대 수
+	
+	private final ForkJoinPool FORK_JOIN_POOL;
+	private final ThreadLocal<MoveValidator> MOVE_VALIDATORS = ThreadLocal.withInitial(MoveValidator::new);
+	
+	public BatchValidator() {
+		this(ForkJoinPool.commonPool());
+	}
+	/**
+	 * @param forkJoinPool 검증에 사용할 ForkJoinPool
+	 */
+	public BatchValidator(ForkJoinPool forkJoinPool) {
+		this.FORK_JOIN_POOL = forkJoinPool;
+	}
+	/**
+	 * (장기판, 이동) 쌍들을 검증하는 매서드, 이동하는 팀은 출발 위치의 장기말의 팀이다.
+	 * @param boardStatuses 장기판들, 검증이 끝날 때까지 변경하면 안된다. 같은 장기판이 여러 번 나와도 된다.
+	 * @param moves boardStatuses와 같은 순서의 부호화된 이동들
+	 * @return 같은 순서의 검증 결과들
+	 */
+	public ValidationResult[] validate(BoardStatus[] boardStatuses, int[] moves) {
+		if(boardStatuses.length != moves.length)	throw new IllegalArgumentException("Boards: " + boardStatuses.length + ", Moves: " + moves.length);
+		
+		ValidationResult[] results = new ValidationResult[moves.length];
+		FORK_JOIN_POOL.invoke(new ValidationTask(boardStatuses, moves, results, 0, moves.length));
+		return results;
+	}
+	/**
+	 * [start, end) 구간의 요청들을 검증하는 작업, 구간이 THRESHOLD보다 크면 반으로 나눈다.
+	 * @author Kwon
+	 *
+	 */
+	private class ValidationTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		
+		private final BoardStatus[] BOARD_STATUSES;
+		private final int[] MOVES;
+		private final ValidationResult[] RESULTS;
+		private final int START, END;
+		
+		private ValidationTask(BoardStatus[] boardStatuses, int[] moves, ValidationResult[] results, int start, int end) {
+			this.BOARD_STATUSES = boardStatuses;
+			this.MOVES = moves;
+			this.RESULTS = results;
+			this.START = start;
+			this.END = end;
+		}
+		
+		@Override
+		protected void compute() {
+			if(END - START > THRESHOLD) {
+				int middle = (START + END) >>> 1;
+				invokeAll(new ValidationTask(BOARD_STATUSES, MOVES, RESULTS, START, middle), new ValidationTask(BOARD_STATUSES, MOVES, RESULTS, middle, END));
+				return;
+			}
+			
+			MoveValidator moveValidator = MOVE_VALIDATORS.get();
+			for(int index = START; index < END; index++)	RESULTS[index] = moveValidator.validate(BOARD_STATUSES[index], MOVES[index]);
+		}
+	}
+}
@@ -0,0 +1,260 @@
+package com.kms.chinesechess.game.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.kms.chinesechess.game.chess_men_paths.PathMasks;
+import com.kms.chinesechess.game.data.Move;
+import com.kms.chinesechess.game.data.ResultType;
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.game.data.board.BoardNotation;
+import com.kms.chinesechess.game.data.board.StartingPosition;
+import com.kms.chinesechess.game.data.board.ZobristKeys;
+import com.kms.chinesechess.game.search.Evaluator;
+import com.kms.chinesechess.game.search.SearchEngine;
+import com.kms.chinesechess.game.search.SearchResult;
+import com.kms.chinesechess.support.Location;
+
+/**
+ * 화면 없이 한 대국을 진행하는 클래스
+ * BoardStatus와 ChessMenPaths로 이동의 합법성을 판단하고, 이동이 적용될 때마다 이동 경로를 증분 갱신한 후 대국의 진행 상태를 판단한다.
+ * 차례인 팀이 이동할 수 없거나, 빅장(왕끼리 마주봄)을 부른 후 상대가 피하지 않았거나, 같은 장기판이 같은 차례로 REPETITION_LIMIT번 나오면 대국이 끝난다.
+ * 빅장은 왕들의 위치와 마스크로, 반복은 PositionHistory의 장기판의 키로 판단하므로 장기판을 비교하거나 이동을 다시 적용하지 않는다.
+ * 매서드들은 synchronized이므로 여러 스레드에서 한 대국에 이동을 제출해도 된다.
+ * @author Kwon
+ *
+ */
+public class Game {
+	private static final int REPETITION_LIMIT = 3;	// 같은 장기판이 나오면 무승부가 되는 횟수
+	
+	public final long ID;
+	public final long START_TIME = System.currentTimeMillis();	// 대국이 생성된 시각
+	
+	private GameState gameState;	// 장기판, 이동 경로, 이동 기록, GameEngine에서 제거되면 풀로 돌려보내고 null이 된다.
+	private TeamType turnTeamType;
+	private GameStatus gameStatus = GameStatus.PLAYING;
+	private long endTime = 0;	// 대국이 끝난 시각, 진행 중이면 0
+	private boolean kingsFacing = false;	// 마지막 이동 후 왕들이 마주보고 있는지(빅장)
+	/**
+	 * 시작 배치에서 HOME팀의 차례로 시작하는 대국을 생성하는 생성자
+	 * @param id 대국의 식별자
+	 */
+	public Game(long id) {
+		this(id, new GameState(), null);
+	}
+	/**
+	 * BoardNotation의 표기로 주어진 장기판에서 시작하는 대국을 생성하는 생성자
+	 * @param id 대국의 식별자
+	 * @param notation 장기판과 이동할 팀의 표기
+	 * @throws IllegalArgumentException 표기의 형식이 잘못된 경우
+	 */
+	public Game(long id, String notation) {
+		this(id, new GameState(), notation);
+	}
+	/**
+	 * GameStatePool에서 받은 GameState로 대국을 생성하는 생성자
+	 * @param id 대국의 식별자
+	 * @param gameState 이동 기록이 비워진 GameState
+	 * @param notation 장기판과 이동할 팀의 표기, null이면 시작 배치에서 HOME팀의 차례로 시작한다.
+	 * @throws IllegalArgumentException 표기의 형식이 잘못된 경우
+	 */
+	Game(long id, GameState gameState, String notation) {
+		this.ID = id;
+		this.gameState = gameState;
+		
+		if(notation == null) {
+			StartingPosition.setUp(gameState.BOARD_STATUS);
+			turnTeamType = TeamType.HOME;
+		} else {
+			turnTeamType = BoardNotation.setUp(gameState.BOARD_STATUS, notation);
+		}
+		
+		gameState.CHESS_MEN_PATHS.setPaths();
+		updateGameStatus();
+	}
+	/**
+	 * 이동을 제출하는 매서드, 합법적인 이동이면 적용하고 차례를 넘긴다.
+	 * @param teamType 이동하는 팀
+	 * @param before 이동 전의 위치
+	 * @param after 이동 후의 위치
+	 * @return 이동의 처리 결과
+	 */
+	public synchronized MoveResult submitMove(TeamType teamType, Location before, Location after) {
+		GameState gameState = getGameState();
+		if(gameStatus != GameStatus.PLAYING)	return MoveResult.GAME_OVER;
+		if(teamType != turnTeamType)	return MoveResult.NOT_YOUR_TURN;
+		if(gameState.BOARD_STATUS.isSpace(before) || gameState.BOARD_STATUS.getTeamType(before) != teamType)	return MoveResult.ILLEGAL_MOVE;
+		if(!gameState.CHESS_MEN_PATHS.getMovablePaths(before).contains(after))	return MoveResult.ILLEGAL_MOVE;
+		
+		boolean isCapture = !gameState.BOARD_STATUS.isSpace(after);
+		gameState.addHistory(Move.encode(before.INDEX, after.INDEX));
+		gameState.BOARD_STATUS.moveBoxStatus(before, after);
+		gameState.CHESS_MEN_PATHS.setPaths(before, after);
+		if(isCapture)	gameState.POSITION_HISTORY.clear();	// 잡힌 장기말이 있는 장기판은 다시 나올 수 없다.
+		turnTeamType = getPartnerTeamType(turnTeamType);
+		updateGameStatus();
+		
+		return MoveResult.ACCEPTED;
+	}
+	/**
+	 * 기권하는 매서드, 진행 중인 대국이면 상대 팀의 승리로 끝난다.
+	 * @param teamType 기권하는 팀
+	 */
+	public synchronized void resign(TeamType teamType) {
+		if(gameStatus == GameStatus.PLAYING)	end(getWinStatus(getPartnerTeamType(teamType)));
+	}
+	/**
+	 * source 위치의 장기말이 이동할 수 있는 위치들을 반환하는 매서드
+	 * @param source 장기말의 위치
+	 * @return 이동할 수 있는 위치들의 복사본, 대국이 끝났으면 빈 리스트
+	 */
+	public synchronized List<Location> getLegalMoves(Location source) {
+		if(gameStatus != GameStatus.PLAYING)	return new ArrayList<>();
+		
+		return new ArrayList<>(getGameState().CHESS_MEN_PATHS.getMovablePaths(source));
+	}
+	/**
+	 * 차례인 팀의 모든 합법적인 이동을 Move로 부호화하여 moves에 담는 매서드
+	 * @param moves 부호화된 이동을 담을 배열, MoveGenerator.MAX_MOVE_COUNT 이상의 크기여야 한다.
+	 * @return moves에 담은 이동의 수, 대국이 끝났으면 0
+	 */
+	public synchronized int getLegalMoves(int[] moves) {
+		if(gameStatus != GameStatus.PLAYING)	return 0;
+		
+		return getGameState().CHESS_MEN_PATHS.getAllMoves(turnTeamType, moves);
+	}
+	
+	public synchronized TeamType getTurnTeamType() {
+		return turnTeamType;
+	}
+	
+	public synchronized GameStatus getGameStatus() {
+		return gameStatus;
+	}
+	
+	/**
+	 * 대국이 끝난 시각을 반환하는 매서드
+	 * @return System.currentTimeMillis() 기준의 시각, 대국이 진행 중이면 0
+	 */
+	public synchronized long getEndTime() {
+		return endTime;
+	}
+	/**
+	 * 해당 팀의 입장에서의 대국의 결과를 반환하는 매서드
+	 * @param teamType 결과를 조회할 팀
+	 * @return 승, 무, 패, 대국이 진행 중이면 null
+	 */
+	public synchronized ResultType getResult(TeamType teamType) {
+		switch(gameStatus) {
+		case HOME_WIN :
+			return teamType == TeamType.HOME ? ResultType.WIN : ResultType.LOSE;
+		case AWAY_WIN :
+			return teamType == TeamType.AWAY ? ResultType.WIN : ResultType.LOSE;
+		case DRAW :
+			return ResultType.DRAW;
+		default :
+			return null;
+		}
+	}
+	
+	public synchronized boolean isChecked() {
+		return getGameState().CHESS_MEN_PATHS.isChecked(turnTeamType);
+	}
+	/**
+	 * 양 팀의 왕이 사이에 장기말 없이 마주보고 있는지(빅장)를 반환하는 매서드, 차례인 팀이 피하지 않으면 무승부가 된다.
+	 * @return 빅장이면 true, 그렇지 않으면 false
+	 */
+	public synchronized boolean isKingsFacing() {
+		return kingsFacing;
+	}
+	/**
+	 * 지금까지 적용된 이동들을 반환하는 매서드
+	 * @return 적용된 순서의 Move 부호들의 복사본
+	 */
+	public synchronized int[] getHistory() {
+		return getGameState().getHistory();
+	}
+	/**
+	 * 해당 팀의 입장에서 현재 장기판의 형세를 반환하는 매서드, 화면의 형세 표시나 힌트에 사용한다.
+	 * 기물 점수와 위치 점수는 장기판이 증분 갱신한 값을 읽고, 기동력은 GameState의 MoveGenerator와 배열을 다시 사용하여 양 팀의 이동을 생성하여 센다.
+	 * @param teamType 평가하는 팀
+	 * @return 형세의 점수(차 하나가 1300점), 양수면 teamType팀이 유리하다.
+	 */
+	public synchronized int getEvaluation(TeamType teamType) {
+		GameState gameState = getGameState();
+		return Evaluator.evaluate(gameState.BOARD_STATUS, teamType)
+				+ Evaluator.getMobilityScore(gameState.MOVE_GENERATOR, teamType, gameState.MOVES);
+	}
+	/**
+	 * 장기판과 차례인 팀을 BoardNotation의 표기로 반환하는 매서드
+	 * @return 장기판의 표기
+	 */
+	public synchronized String getNotation() {
+		return BoardNotation.toNotation(getGameState().BOARD_STATUS, turnTeamType);
+	}
+	/**
+	 * 차례인 팀의 최선의 이동을 탐색하는 매서드, 탐색하는 동안 대국에 이동을 제출할 수 없다.
+	 * @param searchEngine 탐색에 사용할 탐색 엔진, 호출한 스레드만 사용하는 것이어야 한다.
+	 * @param timeLimitMillis 탐색에 사용할 시간
+	 * @return 탐색 결과
+	 */
+	synchronized SearchResult search(SearchEngine searchEngine, long timeLimitMillis) {
+		return searchEngine.search(getGameState().BOARD_STATUS, turnTeamType, timeLimitMillis);
+	}
+	/**
+	 * 대국의 GameState를 떼어내는 매서드, GameEngine에서 제거될 때 호출되며 이후에는 대국의 진행 상태와 결과만 조회할 수 있다.
+	 * @return 풀로 돌려보낼 GameState, 이미 떼어냈으면 null
+	 */
+	synchronized GameState release() {
+		GameState released = gameState;
+		gameState = null;
+		return released;
+	}
+	
+	private GameState getGameState() {
+		if(gameState == null)	throw new IllegalStateException("Game removed: " + ID);
+		return gameState;
+	}
+	/**
+	 * 대국의 진행 상태를 판단하는 매서드
+	 * 차례인 팀이 이동할 수 없으면 외통 또는 무승부, 빅장이 이어졌거나 장기판이 REPETITION_LIMIT번 반복되었으면 무승부로 대국을 끝낸다.
+	 */
+	private void updateGameStatus() {
+		if(!hasMovablePath()) {
+			end(gameState.CHESS_MEN_PATHS.isChecked(turnTeamType) ? getWinStatus(getPartnerTeamType(turnTeamType)) : GameStatus.DRAW);
+			return;
+		}
+		
+		boolean wasKingsFacing = kingsFacing;
+		kingsFacing = PathMasks.isKingsFacing(gameState.BOARD_STATUS.getBitBoardStatus());
+		if(kingsFacing && wasKingsFacing) {
+			end(GameStatus.DRAW);
+			return;
+		}
+		
+		long key = gameState.BOARD_STATUS.getZobristKey() ^ ZobristKeys.getTurnKey(turnTeamType);
+		if(gameState.POSITION_HISTORY.add(key) >= REPETITION_LIMIT)	end(GameStatus.DRAW);
+	}
+	
+	private boolean hasMovablePath() {
+		for(int index = 0; index < Location.COUNT; index++) {
+			if(gameState.BOARD_STATUS.isSpace(index) || gameState.BOARD_STATUS.getTeamType(index) != turnTeamType)	continue;
+			if(!gameState.CHESS_MEN_PATHS.getMovablePaths(index).isEmpty())	return true;
+		}
+		
+		return false;
+	}
+	
+	private void end(GameStatus resultStatus) {
+		gameStatus = resultStatus;
+		endTime = System.currentTimeMillis();
+	}
+	
+	private static GameStatus getWinStatus(TeamType winnerTeamType) {
+		return winnerTeamType == TeamType.HOME ? GameStatus.HOME_WIN : GameStatus.AWAY_WIN;
+	}
+	
+	private static TeamType getPartnerTeamType(TeamType teamType) {
+		return (teamType == TeamType.AWAY) ? TeamType.HOME : TeamType.AWAY;
+	}
+}
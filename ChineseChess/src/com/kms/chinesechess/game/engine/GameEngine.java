@@ -0,0 +1,82 @@
+package com.kms.chinesechess.game.engine;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 화면 없이 한 JVM 안에서 여러 대국을 생성하고 보관하는 클래스
+ * Swing, AWT의 클래스를 사용하지 않으므로 디스플레이가 없는 서버에서 사용할 수 있다.
+ * 대국마다 장기판과 ChessMenPaths를 따로 가지므로 서로 다른 대국은 여러 스레드에서 동시에 진행할 수 있다.
+ * 대국의 장기판과 이동 경로(GameState)는 GameStatePool에서 받고, 대국이 제거되면 풀로 돌려보낸다.
+ * @author Kwon
+ *
+ */
+public class GameEngine {
+	private static final int DEFAULT_POOL_CAPACITY = 1024;
+	
+	private final Map<Long, Game> GAMES = new ConcurrentHashMap<>();
+	private final AtomicLong NEXT_ID = new AtomicLong(1);
+	private final GameStatePool GAME_STATE_POOL;
+	
+	public GameEngine() {
+		this(new GameStatePool(DEFAULT_POOL_CAPACITY));
+	}
+	/**
+	 * @param gameStatePool 대국의 GameState를 재사용할 풀
+	 */
+	public GameEngine(GameStatePool gameStatePool) {
+		this.GAME_STATE_POOL = gameStatePool;
+	}
+	/**
+	 * 시작 배치에서 시작하는 대국을 생성하는 매서드
+	 * @return 생성된 대국
+	 */
+	public Game createGame() {
+		Game game = new Game(NEXT_ID.getAndIncrement(), GAME_STATE_POOL.acquire(), null);
+		GAMES.put(game.ID, game);
+		return game;
+	}
+	/**
+	 * BoardNotation의 표기로 주어진 장기판에서 시작하는 대국을 생성하는 매서드
+	 * @param notation 장기판과 이동할 팀의 표기
+	 * @return 생성된 대국
+	 * @throws IllegalArgumentException 표기의 형식이 잘못된 경우
+	 */
+	public Game createGame(String notation) {
+		Game game = new Game(NEXT_ID.getAndIncrement(), GAME_STATE_POOL.acquire(), notation);
+		GAMES.put(game.ID, game);
+		return game;
+	}
+	/**
+	 * 대국을 조회하는 매서드
+	 * @param id 대국의 식별자
+	 * @return 대국, 없으면 null
+	 */
+	public Game getGame(long id) {
+		return GAMES.get(id);
+	}
+	/**
+	 * 끝났거나 더 이상 필요 없는 대국을 제거하고 대국의 GameState를 풀로 돌려보내는 매서드
+	 * 제거된 대국은 진행 상태와 결과만 조회할 수 있으며, 장기판을 사용하는 매서드는 IllegalStateException을 던진다.
+	 * @param id 대국의 식별자
+	 * @return 제거된 대국, 없으면 null
+	 */
+	public Game removeGame(long id) {
+		Game game = GAMES.remove(id);
+		if(game != null) {
+			GameState gameState = game.release();
+			if(gameState != null)	GAME_STATE_POOL.release(gameState);
+		}
+		
+		return game;
+	}
+	
+	public int getGameCount() {
+		return GAMES.size();
+	}
+	
+	public GameStatePool getGameStatePool() {
+		return GAME_STATE_POOL;
+	}
+}
@@ -0,0 +1,124 @@
+package com.kms.chinesechess.game.engine;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.game.search.SearchResult;
+import com.kms.chinesechess.support.Location;
+
+/**
+ * 한 대국의 요청들을 받은 순서대로 하나씩 처리하는 세션 클래스
+ * 세션마다 하나의 스레드(가능하면 가상 스레드)가 요청함에서 요청을 기다리므로, 플레이어의 입력을 기다리는 동안에는 CPU를 사용하지 않는다.
+ * 이동 검증과 AI 탐색은 SessionScheduler의 CPU 스레드에서 실행하고 세션의 스레드는 그 결과를 기다린다.
+ * @author Kwon
+ *
+ */
+public class GameSession {
+	private static final Request<?> CLOSE = new Request<>(null, null);	// 세션을 끝내는 요청
+	
+	private final Game GAME;
+	private final SessionScheduler SCHEDULER;
+	private final BlockingQueue<Request<?>> MAILBOX = new LinkedBlockingQueue<>();	// 처리할 요청들
+	
+	private boolean isClosed = false;
+	
+	GameSession(Game game, SessionScheduler scheduler) {
+		this.GAME = game;
+		this.SCHEDULER = scheduler;
+	}
+	
+	public Game getGame() {
+		return GAME;
+	}
+	/**
+	 * 이동을 제출하는 매서드, 이동은 앞서 받은 요청들이 처리된 후 CPU 스레드에서 검증되고 적용된다.
+	 * @param teamType 이동하는 팀
+	 * @param before 이동 전의 위치
+	 * @param after 이동 후의 위치
+	 * @return 이동의 처리 결과, 세션이 닫혔으면 IllegalStateException으로 완료된다.
+	 */
+	public CompletableFuture<MoveResult> submitMove(TeamType teamType, Location before, Location after) {
+		return post(() -> SCHEDULER.validate(() -> GAME.submitMove(teamType, before, after)));
+	}
+	/**
+	 * 차례인 팀의 최선의 이동을 CPU 스레드에서 탐색하는 매서드
+	 * @param timeLimitMillis 탐색에 사용할 시간
+	 * @return 탐색 결과, 세션이 닫혔으면 IllegalStateException으로 완료된다.
+	 */
+	public CompletableFuture<SearchResult> searchMove(long timeLimitMillis) {
+		return post(() -> SCHEDULER.search(GAME, timeLimitMillis));
+	}
+	/**
+	 * 세션을 닫는 매서드, 이미 받은 요청들을 처리한 후 세션의 스레드가 끝나고 대국은 GameEngine에서 제거된다.
+	 */
+	public synchronized void close() {
+		if(isClosed)	return;
+		
+		isClosed = true;
+		MAILBOX.add(CLOSE);
+	}
+	/**
+	 * 요청을 요청함에 넣는 매서드
+	 * @param request 세션의 스레드에서 실행할 요청
+	 * @return 요청의 결과
+	 */
+	private synchronized <T> CompletableFuture<T> post(Callable<T> request) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		if(isClosed) {
+			result.completeExceptionally(new IllegalStateException("Session closed: " + GAME.ID));
+			return result;
+		}
+		
+		MAILBOX.add(new Request<>(request, result));
+		return result;
+	}
+	/**
+	 * 세션이 닫힐 때까지 요청을 하나씩 꺼내어 처리하는 매서드, 세션의 스레드에서 실행된다.
+	 * 스레드가 중단되어 끝나는 경우에도 요청함에 남은 요청들의 결과를 IllegalStateException으로 완료하여 결과를 기다리는 쪽이 멈추지 않게 한다.
+	 */
+	void run() {
+		try {
+			for(Request<?> request = MAILBOX.take(); request != CLOSE; request = MAILBOX.take())	request.run();
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			synchronized(this) {
+				isClosed = true;
+			}
+			for(Request<?> request = MAILBOX.poll(); request != null; request = MAILBOX.poll()) {
+				if(request != CLOSE)	request.cancel(new IllegalStateException("Session closed: " + GAME.ID));
+			}
+			SCHEDULER.onSessionClosed(this);
+		}
+	}
+	/**
+	 * 요청함에 넣는 요청, 세션의 스레드에서 실행할 작업과 그 결과를 함께 보관한다.
+	 */
+	private static class Request<T> {
+		private final Callable<T> CALL;
+		private final CompletableFuture<T> RESULT;
+		
+		Request(Callable<T> call, CompletableFuture<T> result) {
+			this.CALL = call;
+			this.RESULT = result;
+		}
+		/**
+		 * 작업을 실행하여 결과를 완료하는 매서드, 작업 중에 스레드가 중단되었으면 중단 상태를 되살려 세션이 끝나게 한다.
+		 */
+		void run() {
+			try {
+				RESULT.complete(CALL.call());
+			} catch(Exception e) {
+				if(e instanceof InterruptedException)	Thread.currentThread().interrupt();
+				RESULT.completeExceptionally(e);
+			}
+		}
+		
+		void cancel(Exception cause) {
+			RESULT.completeExceptionally(cause);
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package com.kms.chinesechess.game.engine;
+
+import java.util.Arrays;
+
+import com.kms.chinesechess.game.chess_men_paths.ChessMenPaths;
+import com.kms.chinesechess.game.chess_men_paths.MoveGenerator;
+import com.kms.chinesechess.game.data.board.BoardStatus;
+
+/**
+ * 대국 하나가 사용하는 장기판, 이동 경로, 이동 기록, 장기판의 키 기록을 묶은 클래스
+ * 대국의 메모리 대부분을 차지하며, 대국이 끝나면 GameStatePool로 돌려보내 다음 대국에서 다시 사용한다.
+ * @author Kwon
+ *
+ */
+class GameState {
+	private static final int INITIAL_HISTORY_SIZE = 128;
+	
+	final BoardStatus BOARD_STATUS = new BoardStatus();
+	final ChessMenPaths CHESS_MEN_PATHS = new ChessMenPaths(BOARD_STATUS, true);	// 대국은 선택한 장기말의 경로만 조회하므로 지연 모드로 계산한다.
+	final PositionHistory POSITION_HISTORY = new PositionHistory();	// 반복된 장기판을 판단하기 위한 마지막 잡는 이동 이후의 장기판의 키
+	final MoveGenerator MOVE_GENERATOR = new MoveGenerator(BOARD_STATUS);	// 형세를 평가할 때 기동력을 세는 데 사용한다.
+	final int[] MOVES = new int[MoveGenerator.MAX_MOVE_COUNT];				// MOVE_GENERATOR가 생성한 이동을 담는 배열
+	
+	private int[] history = new int[INITIAL_HISTORY_SIZE];	// 적용된 이동들의 Move 부호
+	private int historySize = 0;
+	
+	void addHistory(int move) {
+		if(historySize == history.length)	history = Arrays.copyOf(history, historySize * 2);
+		history[historySize++] = move;
+	}
+	
+	int[] getHistory() {
+		return Arrays.copyOf(history, historySize);
+	}
+	/**
+	 * 다음 대국에서 사용할 수 있도록 이동 기록과 장기판의 키 기록을 비우는 매서드, 장기판과 이동 경로는 다음 대국이 시작할 때 설정된다.
+	 * 긴 대국으로 커진 이동 기록은 처음 크기로 되돌려 풀에 보관되는 메모리를 제한한다.
+	 */
+	void clear() {
+		if(history.length > INITIAL_HISTORY_SIZE)	history = new int[INITIAL_HISTORY_SIZE];
+		historySize = 0;
+		POSITION_HISTORY.clear();
+	}
+}
@@ -0,0 +1,67 @@
+package com.kms.chinesechess.game.engine;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 끝난 대국의 GameState를 보관했다가 새 대국에 다시 제공하는 풀 클래스
+ * 짧은 대국이 많이 생성되고 끝날 때 장기판과 이동 경로의 수백 개의 객체를 매번 새로 할당하지 않아 GC의 부담을 줄인다.
+ * 보관하는 수는 capacity로 제한하며, 넘치는 GameState는 버려서 GC가 회수하게 한다.
+ * @author Kwon
+ *
+ */
+public class GameStatePool {
+	private final int CAPACITY;
+	private final Queue<GameState> IDLE_STATES = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger IDLE_COUNT = new AtomicInteger();
+	private final AtomicLong CREATED_COUNT = new AtomicLong(), REUSED_COUNT = new AtomicLong();
+	/**
+	 * @param capacity 보관할 GameState의 최대 수, 0이면 보관하지 않는다.
+	 */
+	public GameStatePool(int capacity) {
+		if(capacity < 0)	throw new IllegalArgumentException("Capacity: " + capacity);
+		this.CAPACITY = capacity;
+	}
+	/**
+	 * 보관된 GameState를 꺼내거나 없으면 새로 생성하여 반환하는 매서드
+	 * @return 이동 기록이 비워진 GameState, 장기판과 이동 경로는 사용하는 쪽에서 설정해야한다.
+	 */
+	GameState acquire() {
+		GameState gameState = IDLE_STATES.poll();
+		if(gameState == null) {
+			CREATED_COUNT.incrementAndGet();
+			return new GameState();
+		}
+		
+		IDLE_COUNT.decrementAndGet();
+		REUSED_COUNT.incrementAndGet();
+		return gameState;
+	}
+	/**
+	 * 더 이상 사용하지 않는 GameState를 풀에 돌려보내는 매서드
+	 * @param gameState 돌려보낼 GameState, 돌려보낸 후에는 사용하면 안된다.
+	 */
+	void release(GameState gameState) {
+		gameState.clear();
+		if(IDLE_COUNT.incrementAndGet() > CAPACITY) {
+			IDLE_COUNT.decrementAndGet();
+			return;
+		}
+		
+		IDLE_STATES.offer(gameState);
+	}
+	
+	public int getIdleCount() {
+		return IDLE_COUNT.get();
+	}
+	
+	public long getCreatedCount() {
+		return CREATED_COUNT.get();
+	}
+	
+	public long getReusedCount() {
+		return REUSED_COUNT.get();
+	}
+}
@@ -0,0 +1,11 @@
+package com.kms.chinesechess.game.engine;
+
+/**
+ * 대국의 진행 상태
+ * 차례인 팀이 이동할 수 없을 때 체크를 당하고 있으면 상대 팀의 승리, 그렇지 않으면 무승부로 끝난다.
+ * @author Kwon
+ *
+ */
+public enum GameStatus {
+	PLAYING, HOME_WIN, AWAY_WIN, DRAW
+}
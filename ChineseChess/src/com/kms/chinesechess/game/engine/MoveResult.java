@@ -0,0 +1,13 @@
+package com.kms.chinesechess.game.engine;
+
+/**
+ * Game.submitMove()로 제출한 이동의 처리 결과
+ * @author Kwon
+ *
+ */
+public enum MoveResult {
+	ACCEPTED,		// 이동이 적용되었다.
+	NOT_YOUR_TURN,	// 이동한 팀의 차례가 아니다.
+	ILLEGAL_MOVE,	// 출발 위치의 장기말이 도착 위치로 이동할 수 없다.
+	GAME_OVER		// 대국이 이미 끝났다.
+}
@@ -0,0 +1,78 @@
+package com.kms.chinesechess.game.engine;
+
+/**
+ * 대국에서 마지막으로 잡는 이동 이후에 나온 장기판의 Zobrist 키(이동할 차례 포함)를 모두 기억하고, 한 키가 몇번 나왔는지를 장기판의 비교 없이 상수 시간에 반환하는 클래스
+ * 개수는 선형 탐사 해시 테이블에 키별로 세며, 서로 다른 키가 테이블의 절반을 넘으면 테이블의 크기를 두배로 늘리므로 오래 전에 나온 장기판도 잊지 않는다.
+ * 잡는 이동이 있으면 그 전의 장기판은 다시 나올 수 없으므로 Game이 잡는 이동마다 clear()를 호출하며, 테이블에는 그 이후의 키만 남는다.
+ * @author Kwon
+ *
+ */
+class PositionHistory {
+	private static final int INITIAL_TABLE_SIZE = 256;	// 해시 테이블의 처음 크기, 2의 거듭제곱
+	
+	private long[] tableKeys = new long[INITIAL_TABLE_SIZE];	// 해시 테이블의 키
+	private int[] tableCounts = new int[INITIAL_TABLE_SIZE];	// 해시 테이블의 키별 개수, 0이면 빈 슬롯
+	private int keyCount = 0;	// 테이블에 있는 서로 다른 키의 수
+	/**
+	 * 장기판의 키를 추가하는 매서드, 서로 다른 키가 테이블의 절반을 넘게 되면 테이블을 늘린다.
+	 * @param key 장기판의 Zobrist 키에 이동할 차례의 키를 XOR한 값
+	 * @return 추가한 후 기억하고 있는 같은 키의 개수
+	 */
+	int add(long key) {
+		int slot = findSlot(key);
+		if(tableCounts[slot] == 0) {
+			if((keyCount + 1) * 2 > tableKeys.length) {
+				grow();
+				slot = findSlot(key);
+			}
+			tableKeys[slot] = key;
+			keyCount++;
+		}
+		
+		return ++tableCounts[slot];
+	}
+	/**
+	 * 기억하고 있는 키들을 비우는 매서드, 잡는 이동 후와 다음 대국을 시작할 때 호출된다.
+	 * 긴 대국으로 늘어난 테이블은 처음 크기로 되돌린다.
+	 */
+	void clear() {
+		if(tableKeys.length > INITIAL_TABLE_SIZE) {
+			tableKeys = new long[INITIAL_TABLE_SIZE];
+			tableCounts = new int[INITIAL_TABLE_SIZE];
+		} else {
+			for(int slot = 0; slot < tableCounts.length; slot++)	tableCounts[slot] = 0;
+		}
+		keyCount = 0;
+	}
+	/**
+	 * 키의 슬롯을 찾는 매서드
+	 * @return 키가 있는 슬롯, 없으면 키가 들어갈 빈 슬롯
+	 */
+	private int findSlot(long key) {
+		int mask = tableKeys.length - 1;
+		int slot = getHomeSlot(key, mask);
+		while(tableCounts[slot] > 0 && tableKeys[slot] != key)	slot = (slot + 1) & mask;
+		return slot;
+	}
+	/**
+	 * 테이블의 크기를 두배로 늘리고 키들을 다시 넣는 매서드
+	 */
+	private void grow() {
+		long[] oldKeys = tableKeys;
+		int[] oldCounts = tableCounts;
+		tableKeys = new long[oldKeys.length * 2];
+		tableCounts = new int[oldCounts.length * 2];
+		
+		for(int oldSlot = 0; oldSlot < oldKeys.length; oldSlot++) {
+			if(oldCounts[oldSlot] == 0)	continue;
+			
+			int slot = findSlot(oldKeys[oldSlot]);
+			tableKeys[slot] = oldKeys[oldSlot];
+			tableCounts[slot] = oldCounts[oldSlot];
+		}
+	}
+	
+	private static int getHomeSlot(long key, int mask) {
+		return (int)(key ^ (key >>> 32)) & mask;
+	}
+}
@@ -0,0 +1,32 @@
+package com.kms.chinesechess.game.engine;
+
+/**
+ * SessionScheduler의 한 시점의 지표를 담는 클래스
+ * @author Kwon
+ *
+ */
+public class SessionMetrics {
+	public final int ACTIVE_SESSION_COUNT;			// 열려있는 대국 세션의 수
+	public final int QUEUED_VALIDATION_COUNT;		// CPU 스레드를 기다리는 이동 검증의 수
+	public final long VALIDATION_COUNT;				// 완료한 이동 검증의 수
+	public final long AVERAGE_VALIDATION_NANOS;		// 이동 검증을 요청한 후 완료할 때까지의 평균 시간(대기 시간 포함)
+	public final long MAX_VALIDATION_NANOS;			// 이동 검증을 요청한 후 완료할 때까지의 최대 시간(대기 시간 포함)
+	public final boolean IS_VIRTUAL_THREAD;			// 세션이 가상 스레드에서 실행되는지
+	
+	SessionMetrics(int activeSessionCount, int queuedValidationCount, long validationCount, long averageValidationNanos,
+			long maxValidationNanos, boolean isVirtualThread) {
+		this.ACTIVE_SESSION_COUNT = activeSessionCount;
+		this.QUEUED_VALIDATION_COUNT = queuedValidationCount;
+		this.VALIDATION_COUNT = validationCount;
+		this.AVERAGE_VALIDATION_NANOS = averageValidationNanos;
+		this.MAX_VALIDATION_NANOS = maxValidationNanos;
+		this.IS_VIRTUAL_THREAD = isVirtualThread;
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("sessions %d (%s threads), queued validations %d, validations %d, latency avg %d us, max %d us",
+				ACTIVE_SESSION_COUNT, IS_VIRTUAL_THREAD ? "virtual" : "platform", QUEUED_VALIDATION_COUNT, VALIDATION_COUNT,
+				AVERAGE_VALIDATION_NANOS / 1000, MAX_VALIDATION_NANOS / 1000);
+	}
+}
@@ -0,0 +1,182 @@
+package com.kms.chinesechess.game.engine;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.kms.chinesechess.game.search.OpeningBook;
+import com.kms.chinesechess.game.search.SearchEngine;
+import com.kms.chinesechess.game.search.SearchResult;
+import com.kms.chinesechess.game.search.TranspositionTable;
+import com.kms.chinesechess.game.tablebase.Tablebases;
+
+/**
+ * 대국마다 GameSession을 열고 세션의 스레드와 CPU를 사용하는 작업의 스레드를 나누어 관리하는 클래스
+ * 세션의 스레드는 대부분 플레이어의 입력을 기다리므로 Java 21 이상에서는 가상 스레드를 사용하여 수만 개의 대기 중인 대국을 적은 메모리로 유지한다.
+ * (가상 스레드가 없는 JVM에서는 플랫폼 스레드를 사용하므로 동시에 열 수 있는 세션의 수가 스레드의 수로 제한된다.)
+ * 이동 검증(경고 경로를 위한 예상 이동을 포함한 이동 경로의 갱신)과 AI 탐색은 크기가 고정된 CPU 스레드 풀에서만 실행하여 CPU 사용을 제한한다.
+ * 서로 다른 대국의 탐색이 동시에 실행되므로 CPU 스레드마다 자신의 TranspositionTable을 사용한다.
+ * 표를 공유하면 탐색마다 부르는 newSearch()가 다른 대국의 진행 중인 탐색의 항목까지 이전 탐색의 것으로 만들어 교체되게 한다.
+ * @author Kwon
+ *
+ */
+public class SessionScheduler {
+	private final GameEngine GAME_ENGINE;
+	private final ExecutorService SESSION_EXECUTOR;	// 세션마다 하나의 스레드
+	private final ExecutorService CPU_EXECUTOR;		// 이동 검증과 AI 탐색을 실행하는 고정된 수의 스레드
+	private final boolean IS_VIRTUAL_THREAD;
+	
+	private final ThreadLocal<SearchEngine> SEARCH_ENGINES;	// CPU 스레드마다의 탐색 엔진과 TranspositionTable
+	private volatile OpeningBook openingBook = null;	// 모든 탐색 엔진이 공유하는 오프닝 북, 없으면 null
+	private volatile Tablebases tablebases = null;		// 모든 탐색 엔진이 공유하는 엔드게임 테이블베이스, 없으면 null
+	
+	private final AtomicInteger ACTIVE_SESSION_COUNT = new AtomicInteger(), QUEUED_VALIDATION_COUNT = new AtomicInteger();
+	private final LongAdder VALIDATION_COUNT = new LongAdder(), VALIDATION_NANOS = new LongAdder();
+	private final AtomicLong MAX_VALIDATION_NANOS = new AtomicLong();
+	/**
+	 * @param gameEngine 세션의 대국들을 보관할 GameEngine
+	 * @param cpuThreadCount 이동 검증과 AI 탐색에 사용할 스레드의 수
+	 * @param tableMegabytes AI 탐색의 TranspositionTable들의 전체 크기(MB), CPU 스레드마다 나누어 가지며 최소 1MB이다.
+	 */
+	public SessionScheduler(GameEngine gameEngine, int cpuThreadCount, int tableMegabytes) {
+		if(cpuThreadCount < 1)	throw new IllegalArgumentException("Thread count: " + cpuThreadCount);
+		
+		this.GAME_ENGINE = gameEngine;
+		int threadTableMegabytes = Math.max(tableMegabytes / cpuThreadCount, 1);
+		this.SEARCH_ENGINES = ThreadLocal.withInitial(() -> new SearchEngine(new TranspositionTable(threadTableMegabytes)));
+		
+		ExecutorService virtualThreadExecutor = createVirtualThreadExecutor();
+		this.IS_VIRTUAL_THREAD = virtualThreadExecutor != null;
+		this.SESSION_EXECUTOR = IS_VIRTUAL_THREAD ? virtualThreadExecutor : Executors.newCachedThreadPool(runnable -> createDaemonThread(runnable, "game-session"));
+		this.CPU_EXECUTOR = Executors.newFixedThreadPool(cpuThreadCount, runnable -> createDaemonThread(runnable, "game-cpu"));
+	}
+	/**
+	 * 시작 배치에서 시작하는 대국의 세션을 여는 매서드
+	 * @return 열린 세션
+	 */
+	public GameSession openSession() {
+		return startSession(GAME_ENGINE.createGame());
+	}
+	/**
+	 * BoardNotation의 표기로 주어진 장기판에서 시작하는 대국의 세션을 여는 매서드
+	 * @param notation 장기판과 이동할 팀의 표기
+	 * @return 열린 세션
+	 * @throws IllegalArgumentException 표기의 형식이 잘못된 경우
+	 */
+	public GameSession openSession(String notation) {
+		return startSession(GAME_ENGINE.createGame(notation));
+	}
+	
+	private GameSession startSession(Game game) {
+		GameSession session = new GameSession(game, this);
+		ACTIVE_SESSION_COUNT.incrementAndGet();
+		SESSION_EXECUTOR.execute(session::run);
+		return session;
+	}
+	/**
+	 * AI 탐색이 탐색하기 전에 찾아볼 오프닝 북을 설정하는 매서드, 다음 탐색부터 적용된다.
+	 * @param openingBook 오프닝 북, null이면 찾아보지 않는다.
+	 */
+	public void setOpeningBook(OpeningBook openingBook) {
+		this.openingBook = openingBook;
+	}
+	/**
+	 * AI 탐색이 탐색하기 전에 찾아볼 엔드게임 테이블베이스를 설정하는 매서드, 다음 탐색부터 적용된다.
+	 * @param tablebases 테이블베이스, null이면 찾아보지 않는다.
+	 */
+	public void setTablebases(Tablebases tablebases) {
+		this.tablebases = tablebases;
+	}
+	/**
+	 * 현재의 지표를 반환하는 매서드
+	 * @return 지표
+	 */
+	public SessionMetrics getMetrics() {
+		long validationCount = VALIDATION_COUNT.sum();
+		return new SessionMetrics(ACTIVE_SESSION_COUNT.get(), QUEUED_VALIDATION_COUNT.get(), validationCount,
+				validationCount == 0 ? 0 : VALIDATION_NANOS.sum() / validationCount, MAX_VALIDATION_NANOS.get(), IS_VIRTUAL_THREAD);
+	}
+	/**
+	 * 세션과 CPU 스레드들을 멈추는 매서드, 처리 중인 요청은 중단되고 처리되지 않은 요청은 IllegalStateException으로 완료된다.
+	 */
+	public void shutdown() {
+		SESSION_EXECUTOR.shutdownNow();
+		CPU_EXECUTOR.shutdownNow();
+	}
+	/**
+	 * 이동 검증을 CPU 스레드에서 실행하고 끝날 때까지 기다리는 매서드, 세션의 스레드에서 호출된다.
+	 * 종료 후에 제출이 거부되거나 실행되기 전에 중단된 검증도 대기 중인 검증의 수에서 뺀다.
+	 * @param validation 이동 검증
+	 * @return 이동 검증의 결과
+	 */
+	MoveResult validate(Callable<MoveResult> validation) throws Exception {
+		long startTime = System.nanoTime();
+		AtomicBoolean isQueued = new AtomicBoolean(true);
+		QUEUED_VALIDATION_COUNT.incrementAndGet();
+		
+		try {
+			return runOnCpu(() -> {
+				if(isQueued.compareAndSet(true, false))	QUEUED_VALIDATION_COUNT.decrementAndGet();
+				return validation.call();
+			});
+		} finally {
+			if(isQueued.compareAndSet(true, false))	QUEUED_VALIDATION_COUNT.decrementAndGet();
+			long nanos = System.nanoTime() - startTime;
+			VALIDATION_COUNT.increment();
+			VALIDATION_NANOS.add(nanos);
+			MAX_VALIDATION_NANOS.accumulateAndGet(nanos, Math::max);
+		}
+	}
+	/**
+	 * 대국의 차례인 팀의 최선의 이동을 CPU 스레드에서 탐색하고 끝날 때까지 기다리는 매서드, 세션의 스레드에서 호출된다.
+	 * @param game 대국
+	 * @param timeLimitMillis 탐색에 사용할 시간
+	 * @return 탐색 결과
+	 */
+	SearchResult search(Game game, long timeLimitMillis) throws Exception {
+		return runOnCpu(() -> {
+			SearchEngine searchEngine = SEARCH_ENGINES.get();
+			searchEngine.setOpeningBook(openingBook);
+			searchEngine.setTablebases(tablebases);
+			return game.search(searchEngine, timeLimitMillis);
+		});
+	}
+	
+	void onSessionClosed(GameSession session) {
+		GAME_ENGINE.removeGame(session.getGame().ID);
+		ACTIVE_SESSION_COUNT.decrementAndGet();
+	}
+	
+	private <T> T runOnCpu(Callable<T> work) throws Exception {
+		Future<T> future = CPU_EXECUTOR.submit(work);
+		try {
+			return future.get();
+		} catch(ExecutionException e) {
+			throw e.getCause() instanceof Exception ? (Exception)e.getCause() : e;
+		}
+	}
+	/**
+	 * 가상 스레드를 작업마다 생성하는 ExecutorService를 생성하는 매서드
+	 * Java 8을 대상으로 컴파일하므로 Executors.newVirtualThreadPerTaskExecutor()(Java 21)를 리플렉션으로 호출한다.
+	 * @return 생성한 ExecutorService, 가상 스레드를 지원하지 않는 JVM이면 null
+	 */
+	private static ExecutorService createVirtualThreadExecutor() {
+		try {
+			return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch(ReflectiveOperationException e) {
+			return null;
+		}
+	}
+	
+	private static Thread createDaemonThread(Runnable runnable, String name) {
+		Thread thread = new Thread(runnable, name);
+		thread.setDaemon(true);
+		return thread;
+	}
+}
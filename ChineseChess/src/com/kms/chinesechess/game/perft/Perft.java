@@ -0,0 +1,98 @@
+package com.kms.chinesechess.game.perft;
+
+import com.kms.chinesechess.game.chess_men_paths.ChessMenPaths;
+import com.kms.chinesechess.game.chess_men_paths.MoveGenerator;
+import com.kms.chinesechess.game.chess_men_paths.PathMasks;
+import com.kms.chinesechess.game.data.Move;
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.game.data.board.BoardStatus;
+import com.kms.chinesechess.game.data.board.ReadableBoardStatus;
+import com.kms.chinesechess.support.Location;
+
+/**
+ * 장기판에서 주어진 깊이까지의 모든 합법적인 이동의 말단 노드의 수를 세는 클래스(perft)
+ * 같은 장기판을 두 가지 방식으로 셀 수 있으며, 두 결과가 다르면 이동 생성에 오류가 있는 것이다.
+ * - MoveGenerator: 탐색 엔진과 같이 이동을 생성하고 makeMove, unmakeMove 후 왕이 공격받는지로 합법성을 판단한다.
+ * - ChessMenPaths: 화면에서 사용하는 것과 같이 노드마다 setPaths()로 이동 경로와 경고 경로를 모두 계산한다.
+ * @author Kwon
+ *
+ */
+public class Perft {
+	private static final int MAX_DEPTH = 16;
+	
+	private final BoardStatus BOARD_STATUS = new BoardStatus();
+	private final MoveGenerator MOVE_GENERATOR = new MoveGenerator(BOARD_STATUS);
+	private final int[][] MOVES = new int[MAX_DEPTH][MoveGenerator.MAX_MOVE_COUNT];
+	
+	private final BoardStatus[] PATHS_BOARD_STATUSES = new BoardStatus[MAX_DEPTH];	// ChessMenPaths로 셀 때 깊이별 장기판
+	private final ChessMenPaths[] CHESS_MEN_PATHS = new ChessMenPaths[MAX_DEPTH];
+	
+	public Perft() {
+		for(int ply = 0; ply < MAX_DEPTH; ply++) {
+			PATHS_BOARD_STATUSES[ply] = new BoardStatus();
+			CHESS_MEN_PATHS[ply] = new ChessMenPaths(PATHS_BOARD_STATUSES[ply]);
+		}
+	}
+	/**
+	 * MoveGenerator로 말단 노드의 수를 세는 매서드
+	 * @param boardStatus 장기판, 복사본에서 세므로 변경되지 않는다.
+	 * @param teamType 이동할 팀
+	 * @param depth 0 ~ 15의 깊이
+	 * @return 말단 노드의 수
+	 */
+	public long perft(ReadableBoardStatus boardStatus, TeamType teamType, int depth) {
+		checkDepth(depth);
+		BOARD_STATUS.copy(boardStatus);
+		return depth == 0 ? 1 : perft(teamType, depth, 0);
+	}
+	/**
+	 * ChessMenPaths로 말단 노드의 수를 세는 매서드
+	 * @param boardStatus 장기판, 복사본에서 세므로 변경되지 않는다.
+	 * @param teamType 이동할 팀
+	 * @param depth 0 ~ 15의 깊이
+	 * @return 말단 노드의 수
+	 */
+	public long perftWithPaths(ReadableBoardStatus boardStatus, TeamType teamType, int depth) {
+		checkDepth(depth);
+		PATHS_BOARD_STATUSES[0].copy(boardStatus);
+		return depth == 0 ? 1 : perftWithPaths(teamType, depth, 0);
+	}
+	
+	private long perft(TeamType teamType, int depth, int ply) {
+		TeamType partnerTeamType = (teamType == TeamType.AWAY) ? TeamType.HOME : TeamType.AWAY;
+		int[] moves = MOVES[ply];
+		int count = MOVE_GENERATOR.generateMoves(teamType, moves, 0);
+		long nodeCount = 0;
+		
+		for(int position = 0; position < count; position++) {
+			BOARD_STATUS.makeMove(Location.instanceAt(Move.getSource(moves[position])), Location.instanceAt(Move.getDestination(moves[position])));
+			Location kingLocation = BOARD_STATUS.getKingLocation(teamType);
+			if(kingLocation != null && !PathMasks.isAttacked(BOARD_STATUS.getBitBoardStatus(), kingLocation.INDEX, partnerTeamType))
+				nodeCount += depth == 1 ? 1 : perft(partnerTeamType, depth - 1, ply + 1);
+			BOARD_STATUS.unmakeMove();
+		}
+		
+		return nodeCount;
+	}
+	
+	private long perftWithPaths(TeamType teamType, int depth, int ply) {
+		TeamType partnerTeamType = (teamType == TeamType.AWAY) ? TeamType.HOME : TeamType.AWAY;
+		int[] moves = MOVES[ply];
+		CHESS_MEN_PATHS[ply].setPaths();
+		int count = CHESS_MEN_PATHS[ply].getAllMoves(teamType, moves);
+		if(depth == 1)	return count;
+		
+		long nodeCount = 0;
+		for(int position = 0; position < count; position++) {
+			PATHS_BOARD_STATUSES[ply + 1].copy(PATHS_BOARD_STATUSES[ply]);
+			PATHS_BOARD_STATUSES[ply + 1].moveBoxStatus(Location.instanceAt(Move.getSource(moves[position])), Location.instanceAt(Move.getDestination(moves[position])));
+			nodeCount += perftWithPaths(partnerTeamType, depth - 1, ply + 1);
+		}
+		
+		return nodeCount;
+	}
+	
+	private void checkDepth(int depth) {
+		if(depth < 0 || depth >= MAX_DEPTH)	throw new IllegalArgumentException("Depth: " + depth);
+	}
+}
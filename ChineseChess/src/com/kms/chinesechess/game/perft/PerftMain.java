@@ -0,0 +1,80 @@
+package com.kms.chinesechess.game.perft;
+
+import java.util.Arrays;
+
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.game.data.board.BoardNotation;
+import com.kms.chinesechess.game.data.board.BoardStatus;
+
+/**
+ * 시작 배치와 시험용 장기판들에 대해 perft를 실행하는 클래스
+ * 깊이 1부터 주어진 깊이까지 MoveGenerator와 ChessMenPaths의 노드의 수와 초당 노드의 수를 출력하고,
+ * 두 결과가 서로 다르거나 시험용 장기판의 기준 노드의 수(EXPECTED_NODE_COUNTS)와 다르면 MISMATCH를 출력한 후 종료 코드 1로 끝난다.
+ * 이동 생성을 최적화할 때마다 실행하여 결과가 바뀌지 않았는지 확인한다. 표기를 직접 주면 두 결과끼리만 비교한다.
+ * 사용법: PerftMain [깊이(기본 3)] [장기판의 표기...]
+ * @author Kwon
+ *
+ */
+public class PerftMain {
+	/**
+	 * 시험용 장기판들, 시작 배치에서 무작위로 진행하여 포, 궁성 안의 대각선, 잡는 이동이 많이 나오는 장기판을 골랐다.
+	 * ChineseChessBenchmark의 Benchmark들도 이 장기판들을 사용한다.
+	 */
+	public static final String[] TEST_POSITIONS = {
+			"rhea1aehr/4k4/1c5c1/p1p1p1p1p/9/9/P1P1P1P1P/1C5C1/4K4/RHEA1AEHR h",
+			"1rea1aeh1/4k4/1c5c1/3pp1p2/1P4p1R/3r5/4PP3/HC5C1/4A4/1RE1KAEH1 a",
+			"r1e4hr/5a3/3ek4/p1pC5/9/7P1/PP3PP2/R8/4K1R2/3H1cE2 a",
+			"4aa3/8r/h2k1e2h/2p6/p8/9/PP4P2/R1c2K3/3A1A3/R1E3EH1 a",
+			"7h1/9/5k1c1/1p2pr3/9/PP6p/9/3K5/5e3/cH7 a" };
+	/**
+	 * 시험용 장기판마다 깊이 1부터의 기준 노드의 수, 이동 생성을 최적화하기 전(baseline)의 ChessMenPaths로 센 값이다.
+	 * MoveGenerator와 ChessMenPaths가 같은 MoveTables, PathMasks를 사용하므로 둘이 같이 틀려도 이 값과는 달라진다.
+	 */
+	private static final long[][] EXPECTED_NODE_COUNTS = {
+			{ 31L, 961L, 30353L, 958264L },
+			{ 38L, 1159L, 42780L, 1354239L },
+			{ 36L, 1362L, 46731L, 1746430L },
+			{ 39L, 836L, 31799L, 746369L },
+			{ 40L, 347L, 12765L, 118841L } };
+	
+	public static void main(String[] args) {
+		int depth = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+		boolean isTestPositions = args.length <= 1;
+		String[] notations = isTestPositions ? TEST_POSITIONS : Arrays.copyOfRange(args, 1, args.length);
+		
+		Perft perft = new Perft();
+		BoardStatus boardStatus = new BoardStatus();
+		boolean isMismatched = false;
+		
+		for(int position = 0; position < notations.length; position++) {
+			String notation = notations[position];
+			TeamType teamType = BoardNotation.setUp(boardStatus, notation);
+			System.out.println(notation);
+			
+			for(int currentDepth = 1; currentDepth <= depth; currentDepth++) {
+				long startTime = System.nanoTime();
+				long nodeCount = perft.perft(boardStatus, teamType, currentDepth);
+				long generatorNanos = System.nanoTime() - startTime;
+				
+				startTime = System.nanoTime();
+				long pathsNodeCount = perft.perftWithPaths(boardStatus, teamType, currentDepth);
+				long pathsNanos = System.nanoTime() - startTime;
+				
+				long expectedNodeCount = (isTestPositions && currentDepth <= EXPECTED_NODE_COUNTS[position].length)
+						? EXPECTED_NODE_COUNTS[position][currentDepth - 1] : nodeCount;
+				boolean isMatched = nodeCount == pathsNodeCount && nodeCount == expectedNodeCount;
+				
+				System.out.printf("  depth %d: nodes %d (generator %d nps), paths nodes %d (%d nps)%s%n", currentDepth,
+						nodeCount, getNodesPerSecond(nodeCount, generatorNanos), pathsNodeCount, getNodesPerSecond(pathsNodeCount, pathsNanos),
+						isMatched ? "" : "  MISMATCH (expected " + expectedNodeCount + ")");
+				isMismatched |= !isMatched;
+			}
+		}
+		
+		if(isMismatched)	System.exit(1);
+	}
+	
+	private static long getNodesPerSecond(long nodeCount, long nanos) {
+		return nodeCount * 1_000_000_000L / Math.max(nanos, 1);
+	}
+}
@@ -0,0 +1,48 @@
+package com.kms.chinesechess.game.search;
+
+import com.kms.chinesechess.game.chess_men_paths.MoveGenerator;
+import com.kms.chinesechess.game.data.ChessManType;
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.game.data.board.BoardStatus;
+import com.kms.chinesechess.game.data.board.PieceSquareTables;
+
+/**
+ * 장기판의 형세를 점수로 평가하는 클래스
+ * 탐색의 말단에서는 BoardStatus가 칸의 상태가 바뀔 때마다 증분 갱신하는 기물 점수와 위치 점수(PieceSquareTables)의 합을 읽으므로 평가에 칸을 세지 않는다.
+ * 이동할 수 있는 수(기동력)는 이동을 생성해야 알 수 있으므로 말단의 평가에는 넣지 않고, 화면의 형세 표시처럼 한번씩 평가할 때 getMobilityScore()로 더한다.
+ * @author Kwon
+ *
+ */
+public class Evaluator {
+	public static final int MOBILITY_WEIGHT = 4;	// 이동할 수 있는 수 하나의 점수
+	
+	private Evaluator() {}
+	/**
+	 * 장기말의 기물 점수를 반환하는 매서드
+	 * @param chessManType 장기말
+	 * @return 기물 점수, 왕은 잡히지 않으므로 0
+	 */
+	public static int getValue(ChessManType chessManType) {
+		return PieceSquareTables.getValue(chessManType);
+	}
+	/**
+	 * teamType팀의 입장에서 장기판의 형세를 평가하는 매서드
+	 * @param boardStatus 장기판
+	 * @param teamType 평가하는 팀
+	 * @return teamType팀의 기물 점수와 위치 점수의 합에서 상대 팀의 합을 뺀 값
+	 */
+	public static int evaluate(BoardStatus boardStatus, TeamType teamType) {
+		return (teamType == TeamType.HOME) ? boardStatus.getScore() : -boardStatus.getScore();
+	}
+	/**
+	 * teamType팀의 입장에서 양 팀의 기동력의 차이를 평가하는 매서드, 양 팀의 이동을 모두 생성하므로 탐색의 말단에서는 사용하지 않는다.
+	 * @param moveGenerator 평가할 장기판의 MoveGenerator
+	 * @param teamType 평가하는 팀
+	 * @param moves 이동을 담는 데 사용할 배열, MoveGenerator.MAX_MOVE_COUNT 이상의 크기여야 한다.
+	 * @return (teamType팀의 이동의 수 - 상대 팀의 이동의 수) * MOBILITY_WEIGHT, 왕을 공격받게 하는 이동도 센다.
+	 */
+	public static int getMobilityScore(MoveGenerator moveGenerator, TeamType teamType, int[] moves) {
+		TeamType partnerTeamType = (teamType == TeamType.AWAY) ? TeamType.HOME : TeamType.AWAY;
+		return (moveGenerator.generateMoves(teamType, moves, 0) - moveGenerator.generateMoves(partnerTeamType, moves, 0)) * MOBILITY_WEIGHT;
+	}
+}
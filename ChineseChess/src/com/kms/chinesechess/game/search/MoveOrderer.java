@@ -0,0 +1,122 @@
+package com.kms.chinesechess.game.search;
+
+import com.kms.chinesechess.game.chess_men_paths.MoveGenerator;
+import com.kms.chinesechess.game.data.Move;
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.game.data.board.BoardStatus;
+import com.kms.chinesechess.support.Location;
+
+/**
+ * 탐색할 이동의 순서를 정하는 클래스, 좋은 이동을 먼저 탐색할수록 알파베타 탐색에서 잘려나가는 가지가 많아진다.
+ * 이전 탐색의 최선의 이동, 잡는 이동(MVV-LVA: 가치가 큰 장기말을 가치가 작은 장기말로 잡는 순), 킬러 이동, 손해 보는 잡는 이동, 히스토리 점수의 순서로 정렬한다.
+ * 가치가 작은 장기말을 가치가 큰 장기말로 잡는 이동은 정적 교환 평가(StaticExchange)가 음수이면 손해 보는 잡는 이동으로 본다.
+ * @author Kwon
+ *
+ */
+class MoveOrderer {
+	private static final int BEST_MOVE_SCORE = 1 << 30;
+	private static final int CAPTURE_SCORE = 1 << 29;
+	private static final int KILLER_SCORE = 1 << 28;
+	private static final int LOSING_CAPTURE_SCORE = 1 << 27;
+	private static final int MAX_HISTORY_SCORE = 1 << 20;	// 히스토리 점수가 넘으면 모든 히스토리 점수를 절반으로 줄인다.
+	
+	private final int[][] KILLER_MOVES;	// 탐색 깊이(ply)별로 잡는 이동이 아니면서 베타 컷을 일으킨 이동 2개
+	private final int[][] HISTORY_SCORES = new int[TeamType.values().length][Location.COUNT << 7];	// 팀, 부호화된 이동별 베타 컷을 일으킨 정도
+	private final int[][] SCORES;	// 탐색 깊이별로 정렬에 사용하는 점수
+	
+	private final BoardStatus BOARD_STATUS;
+	private final StaticExchange STATIC_EXCHANGE;
+	
+	MoveOrderer(BoardStatus boardStatus, int maxPly) {
+		this.BOARD_STATUS = boardStatus;
+		this.STATIC_EXCHANGE = new StaticExchange(boardStatus);
+		this.KILLER_MOVES = new int[maxPly][2];
+		this.SCORES = new int[maxPly][MoveGenerator.MAX_MOVE_COUNT];
+		clear();
+	}
+	/**
+	 * 새로운 탐색을 시작할 때 킬러 이동을 지우고 히스토리 점수를 줄이는 매서드
+	 */
+	void clear() {
+		for(int[] killerMoves : KILLER_MOVES) {
+			killerMoves[0] = killerMoves[1] = Move.NONE;
+		}
+		ageHistoryScores();
+	}
+	/**
+	 * moves의 이동들을 탐색할 순서대로 정렬하는 매서드
+	 * @param moves 부호화된 이동들
+	 * @param count 이동의 수
+	 * @param ply 탐색 깊이
+	 * @param teamType 이동하는 팀
+	 * @param bestMove 먼저 탐색할 이동, 없으면 Move.NONE
+	 */
+	void sortMoves(int[] moves, int count, int ply, TeamType teamType, int bestMove) {
+		int[] scores = SCORES[ply];
+		
+		for(int position = 0; position < count; position++) {
+			scores[position] = getScore(moves[position], ply, teamType, bestMove);
+		}
+		for(int position = 1; position < count; position++) {
+			int move = moves[position], score = scores[position], insertion = position - 1;
+			while(insertion >= 0 && scores[insertion] < score) {
+				moves[insertion + 1] = moves[insertion];
+				scores[insertion + 1] = scores[insertion];
+				insertion--;
+			}
+			moves[insertion + 1] = move;
+			scores[insertion + 1] = score;
+		}
+	}
+	/**
+	 * 잡는 이동이 아닌 이동이 베타 컷을 일으켰을 때 킬러 이동과 히스토리 점수에 기록하는 매서드
+	 * @param move 베타 컷을 일으킨 이동
+	 * @param ply 탐색 깊이
+	 * @param depth 남은 탐색 깊이
+	 * @param teamType 이동한 팀
+	 */
+	void addCutoff(int move, int ply, int depth, TeamType teamType) {
+		if(KILLER_MOVES[ply][0] != move) {
+			KILLER_MOVES[ply][1] = KILLER_MOVES[ply][0];
+			KILLER_MOVES[ply][0] = move;
+		}
+		
+		HISTORY_SCORES[teamType.ordinal()][move] += depth * depth;
+		if(HISTORY_SCORES[teamType.ordinal()][move] > MAX_HISTORY_SCORE)	ageHistoryScores();
+	}
+	/**
+	 * 잡는 이동인지를 반환하는 매서드
+	 * @param move 부호화된 이동
+	 * @return 도착 위치에 장기말이 있으면 true, 그렇지 않으면 false
+	 */
+	boolean isCapture(int move) {
+		return !BOARD_STATUS.isSpace(Move.getDestination(move));
+	}
+	/**
+	 * 잡는 이동이 교환 끝에 손해를 보는지를 반환하는 매서드, 잡히는 장기말의 가치가 잡는 장기말의 가치보다 작을 때만 정적 교환 평가를 한다.
+	 * @param move 부호화된 잡는 이동
+	 * @return 정적 교환 평가가 음수이면 true, 그렇지 않으면 false
+	 */
+	boolean isLosingCapture(int move) {
+		if(Evaluator.getValue(BOARD_STATUS.getChessManType(Move.getDestination(move))) >= Evaluator.getValue(BOARD_STATUS.getChessManType(Move.getSource(move))))	return false;
+		return STATIC_EXCHANGE.evaluate(move) < 0;
+	}
+	
+	private int getScore(int move, int ply, TeamType teamType, int bestMove) {
+		if(move == bestMove)	return BEST_MOVE_SCORE;
+		if(isCapture(move)) {
+			if(isLosingCapture(move))	return LOSING_CAPTURE_SCORE + Evaluator.getValue(BOARD_STATUS.getChessManType(Move.getDestination(move)));
+			return CAPTURE_SCORE + Evaluator.getValue(BOARD_STATUS.getChessManType(Move.getDestination(move))) * 16
+					- Evaluator.getValue(BOARD_STATUS.getChessManType(Move.getSource(move))) / 100;
+		}
+		if(move == KILLER_MOVES[ply][0])	return KILLER_SCORE + 1;
+		if(move == KILLER_MOVES[ply][1])	return KILLER_SCORE;
+		return HISTORY_SCORES[teamType.ordinal()][move];
+	}
+	
+	private void ageHistoryScores() {
+		for(int[] historyScores : HISTORY_SCORES) {
+			for(int move = 0; move < historyScores.length; move++)	historyScores[move] >>= 1;
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package com.kms.chinesechess.game.search;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.kms.chinesechess.game.data.Move;
+
+/**
+ * 장기판의 Zobrist 키(이동할 차례 포함)로 초반의 이동을 찾는 오프닝 북 클래스
+ * 파일은 HEADER_SIZE 바이트의 헤더(MAGIC, VERSION, 항목의 수)와 ENTRY_SIZE 바이트의 항목(키, 이동, 가중치)들로 구성되며,
+ * 항목은 키의 순서로, 같은 키 안에서는 가중치가 큰 순서로 정렬되어 있다. 파일은 OpeningBookBuilder로 만든다.
+ * 파일 전체를 읽기 전용으로 매핑하고 이진 탐색하므로 조회할 때 객체를 할당하지 않으며, 여러 스레드가 한 인스턴스를 공유해도 된다.
+ * 키가 우연히 같은 다른 장기판의 이동이 나올 수 있으므로 사용하는 쪽에서 이동의 합법성을 확인해야한다.
+ * @author Kwon
+ *
+ */
+public class OpeningBook implements Closeable {
+	static final int MAGIC = 0x4A424F4B;	// "JBOK"
+	static final int VERSION = 1;
+	static final int HEADER_SIZE = 16;
+	static final int ENTRY_SIZE = 16;
+	static final int KEY = 0, MOVE = 8, WEIGHT = 12;	// 항목 안의 위치
+	
+	private final FileChannel CHANNEL;
+	private final MappedByteBuffer BUFFER;
+	private final int ENTRY_COUNT;
+	/**
+	 * 오프닝 북 파일을 매핑하는 생성자
+	 * @param path 오프닝 북 파일의 경로
+	 * @throws IOException 파일을 열 수 없거나 오프닝 북 파일이 아닌 경우
+	 */
+	public OpeningBook(Path path) throws IOException {
+		CHANNEL = FileChannel.open(path, StandardOpenOption.READ);
+		
+		try {
+			long size = CHANNEL.size();
+			if(size < HEADER_SIZE || size > Integer.MAX_VALUE)	throw new IOException("Not an opening book: " + path);
+			
+			BUFFER = CHANNEL.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			ENTRY_COUNT = BUFFER.getInt(8);
+			if(BUFFER.getInt(0) != MAGIC || BUFFER.getInt(4) != VERSION || ENTRY_COUNT < 0 || HEADER_SIZE + (long)ENTRY_COUNT * ENTRY_SIZE != size)
+				throw new IOException("Not an opening book: " + path);
+		} catch(IOException e) {
+			CHANNEL.close();
+			throw e;
+		}
+	}
+	
+	public int getEntryCount() {
+		return ENTRY_COUNT;
+	}
+	/**
+	 * 장기판에서 가중치가 가장 큰 이동을 반환하는 매서드
+	 * @param key 장기판의 Zobrist 키와 이동할 팀의 ZobristKeys.getTurnKey를 XOR한 키
+	 * @return 부호화된 이동, 오프닝 북에 없으면 Move.NONE
+	 */
+	public int probe(long key) {
+		int position = findFirst(key);
+		return position < 0 ? Move.NONE : BUFFER.getInt(getOffset(position) + MOVE);
+	}
+	/**
+	 * 장기판의 모든 이동과 가중치를 가중치가 큰 순서로 담는 매서드
+	 * @param key 장기판의 Zobrist 키와 이동할 팀의 ZobristKeys.getTurnKey를 XOR한 키
+	 * @param moves 부호화된 이동을 담을 배열
+	 * @param weights moves와 같은 순서의 가중치를 담을 배열, moves보다 작으면 안된다.
+	 * @return 담은 이동의 수, moves의 크기를 넘지 않는다.
+	 */
+	public int getMoves(long key, int[] moves, int[] weights) {
+		int count = 0;
+		for(int position = findFirst(key); position >= 0 && position < ENTRY_COUNT && count < moves.length; position++) {
+			int offset = getOffset(position);
+			if(BUFFER.getLong(offset + KEY) != key)	break;
+			
+			moves[count] = BUFFER.getInt(offset + MOVE);
+			weights[count++] = BUFFER.getInt(offset + WEIGHT);
+		}
+		
+		return count;
+	}
+	/**
+	 * 키가 같은 항목 중 첫번째 항목의 순서를 이진 탐색으로 찾는 매서드
+	 * @param key 찾을 키
+	 * @return 항목의 순서, 없으면 -1
+	 */
+	private int findFirst(long key) {
+		int low = 0, high = ENTRY_COUNT;
+		while(low < high) {
+			int middle = (low + high) >>> 1;
+			if(BUFFER.getLong(getOffset(middle) + KEY) < key)	low = middle + 1;
+			else	high = middle;
+		}
+		
+		return (low < ENTRY_COUNT && BUFFER.getLong(getOffset(low) + KEY) == key) ? low : -1;
+	}
+	
+	private static int getOffset(int position) {
+		return HEADER_SIZE + position * ENTRY_SIZE;
+	}
+	/**
+	 * 파일을 닫는 매서드, 매핑된 메모리는 GC가 회수할 때 해제된다.
+	 */
+	@Override
+	public void close() throws IOException {
+		CHANNEL.close();
+	}
+}
@@ -0,0 +1,193 @@
+package com.kms.chinesechess.game.search;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.kms.chinesechess.game.chess_men_paths.MoveGenerator;
+import com.kms.chinesechess.game.data.Move;
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.game.data.board.BoardStatus;
+import com.kms.chinesechess.game.data.board.StartingPosition;
+import com.kms.chinesechess.game.data.board.ZobristKeys;
+import com.kms.chinesechess.game.engine.GameStatus;
+import com.kms.chinesechess.record.GameLog;
+import com.kms.chinesechess.record.GameLogReader;
+import com.kms.chinesechess.support.Location;
+
+/**
+ * 게임 기록 파일의 대국들로 OpeningBook 파일을 만드는 클래스
+ * 대국마다 시작 배치에서 처음 maxPly개의 이동을 다시 두면서 (장기판의 키, 이동)마다 가중치를 더한다.
+ * 게임 기록 파일에 읽을 수 없는 기록이 있으면 그 대국만 건너뛰고, 장기판에서 둘 수 없는 이동이 나온 대국은 그 앞까지만 더한다.
+ * 이긴 팀의 이동은 WIN_WEIGHT, 비기거나 끝나지 않은 대국의 이동은 DRAW_WEIGHT를 더하고, 진 팀의 이동은 더하지 않는다.
+ * 가중치가 minWeight보다 작은 이동은 드물게 둔 이동이므로 파일에 쓰지 않는다.
+ * 사용법: OpeningBookBuilder [게임 기록 파일] [오프닝 북 파일] [maxPly(기본 20)] [minWeight(기본 2)]
+ * @author Kwon
+ *
+ */
+public class OpeningBookBuilder {
+	public static final int DEFAULT_MAX_PLY = 20;
+	public static final int DEFAULT_MIN_WEIGHT = 2;
+	private static final int WIN_WEIGHT = 2, DRAW_WEIGHT = 1;
+	private static final int BUFFER_SIZE = 1 << 16;
+	
+	private final int MAX_PLY, MIN_WEIGHT;
+	private final Map<Long, Map<Integer, Integer>> WEIGHTS = new HashMap<>();	// 장기판의 키마다 이동별 가중치
+	private final BoardStatus BOARD_STATUS = new BoardStatus();
+	private final MoveGenerator MOVE_GENERATOR = new MoveGenerator(BOARD_STATUS);
+	private final int[] MOVES = new int[MoveGenerator.MAX_MOVE_COUNT];
+	/**
+	 * @param maxPly 대국마다 오프닝 북에 넣을 처음 이동의 수
+	 * @param minWeight 파일에 쓸 이동의 최소 가중치
+	 */
+	public OpeningBookBuilder(int maxPly, int minWeight) {
+		if(maxPly < 1)	throw new IllegalArgumentException("Max ply: " + maxPly);
+		
+		this.MAX_PLY = maxPly;
+		this.MIN_WEIGHT = minWeight;
+	}
+	/**
+	 * 게임 기록 파일의 모든 대국을 더하는 매서드, 파일은 처음부터 끝까지 한번만 읽는다.
+	 * @param gameLogPath 게임 기록 파일의 경로
+	 * @return 더한 대국의 수, 읽을 수 없어 건너뛴 기록은 세지 않는다.
+	 * @throws IOException 파일을 읽을 수 없는 경우
+	 */
+	public int addGameLogs(Path gameLogPath) throws IOException {
+		int count = 0;
+		try(GameLogReader reader = new GameLogReader(gameLogPath)) {
+			while(true) {
+				GameLog gameLog;
+				try {
+					if(!reader.hasNext())	break;
+					gameLog = reader.next();
+				} catch(IllegalArgumentException e) {
+					continue;	// 잘못된 기록은 건너뛰고 다음 기록부터 읽는다.
+				}
+				
+				addGameLog(gameLog);
+				count++;
+			}
+		}
+		
+		return count;
+	}
+	/**
+	 * 대국 하나의 처음 maxPly개의 이동을 더하는 매서드, 장기판과 맞지 않는 이동(장기판 밖의 위치, 차례가 아닌 팀의 장기말, 장기말이 갈 수 없는 위치)이 나오면 그 앞까지만 더한다.
+	 * @param gameLog 시작 배치에서 HOME팀의 차례로 시작한 대국의 기록
+	 */
+	public void addGameLog(GameLog gameLog) {
+		StartingPosition.setUp(BOARD_STATUS);
+		TeamType teamType = TeamType.HOME;
+		
+		for(int ply = 0; ply < Math.min(MAX_PLY, gameLog.getMoveCount()); ply++) {
+			int move = gameLog.getMove(ply);
+			Location source = Location.instanceAt(Move.getSource(move)), destination = Location.instanceAt(Move.getDestination(move));
+			if(source == null || destination == null || !isGenerated(move, teamType))	return;
+			
+			int weight = getWeight(gameLog.getResult(), teamType);
+			if(weight > 0)	WEIGHTS.computeIfAbsent(BOARD_STATUS.getZobristKey() ^ ZobristKeys.getTurnKey(teamType), key -> new HashMap<>()).merge(move, weight, Integer::sum);
+			
+			BOARD_STATUS.moveBoxStatus(source, destination);
+			teamType = (teamType == TeamType.AWAY) ? TeamType.HOME : TeamType.AWAY;
+		}
+	}
+	/**
+	 * 이동이 teamType팀의 장기말이 장기판에서 둘 수 있는 이동인지를 반환하는 매서드, 이동 후 왕이 공격받는지는 따지지 않는다.
+	 */
+	private boolean isGenerated(int move, TeamType teamType) {
+		int count = MOVE_GENERATOR.generateMoves(teamType, MOVES, 0);
+		for(int position = 0; position < count; position++) {
+			if(MOVES[position] == move)	return true;
+		}
+		
+		return false;
+	}
+	
+	private static int getWeight(GameStatus result, TeamType teamType) {
+		switch(result) {
+		case HOME_WIN :
+			return teamType == TeamType.HOME ? WIN_WEIGHT : 0;
+		case AWAY_WIN :
+			return teamType == TeamType.AWAY ? WIN_WEIGHT : 0;
+		default :
+			return DRAW_WEIGHT;
+		}
+	}
+	/**
+	 * 더한 이동들을 키의 순서, 같은 키 안에서는 가중치가 큰 순서로 정렬하여 오프닝 북 파일에 쓰는 매서드
+	 * 임시 파일에 쓴 후 옮기므로 같은 파일을 매핑하고 있는 OpeningBook은 이전 파일을 계속 읽는다.
+	 * @param bookPath 오프닝 북 파일의 경로
+	 * @return 쓴 항목의 수
+	 * @throws IOException 파일에 쓸 수 없는 경우
+	 */
+	public int write(Path bookPath) throws IOException {
+		List<Long> keys = new ArrayList<>(WEIGHTS.keySet());
+		Collections.sort(keys);
+		
+		Path temporaryPath = bookPath.resolveSibling(bookPath.getFileName() + ".tmp");
+		int entryCount = 0;
+		try(FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+			buffer.position(OpeningBook.HEADER_SIZE);
+			
+			for(long key : keys) {
+				List<Map.Entry<Integer, Integer>> moves = new ArrayList<>(WEIGHTS.get(key).entrySet());
+				moves.sort((first, second) -> first.getValue().equals(second.getValue()) ? Integer.compare(first.getKey(), second.getKey()) : Integer.compare(second.getValue(), first.getValue()));
+				
+				for(Map.Entry<Integer, Integer> move : moves) {
+					if(move.getValue() < MIN_WEIGHT)	break;
+					if(buffer.remaining() < OpeningBook.ENTRY_SIZE)	writeBuffer(channel, buffer);
+					
+					buffer.putLong(key);
+					buffer.putInt(move.getKey());
+					buffer.putInt(move.getValue());
+					entryCount++;
+				}
+			}
+			writeBuffer(channel, buffer);
+			
+			buffer.putInt(OpeningBook.MAGIC);
+			buffer.putInt(OpeningBook.VERSION);
+			buffer.putInt(entryCount);
+			buffer.putInt(0);
+			buffer.flip();
+			while(buffer.hasRemaining())	channel.write(buffer, buffer.position());
+			channel.force(false);
+		}
+		
+		Files.move(temporaryPath, bookPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		return entryCount;
+	}
+	
+	private static void writeBuffer(FileChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while(buffer.hasRemaining())	channel.write(buffer);
+		buffer.clear();
+	}
+	
+	public int getPositionCount() {
+		return WEIGHTS.size();
+	}
+	
+	public static void main(String[] args) throws IOException {
+		if(args.length < 2) {
+			System.out.println("usage: OpeningBookBuilder <game log> <opening book> [max ply] [min weight]");
+			return;
+		}
+		
+		OpeningBookBuilder builder = new OpeningBookBuilder(args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MAX_PLY, args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_MIN_WEIGHT);
+		int gameCount = builder.addGameLogs(Paths.get(args[0]));
+		int entryCount = builder.write(Paths.get(args[1]));
+		System.out.println("games: " + gameCount + ", positions: " + builder.getPositionCount() + ", entries: " + entryCount);
+	}
+}
@@ -0,0 +1,124 @@
+package com.kms.chinesechess.game.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.kms.chinesechess.game.data.Move;
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.game.data.board.ReadableBoardStatus;
+import com.kms.chinesechess.game.tablebase.Tablebases;
+
+/**
+ * 여러 스레드로 한 장기판을 함께 탐색하는 탐색 엔진 클래스(Lazy SMP)
+ * 스레드마다 자신의 SearchEngine(장기판의 복사본, 이동 목록, 이동 순서 정보)을 가지므로 탐색 중에 공유하는 상태는 TranspositionTable뿐이다.
+ * 모든 스레드가 같은 장기판을 탐색하되 보조 스레드의 절반은 한 깊이 더 깊게 시작하여, 표에 먼저 남긴 결과로 다른 스레드의 탐색을 줄여준다.
+ * 호출한 스레드가 주 탐색을 맡고, 주 탐색이 끝나면 보조 스레드들을 멈춘다.
+ * @author Kwon
+ *
+ */
+public class ParallelSearchEngine {
+	private final SearchEngine[] SEARCH_ENGINES;
+	private final TranspositionTable TRANSPOSITION_TABLE;
+	private final ExecutorService EXECUTOR_SERVICE;	// 보조 스레드들, 스레드가 1개면 null
+	/**
+	 * @param threadCount 탐색에 사용할 스레드의 수, 호출한 스레드를 포함한다.
+	 * @param transpositionTable 모든 스레드가 공유할 표
+	 */
+	public ParallelSearchEngine(int threadCount, TranspositionTable transpositionTable) {
+		if(threadCount < 1)	throw new IllegalArgumentException("Thread count: " + threadCount);
+		
+		this.TRANSPOSITION_TABLE = transpositionTable;
+		this.SEARCH_ENGINES = new SearchEngine[threadCount];
+		for(int index = 0; index < threadCount; index++)	SEARCH_ENGINES[index] = new SearchEngine(transpositionTable);
+		
+		this.EXECUTOR_SERVICE = threadCount == 1 ? null : Executors.newFixedThreadPool(threadCount - 1, runnable -> {
+			Thread thread = new Thread(runnable, "search-helper");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	/**
+	 * 모든 스레드의 반복 심화의 최대 깊이를 설정하는 매서드
+	 * @param maxDepth 1 ~ SearchEngine.MAX_PLY / 2의 깊이
+	 */
+	public void setMaxDepth(int maxDepth) {
+		for(SearchEngine searchEngine : SEARCH_ENGINES)	searchEngine.setMaxDepth(maxDepth);
+	}
+	/**
+	 * 탐색하기 전에 찾아볼 오프닝 북을 설정하는 매서드
+	 * @param openingBook 오프닝 북, null이면 찾아보지 않는다.
+	 */
+	public void setOpeningBook(OpeningBook openingBook) {
+		SEARCH_ENGINES[0].setOpeningBook(openingBook);
+	}
+	/**
+	 * 탐색하기 전에 찾아볼 엔드게임 테이블베이스를 설정하는 매서드
+	 * @param tablebases 테이블베이스, null이면 찾아보지 않는다.
+	 */
+	public void setTablebases(Tablebases tablebases) {
+		SEARCH_ENGINES[0].setTablebases(tablebases);
+	}
+	/**
+	 * 장기판에서 teamType팀의 최선의 이동을 모든 스레드로 탐색하는 매서드
+	 * 주 탐색의 결과를 반환하되, 보조 스레드가 더 깊은 깊이를 완료했다면 그 결과를 반환한다. 노드의 수는 모든 스레드의 합이다.
+	 * @param boardStatus 장기판, 탐색이 끝날 때까지 변경하면 안된다.
+	 * @param teamType 이동할 팀
+	 * @param timeLimitMillis 탐색에 사용할 시간
+	 * @return 탐색 결과
+	 */
+	public SearchResult search(ReadableBoardStatus boardStatus, TeamType teamType, long timeLimitMillis) {
+		SearchResult bookResult = SEARCH_ENGINES[0].probeOpeningBook(boardStatus, teamType);
+		if(bookResult != null)	return bookResult;
+		SearchResult tablebaseResult = SEARCH_ENGINES[0].probeTablebases(boardStatus, teamType);
+		if(tablebaseResult != null)	return tablebaseResult;
+		
+		long startTime = System.nanoTime();
+		AtomicBoolean stopSignal = new AtomicBoolean(false);
+		TRANSPOSITION_TABLE.newSearch();
+		
+		List<Future<SearchResult>> helperResults = new ArrayList<>();
+		for(int index = 1; index < SEARCH_ENGINES.length; index++) {
+			SearchEngine helper = SEARCH_ENGINES[index];
+			int startDepth = 1 + (index & 1);
+			helperResults.add(EXECUTOR_SERVICE.submit(() -> helper.search(boardStatus, teamType, timeLimitMillis, startDepth, stopSignal, false)));
+		}
+		
+		SearchResult bestResult;
+		try {
+			bestResult = SEARCH_ENGINES[0].search(boardStatus, teamType, timeLimitMillis, 1, null, false);
+		} finally {
+			stopSignal.set(true);
+		}
+		
+		long nodeCount = bestResult.NODE_COUNT;
+		for(Future<SearchResult> helperResult : helperResults) {
+			SearchResult result = getResult(helperResult);
+			nodeCount += result.NODE_COUNT;
+			if(result.BEST_MOVE != Move.NONE && result.DEPTH > bestResult.DEPTH)	bestResult = result;
+		}
+		
+		return new SearchResult(bestResult.BEST_MOVE, bestResult.SCORE, bestResult.DEPTH, nodeCount, System.nanoTime() - startTime);
+	}
+	/**
+	 * 보조 스레드들을 종료하는 매서드, 종료 후에는 탐색할 수 없다.
+	 */
+	public void shutdown() {
+		if(EXECUTOR_SERVICE != null)	EXECUTOR_SERVICE.shutdownNow();
+	}
+	
+	private SearchResult getResult(Future<SearchResult> future) {
+		try {
+			return future.get();
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} catch(ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+}
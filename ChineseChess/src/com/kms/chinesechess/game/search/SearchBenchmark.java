@@ -0,0 +1,83 @@
+package com.kms.chinesechess.game.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.game.data.board.BoardStatus;
+import com.kms.chinesechess.game.data.board.StartingPosition;
+
+/**
+ * ParallelSearchEngine의 스레드 수에 따른 속도 향상을 측정하는 실행 클래스
+ * 시작 배치와 시작 배치에서 몇 수 진행한 장기판들을 같은 깊이까지 탐색하는 데 걸린 시간을 스레드 1, 2, 4, 8개에 대해 측정하고
+ * (측정 전에 스레드 1개로 한번 탐색하여 JIT 컴파일을 마친다.)
+ * 스레드 1개에 대한 속도 향상과 초당 노드의 수를 출력한다.
+ * 사용법: SearchBenchmark [깊이(기본 7)] [표의 크기 MB(기본 64)]
+ * @author Kwon
+ *
+ */
+public class SearchBenchmark {
+	private static final int[] THREAD_COUNTS = { 1, 2, 4, 8 };
+	private static final int[] OPENING_PLIES = { 0, 4, 8 };	// 시작 배치에서 진행할 수의 수
+	private static final long TIME_LIMIT_MILLIS = 10 * 60 * 1000;
+	
+	public static void main(String[] args) {
+		int depth = args.length > 0 ? Integer.parseInt(args[0]) : 7;
+		int megabytes = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+		
+		List<BoardStatus> boardStatuses = new ArrayList<>();
+		List<TeamType> teamTypes = new ArrayList<>();
+		for(int plies : OPENING_PLIES) {
+			BoardStatus boardStatus = new BoardStatus();
+			boardStatuses.add(boardStatus);
+			teamTypes.add(playOpening(boardStatus, plies));
+		}
+		
+		measure(1, depth, megabytes, boardStatuses, teamTypes);
+		System.out.println("depth " + depth + ", positions " + boardStatuses.size() + ", table " + megabytes + "MB");
+		long singleThreadNanos = 0;
+		for(int threadCount : THREAD_COUNTS) {
+			long[] measurement = measure(threadCount, depth, megabytes, boardStatuses, teamTypes);
+			long elapsedNanos = measurement[0], nodeCount = measurement[1];
+			
+			if(threadCount == 1)	singleThreadNanos = elapsedNanos;
+			System.out.printf("threads %d: %.3f s, nodes %d, nps %d, speedup %.2f%n", threadCount, elapsedNanos / 1e9, nodeCount,
+					nodeCount * 1_000_000_000L / Math.max(elapsedNanos, 1), (double)singleThreadNanos / elapsedNanos);
+		}
+	}
+	/**
+	 * 모든 장기판을 threadCount개의 스레드로 depth까지 탐색하는 매서드
+	 * @return { 걸린 시간(ns), 노드의 수 }
+	 */
+	private static long[] measure(int threadCount, int depth, int megabytes, List<BoardStatus> boardStatuses, List<TeamType> teamTypes) {
+		ParallelSearchEngine searchEngine = new ParallelSearchEngine(threadCount, new TranspositionTable(megabytes));
+		searchEngine.setMaxDepth(depth);
+		
+		long elapsedNanos = 0, nodeCount = 0;
+		for(int index = 0; index < boardStatuses.size(); index++) {
+			SearchResult result = searchEngine.search(boardStatuses.get(index), teamTypes.get(index), TIME_LIMIT_MILLIS);
+			elapsedNanos += result.ELAPSED_NANOS;
+			nodeCount += result.NODE_COUNT;
+		}
+		searchEngine.shutdown();
+		
+		return new long[] { elapsedNanos, nodeCount };
+	}
+	/**
+	 * 시작 배치에서 얕은 탐색으로 plies수만큼 진행하는 매서드
+	 * @return 다음에 이동할 팀
+	 */
+	private static TeamType playOpening(BoardStatus boardStatus, int plies) {
+		StartingPosition.setUp(boardStatus);
+		SearchEngine searchEngine = new SearchEngine(new TranspositionTable(1));
+		searchEngine.setMaxDepth(3);
+		
+		TeamType teamType = TeamType.HOME;
+		for(int ply = 0; ply < plies; ply++) {
+			SearchResult result = searchEngine.search(boardStatus, teamType, TIME_LIMIT_MILLIS);
+			boardStatus.moveBoxStatus(result.getSource(), result.getDestination());
+			teamType = (teamType == TeamType.AWAY) ? TeamType.HOME : TeamType.AWAY;
+		}
+		return teamType;
+	}
+}
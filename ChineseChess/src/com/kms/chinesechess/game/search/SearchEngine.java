@@ -0,0 +1,334 @@
+package com.kms.chinesechess.game.search;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.kms.chinesechess.game.chess_men_paths.MoveGenerator;
+import com.kms.chinesechess.game.chess_men_paths.PathMasks;
+import com.kms.chinesechess.game.data.Move;
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.game.data.board.BoardStatus;
+import com.kms.chinesechess.game.data.board.ReadableBoardStatus;
+import com.kms.chinesechess.game.data.board.ZobristKeys;
+import com.kms.chinesechess.game.tablebase.Tablebase;
+import com.kms.chinesechess.game.tablebase.Tablebases;
+import com.kms.chinesechess.support.Location;
+
+/**
+ * 컴퓨터 플레이어의 이동을 정하는 탐색 엔진 클래스
+ * 주어진 시간 동안 반복 심화(깊이 1부터 완료할 때마다 깊이를 늘림)로 알파베타 탐색을 하며, 말단에서는 잡는 이동만 이어서 탐색(정지 탐색)한다.
+ * 정지 탐색은 잡는 이동만 생성하고, 정적 교환 평가로 손해 보는 잡는 이동은 탐색하지 않는다.
+ * 장기판은 복사본에서 makeMove, unmakeMove로만 변경하고, 이동의 합법성은 이동 후 왕이 공격받는지로 판단한다.
+ * 탐색한 장기판은 Zobrist 키로 TranspositionTable에 저장하여 다른 순서의 이동으로 같은 장기판에 도달했을 때 다시 탐색하지 않는다.
+ * OpeningBook이 설정되어 있으면 탐색하기 전에 오프닝 북의 이동을 찾아보고, 합법적인 이동이 있으면 탐색하지 않고 반환한다.
+ * Tablebases가 설정되어 있고 장기판과 모든 이동 후의 장기판이 테이블베이스에 있으면 탐색하지 않고 테이블베이스의 최선의 이동을 반환한다.
+ * 한 인스턴스는 한 스레드에서만 사용해야한다.
+ * @author Kwon
+ *
+ */
+public class SearchEngine {
+	public static final int MAX_PLY = 64;	// 정지 탐색을 포함한 최대 탐색 깊이
+	static final int INFINITY = 30000;
+	static final int MATE_SCORE = 29000;	// 외통의 점수, 외통까지의 깊이만큼 줄어든다.
+	private static final int TIME_CHECK_INTERVAL = 1023;	// 노드의 수가 이 값의 배수가 될 때마다 남은 시간을 확인한다.
+	private static final int DEFAULT_TABLE_MEGABYTES = 16;
+	
+	private final BoardStatus BOARD_STATUS = new BoardStatus();	// 탐색에 사용하는 장기판의 복사본
+	private final MoveGenerator MOVE_GENERATOR = new MoveGenerator(BOARD_STATUS);
+	private final MoveOrderer MOVE_ORDERER = new MoveOrderer(BOARD_STATUS, MAX_PLY + 1);
+	private final int[][] MOVES = new int[MAX_PLY + 1][MoveGenerator.MAX_MOVE_COUNT];	// 탐색 깊이별 이동 목록
+	private final TranspositionTable TRANSPOSITION_TABLE;
+	private OpeningBook openingBook = null;	// 탐색하기 전에 찾아볼 오프닝 북, 없으면 null
+	private Tablebases tablebases = null;	// 탐색하기 전에 찾아볼 엔드게임 테이블베이스, 없으면 null
+	
+	private int maxDepth = MAX_PLY / 2;
+	private long nodeCount = 0, deadline = 0;
+	private boolean isStopped = false;
+	private AtomicBoolean stopSignal = null;	// 여러 탐색 엔진이 함께 탐색할 때 탐색을 멈추라는 신호, 혼자 탐색하면 null
+	private int rootBestMove = Move.NONE, completedDepth = 0;	// 루트에서 현재까지의 최선의 이동, 완료한 반복 심화의 깊이
+	
+	public SearchEngine() {
+		this(new TranspositionTable(DEFAULT_TABLE_MEGABYTES));
+	}
+	/**
+	 * 주어진 TranspositionTable을 사용하는 탐색 엔진을 생성한다. 표는 여러 탐색 엔진이 공유할 수 있다.
+	 * @param transpositionTable 탐색 결과를 저장할 표
+	 */
+	public SearchEngine(TranspositionTable transpositionTable) {
+		this.TRANSPOSITION_TABLE = transpositionTable;
+	}
+	/**
+	 * 반복 심화의 최대 깊이를 설정하는 매서드
+	 * @param maxDepth 1 ~ MAX_PLY / 2의 깊이
+	 */
+	public void setMaxDepth(int maxDepth) {
+		if(maxDepth < 1 || maxDepth > MAX_PLY / 2)	throw new IllegalArgumentException("Max depth: " + maxDepth);
+		this.maxDepth = maxDepth;
+	}
+	/**
+	 * 탐색하기 전에 찾아볼 오프닝 북을 설정하는 매서드
+	 * @param openingBook 오프닝 북, null이면 찾아보지 않는다. 여러 탐색 엔진이 공유할 수 있다.
+	 */
+	public void setOpeningBook(OpeningBook openingBook) {
+		this.openingBook = openingBook;
+	}
+	/**
+	 * 탐색하기 전에 찾아볼 엔드게임 테이블베이스를 설정하는 매서드
+	 * @param tablebases 테이블베이스, null이면 찾아보지 않는다. 여러 탐색 엔진이 공유할 수 있다.
+	 */
+	public void setTablebases(Tablebases tablebases) {
+		this.tablebases = tablebases;
+	}
+	/**
+	 * 장기판에서 teamType팀의 최선의 이동을 탐색하는 매서드
+	 * 시간이 다 되면 마지막으로 완료한 깊이의 결과를 반환하며, 깊이 1의 탐색은 시간과 관계없이 완료한다.
+	 * @param boardStatus 장기판, 탐색은 복사본에서 진행하므로 변경되지 않는다.
+	 * @param teamType 이동할 팀
+	 * @param timeLimitMillis 탐색에 사용할 시간
+	 * @return 탐색 결과
+	 */
+	public SearchResult search(ReadableBoardStatus boardStatus, TeamType teamType, long timeLimitMillis) {
+		SearchResult bookResult = probeOpeningBook(boardStatus, teamType);
+		if(bookResult != null)	return bookResult;
+		SearchResult tablebaseResult = probeTablebases(boardStatus, teamType);
+		if(tablebaseResult != null)	return tablebaseResult;
+		
+		return search(boardStatus, teamType, timeLimitMillis, 1, null, true);
+	}
+	/**
+	 * 오프닝 북에서 장기판의 이동을 찾는 매서드, 키가 우연히 같은 다른 장기판의 이동일 수 있으므로 합법적인 이동인지 확인한다.
+	 * @param boardStatus 장기판
+	 * @param teamType 이동할 팀
+	 * @return 오프닝 북의 이동을 최선의 이동으로 하는 깊이 0의 탐색 결과, 오프닝 북이 없거나 합법적인 이동이 없으면 null
+	 */
+	SearchResult probeOpeningBook(ReadableBoardStatus boardStatus, TeamType teamType) {
+		if(openingBook == null)	return null;
+		
+		long startTime = System.nanoTime();
+		BOARD_STATUS.copy(boardStatus);
+		int bookMove = openingBook.probe(BOARD_STATUS.getZobristKey() ^ ZobristKeys.getTurnKey(teamType));
+		if(bookMove == Move.NONE)	return null;
+		
+		int[] moves = MOVES[0];
+		int count = MOVE_GENERATOR.generateMoves(teamType, moves, 0);
+		for(int position = 0; position < count; position++) {
+			if(moves[position] != bookMove)	continue;
+			if(!makeLegalMove(bookMove, teamType, (teamType == TeamType.AWAY) ? TeamType.HOME : TeamType.AWAY))	return null;
+			
+			BOARD_STATUS.unmakeMove();
+			return new SearchResult(bookMove, 0, 0, 0, System.nanoTime() - startTime);
+		}
+		
+		return null;
+	}
+	/**
+	 * 테이블베이스에서 장기판의 최선의 이동을 찾는 매서드
+	 * 합법적인 이동마다 이동 후의 장기판(잡는 이동이면 잡힌 후의 구성)의 값을 읽어서 가장 빠른 승, 비김, 가장 늦은 패의 순서로 고른다.
+	 * @param boardStatus 장기판
+	 * @param teamType 이동할 팀
+	 * @return 고른 이동과 외통 점수(비기면 0)의 깊이 0의 탐색 결과, 테이블베이스가 없거나 장기판 또는 이동 후의 장기판 중 하나라도 테이블베이스에 없으면 null
+	 */
+	SearchResult probeTablebases(ReadableBoardStatus boardStatus, TeamType teamType) {
+		if(tablebases == null)	return null;
+		
+		long startTime = System.nanoTime();
+		BOARD_STATUS.copy(boardStatus);
+		int value = tablebases.probe(BOARD_STATUS, teamType);
+		if(value < 0 || value == Tablebase.INVALID)	return null;
+		
+		TeamType partnerTeamType = (teamType == TeamType.AWAY) ? TeamType.HOME : TeamType.AWAY;
+		int[] moves = MOVES[0];
+		int count = MOVE_GENERATOR.generateMoves(teamType, moves, 0);
+		int bestMove = Move.NONE, bestScore = -INFINITY;
+		for(int position = 0; position < count; position++) {
+			if(!makeLegalMove(moves[position], teamType, partnerTeamType))	continue;
+			
+			int childValue = tablebases.probe(BOARD_STATUS, partnerTeamType);
+			BOARD_STATUS.unmakeMove();
+			if(childValue < 0 || childValue == Tablebase.INVALID)	return null;
+			
+			int score = Tablebase.isLoss(childValue) ? MATE_SCORE - Tablebase.getDistance(childValue) - 1
+					: Tablebase.isWin(childValue) ? -MATE_SCORE + Tablebase.getDistance(childValue) + 1 : 0;
+			if(score > bestScore) {
+				bestMove = moves[position];
+				bestScore = score;
+			}
+		}
+		if(bestMove == Move.NONE)	return null;
+		
+		return new SearchResult(bestMove, bestScore, 0, 0, System.nanoTime() - startTime);
+	}
+	/**
+	 * 다른 탐색 엔진과 TranspositionTable을 공유하며 함께 탐색할 때 사용하는 매서드
+	 * 탐색 엔진마다 시작 깊이를 다르게 하여 서로 다른 깊이를 탐색하면서 표에 남긴 결과로 서로의 탐색을 돕는다.
+	 * @param boardStatus 장기판, 탐색은 복사본에서 진행하므로 변경되지 않는다.
+	 * @param teamType 이동할 팀
+	 * @param timeLimitMillis 탐색에 사용할 시간
+	 * @param startDepth 반복 심화를 시작할 깊이
+	 * @param stopSignal 탐색을 멈추라는 신호, true가 되면 완료한 깊이와 관계없이 멈춘다. 신호를 받지 않으면 null
+	 * @param isNewSearch TranspositionTable.newSearch()를 부를지 여부, 함께 탐색하면 표를 공유하는 쪽에서 탐색마다 한번만 부르므로 false
+	 * @return 탐색 결과
+	 */
+	SearchResult search(ReadableBoardStatus boardStatus, TeamType teamType, long timeLimitMillis, int startDepth, AtomicBoolean stopSignal, boolean isNewSearch) {
+		long startTime = System.nanoTime();
+		BOARD_STATUS.copy(boardStatus);
+		MOVE_ORDERER.clear();
+		if(isNewSearch)	TRANSPOSITION_TABLE.newSearch();
+		nodeCount = 0;
+		deadline = startTime + timeLimitMillis * 1_000_000L;
+		isStopped = false;
+		this.stopSignal = stopSignal;
+		rootBestMove = Move.NONE;
+		completedDepth = 0;
+		
+		int bestMove = Move.NONE, bestScore = 0;
+		for(int depth = Math.min(startDepth, maxDepth); depth <= maxDepth; depth++) {
+			int score = alphaBeta(teamType, depth, 0, -INFINITY, INFINITY);
+			if(isStopped)	break;
+			
+			bestMove = rootBestMove;
+			bestScore = score;
+			completedDepth = depth;
+			if(Math.abs(score) >= MATE_SCORE - MAX_PLY)	break;
+		}
+		
+		return new SearchResult(bestMove, bestScore, completedDepth, nodeCount, System.nanoTime() - startTime);
+	}
+	/**
+	 * 알파베타 탐색 매서드
+	 * @param teamType 이동할 팀
+	 * @param depth 남은 탐색 깊이
+	 * @param ply 루트로부터의 탐색 깊이
+	 * @param alpha teamType팀이 이미 보장받은 점수
+	 * @param beta 상대 팀이 이미 보장받은 점수
+	 * @return teamType팀의 입장에서의 점수
+	 */
+	private int alphaBeta(TeamType teamType, int depth, int ply, int alpha, int beta) {
+		if(depth <= 0)	return quiesce(teamType, ply, alpha, beta);
+		if(checkTime())	return 0;
+		
+		long key = BOARD_STATUS.getZobristKey() ^ ZobristKeys.getTurnKey(teamType);
+		long entry = TRANSPOSITION_TABLE.probe(key);
+		if(ply > 0 && entry != 0 && TranspositionTable.getDepth(entry) >= depth) {
+			int score = fromTableScore(TranspositionTable.getScore(entry), ply), flag = TranspositionTable.getFlag(entry);
+			if(flag == TranspositionTable.EXACT
+					|| (flag == TranspositionTable.LOWER_BOUND && score >= beta)
+					|| (flag == TranspositionTable.UPPER_BOUND && score <= alpha))	return score;
+		}
+		
+		TeamType partnerTeamType = (teamType == TeamType.AWAY) ? TeamType.HOME : TeamType.AWAY;
+		int[] moves = MOVES[ply];
+		int count = MOVE_GENERATOR.generateMoves(teamType, moves, 0);
+		int firstMove = (ply == 0 && rootBestMove != Move.NONE) ? rootBestMove : TranspositionTable.getMove(entry);
+		MOVE_ORDERER.sortMoves(moves, count, ply, teamType, firstMove);
+		
+		int bestMove = Move.NONE, legalCount = 0;
+		for(int position = 0; position < count; position++) {
+			int move = moves[position];
+			boolean isCapture = MOVE_ORDERER.isCapture(move);
+			if(!makeLegalMove(move, teamType, partnerTeamType))	continue;
+			
+			legalCount++;
+			int score = -alphaBeta(partnerTeamType, depth - 1, ply + 1, -beta, -alpha);
+			BOARD_STATUS.unmakeMove();
+			if(isStopped)	return 0;
+			
+			if(score > alpha) {
+				alpha = score;
+				bestMove = move;
+				if(ply == 0)	rootBestMove = move;
+			}
+			if(alpha >= beta) {
+				if(!isCapture)	MOVE_ORDERER.addCutoff(move, ply, depth, teamType);
+				TRANSPOSITION_TABLE.store(key, move, toTableScore(alpha, ply), depth, TranspositionTable.LOWER_BOUND);
+				return alpha;
+			}
+		}
+		
+		if(legalCount == 0)	alpha = isChecked(teamType, partnerTeamType) ? -MATE_SCORE + ply : 0;
+		TRANSPOSITION_TABLE.store(key, bestMove, toTableScore(alpha, ply), depth, 
+				(bestMove == Move.NONE && legalCount > 0) ? TranspositionTable.UPPER_BOUND : TranspositionTable.EXACT);
+		return alpha;
+	}
+	/**
+	 * 잡는 이동만 탐색하는 정지 탐색 매서드, 말단에서 장기말을 주고받는 중간에 평가하는 것을 막는다.
+	 * @param teamType 이동할 팀
+	 * @param ply 루트로부터의 탐색 깊이
+	 * @param alpha teamType팀이 이미 보장받은 점수
+	 * @param beta 상대 팀이 이미 보장받은 점수
+	 * @return teamType팀의 입장에서의 점수
+	 */
+	private int quiesce(TeamType teamType, int ply, int alpha, int beta) {
+		if(checkTime())	return 0;
+		
+		int standPat = Evaluator.evaluate(BOARD_STATUS, teamType);
+		if(standPat >= beta || ply >= MAX_PLY)	return standPat;
+		if(standPat > alpha)	alpha = standPat;
+		
+		TeamType partnerTeamType = (teamType == TeamType.AWAY) ? TeamType.HOME : TeamType.AWAY;
+		int[] moves = MOVES[ply];
+		int count = 0, generatedCount = MOVE_GENERATOR.generateCaptures(teamType, moves, 0);
+		for(int position = 0; position < generatedCount; position++) {
+			if(!MOVE_ORDERER.isLosingCapture(moves[position]))	moves[count++] = moves[position];
+		}
+		MOVE_ORDERER.sortMoves(moves, count, ply, teamType, Move.NONE);
+		
+		for(int position = 0; position < count; position++) {
+			if(!makeLegalMove(moves[position], teamType, partnerTeamType))	continue;
+			
+			int score = -quiesce(partnerTeamType, ply + 1, -beta, -alpha);
+			BOARD_STATUS.unmakeMove();
+			if(isStopped)	return 0;
+			
+			if(score > alpha)	alpha = score;
+			if(alpha >= beta)	return alpha;
+		}
+		
+		return alpha;
+	}
+	/**
+	 * 이동을 장기판에 적용하고 합법적인 이동인지를 반환하는 매서드, 합법적이지 않으면 이동을 되돌린다.
+	 * @param move 부호화된 이동
+	 * @param teamType 이동하는 팀
+	 * @param partnerTeamType 상대 팀
+	 * @return 이동 후 teamType팀의 왕이 공격받지 않으면 true(이동이 적용된 상태), 그렇지 않으면 false
+	 */
+	private boolean makeLegalMove(int move, TeamType teamType, TeamType partnerTeamType) {
+		BOARD_STATUS.makeMove(Location.instanceAt(Move.getSource(move)), Location.instanceAt(Move.getDestination(move)));
+		if(!isChecked(teamType, partnerTeamType))	return true;
+		
+		BOARD_STATUS.unmakeMove();
+		return false;
+	}
+	
+	private boolean isChecked(TeamType teamType, TeamType partnerTeamType) {
+		Location kingLocation = BOARD_STATUS.getKingLocation(teamType);
+		return kingLocation == null || PathMasks.isAttacked(BOARD_STATUS.getBitBoardStatus(), kingLocation.INDEX, partnerTeamType);
+	}
+	/**
+	 * 외통의 점수를 루트로부터의 깊이 대신 현재 장기판으로부터의 깊이로 바꿔서 표에 저장하는 매서드
+	 */
+	private int toTableScore(int score, int ply) {
+		if(score >= MATE_SCORE - MAX_PLY)	return score + ply;
+		if(score <= -MATE_SCORE + MAX_PLY)	return score - ply;
+		return score;
+	}
+	/**
+	 * 표에 저장된 외통의 점수를 루트로부터의 깊이로 바꾸는 매서드
+	 */
+	private int fromTableScore(int score, int ply) {
+		if(score >= MATE_SCORE - MAX_PLY)	return score - ply;
+		if(score <= -MATE_SCORE + MAX_PLY)	return score + ply;
+		return score;
+	}
+	/**
+	 * 노드의 수를 세고 주기적으로 남은 시간과 멈추라는 신호를 확인하는 매서드, 첫번째 깊이의 탐색 중에는 시간이 다 되어도 멈추지 않는다.
+	 * @return 탐색을 멈춰야하면 true, 그렇지 않으면 false
+	 */
+	private boolean checkTime() {
+		if((++nodeCount & TIME_CHECK_INTERVAL) != 0)	return isStopped;
+		
+		if(stopSignal != null && stopSignal.get())	isStopped = true;
+		else if(completedDepth > 0 && System.nanoTime() > deadline)	isStopped = true;
+		return isStopped;
+	}
+}
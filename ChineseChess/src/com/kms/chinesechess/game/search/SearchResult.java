@@ -0,0 +1,53 @@
+package com.kms.chinesechess.game.search;
+
+import com.kms.chinesechess.game.data.Move;
+import com.kms.chinesechess.support.Location;
+
+/**
+ * 한번의 탐색 결과(최선의 이동, 점수, 완료한 깊이, 탐색한 노드의 수, 걸린 시간)를 담는 클래스
+ * @author Kwon
+ *
+ */
+public class SearchResult {
+	public final int BEST_MOVE;			// 부호화된 최선의 이동, 이동할 수 없으면 Move.NONE
+	public final int SCORE;				// 탐색한 팀의 입장에서의 점수
+	public final int DEPTH;				// 완료한 반복 심화의 깊이
+	public final long NODE_COUNT;		// 탐색한 노드의 수
+	public final long ELAPSED_NANOS;	// 탐색에 걸린 시간
+	
+	SearchResult(int bestMove, int score, int depth, long nodeCount, long elapsedNanos) {
+		this.BEST_MOVE = bestMove;
+		this.SCORE = score;
+		this.DEPTH = depth;
+		this.NODE_COUNT = nodeCount;
+		this.ELAPSED_NANOS = elapsedNanos;
+	}
+	/**
+	 * 최선의 이동의 출발 위치를 반환하는 매서드
+	 * @return 출발 위치, 이동할 수 없으면 null
+	 */
+	public Location getSource() {
+		return BEST_MOVE == Move.NONE ? null : Location.instanceAt(Move.getSource(BEST_MOVE));
+	}
+	/**
+	 * 최선의 이동의 도착 위치를 반환하는 매서드
+	 * @return 도착 위치, 이동할 수 없으면 null
+	 */
+	public Location getDestination() {
+		return BEST_MOVE == Move.NONE ? null : Location.instanceAt(Move.getDestination(BEST_MOVE));
+	}
+	/**
+	 * 초당 탐색한 노드의 수를 반환하는 매서드, 동시에 진행할 수 있는 AI 대국의 수를 가늠하는 데 사용한다.
+	 * @return 초당 노드의 수
+	 */
+	public long getNodesPerSecond() {
+		return ELAPSED_NANOS == 0 ? 0 : NODE_COUNT * 1_000_000_000L / ELAPSED_NANOS;
+	}
+	
+	@Override
+	public String toString() {
+		String move = BEST_MOVE == Move.NONE ? "none" 
+				: "(" + getSource().ROW + "," + getSource().COL + ") -> (" + getDestination().ROW + "," + getDestination().COL + ")";
+		return "depth " + DEPTH + ", score " + SCORE + ", nodes " + NODE_COUNT + ", nps " + getNodesPerSecond() + ", move " + move;
+	}
+}
@@ -0,0 +1,74 @@
+package com.kms.chinesechess.game.search;
+
+import com.kms.chinesechess.game.chess_men_paths.PathMasks;
+import com.kms.chinesechess.game.data.ChessManType;
+import com.kms.chinesechess.game.data.Move;
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.game.data.board.BoardStatus;
+import com.kms.chinesechess.support.Location;
+
+/**
+ * 한 칸에서 양 팀이 가치가 낮은 장기말부터 번갈아 잡을 때 이동하는 팀이 얻는 기물 점수를 계산하는 정적 교환 평가(SEE) 클래스
+ * 잡을 때마다 장기판에 makeMove로 적용한 후 PathMasks.getAttacker로 다음 장기말을 찾으므로, 앞의 장기말이 비켜서 열린 차, 포의 경로와
+ * 포는 포를 넘거나 잡을 수 없는 규칙, 마와 상의 멱이 막히는 규칙이 그대로 반영된다. 계산이 끝나면 unmakeMove로 장기판을 되돌린다.
+ * 왕은 가장 마지막에 잡으러 가며, 왕을 잡히는 교환은 하지 않도록 어떤 장기말보다 큰 점수로 센다. 이동 후 왕이 공격받는지는 따지지 않는다.
+ * 한 인스턴스는 한 스레드에서만 사용해야한다.
+ * @author Kwon
+ *
+ */
+public class StaticExchange {
+	private static final int KING_VALUE = 10000;
+	private static final int MAX_EXCHANGE_COUNT = 32;	// 한 칸에서 계산할 최대 교환의 수, 양 팀의 장기말의 수보다 크다.
+	private static final ChessManType[] ATTACKER_ORDER = {	// 다음에 잡으러 갈 장기말을 찾는 순서, 기물 점수가 낮은 순
+			ChessManType.SOLDIER, ChessManType.ADVISER, ChessManType.ELEPHANT, ChessManType.HORSE, ChessManType.CANNON, ChessManType.CHARIOT, ChessManType.KING };
+	
+	private final BoardStatus BOARD_STATUS;
+	private final int[] GAINS = new int[MAX_EXCHANGE_COUNT];	// 교환의 순번마다 그 차례의 팀이 얻는 점수
+	/**
+	 * @param boardStatus 평가할 장기판, 평가하는 동안 이동을 적용했다가 되돌린다.
+	 */
+	public StaticExchange(BoardStatus boardStatus) {
+		this.BOARD_STATUS = boardStatus;
+	}
+	/**
+	 * 이동을 시작으로 도착 위치에서 교환이 끝났을 때 이동하는 팀이 얻는 점수를 반환하는 매서드
+	 * 각 팀은 교환을 이어가는 것이 불리하면 언제든 멈출 수 있는 것으로 계산한다.
+	 * @param move 부호화된 이동, 출발 위치에 장기말이 있어야한다.
+	 * @return 이동하는 팀이 얻는 기물 점수, 빈칸으로 가는 이동이면 0 이하이고 이동한 장기말을 잃으면 음수
+	 */
+	public int evaluate(int move) {
+		int target = Move.getDestination(move), attacker = Move.getSource(move);
+		Location targetLocation = Location.instanceAt(target);
+		TeamType teamType = BOARD_STATUS.getTeamType(attacker);
+		int depth = 0, madeCount = 0;
+		
+		GAINS[0] = BOARD_STATUS.isSpace(target) ? 0 : getValue(BOARD_STATUS.getChessManType(target));
+		do {
+			depth++;
+			GAINS[depth] = getValue(BOARD_STATUS.getChessManType(attacker)) - GAINS[depth - 1];
+			if(Math.max(-GAINS[depth - 1], GAINS[depth]) < 0)	break;
+			
+			BOARD_STATUS.makeMove(Location.instanceAt(attacker), targetLocation);
+			madeCount++;
+			teamType = (teamType == TeamType.AWAY) ? TeamType.HOME : TeamType.AWAY;
+			attacker = getLeastValuableAttacker(target, teamType);
+		} while(attacker >= 0 && depth < MAX_EXCHANGE_COUNT - 1);
+		
+		for(; madeCount > 0; madeCount--)	BOARD_STATUS.unmakeMove();
+		while(--depth > 0)	GAINS[depth - 1] = -Math.max(-GAINS[depth - 1], GAINS[depth]);
+		return GAINS[0];
+	}
+	
+	private int getLeastValuableAttacker(int target, TeamType teamType) {
+		for(ChessManType chessManType : ATTACKER_ORDER) {
+			int attacker = PathMasks.getAttacker(BOARD_STATUS.getBitBoardStatus(), target, teamType, chessManType);
+			if(attacker >= 0)	return attacker;
+		}
+		
+		return -1;
+	}
+	
+	private static int getValue(ChessManType chessManType) {
+		return chessManType == ChessManType.KING ? KING_VALUE : Evaluator.getValue(chessManType);
+	}
+}
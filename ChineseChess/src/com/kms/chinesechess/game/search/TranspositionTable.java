@@ -0,0 +1,137 @@
+package com.kms.chinesechess.game.search;
+
+import com.kms.chinesechess.game.data.Move;
+
+/**
+ * 탐색한 장기판의 결과(최선의 이동, 점수, 깊이, 점수의 종류)를 Zobrist 키로 저장하는 고정 크기의 표
+ * 항목은 long 배열의 연속된 두 칸에 (키 ^ 데이터, 데이터)로 저장된다. 여러 스레드가 락 없이 동시에 쓰다가 두 칸이 서로 다른 쓰기에서 왔다면
+ * 조회할 때 키 ^ 데이터가 키와 맞지 않으므로 없는 항목으로 취급된다.
+ * 항목의 수는 2의 거듭제곱이며, 같은 칸에는 더 깊이 탐색한 결과나 이번 탐색의 결과가 우선한다.
+ * @author Kwon
+ *
+ */
+public class TranspositionTable {
+	public static final int EXACT = 1, LOWER_BOUND = 2, UPPER_BOUND = 3;	// 점수의 종류: 정확한 값, 하한(베타 컷), 상한(알파를 넘지 못함)
+	private static final int ENTRY_BYTES = Long.BYTES * 2;
+	
+	private static final int MOVE_SHIFT = 0, MOVE_BITS = 14;
+	private static final int SCORE_SHIFT = 14, SCORE_BITS = 16;
+	private static final int DEPTH_SHIFT = 30, DEPTH_BITS = 8;
+	private static final int FLAG_SHIFT = 38, FLAG_BITS = 2;
+	private static final int AGE_SHIFT = 40, AGE_BITS = 8;
+	
+	private final long[] ENTRIES;
+	private final int MASK;	// 항목의 수 - 1
+	
+	private volatile int age = 0;	// newSearch()를 부를 때마다 증가, 이전 탐색의 항목을 먼저 교체하는 데 사용한다.
+	/**
+	 * 크기가 megabytes 이하인 가장 큰 2의 거듭제곱 개의 항목을 갖는 표를 생성한다.
+	 * @param megabytes 표의 최대 크기
+	 */
+	public TranspositionTable(int megabytes) {
+		if(megabytes < 1)	throw new IllegalArgumentException("Megabytes: " + megabytes);
+		
+		long entryCount = Long.highestOneBit((long)megabytes * 1024 * 1024 / ENTRY_BYTES);
+		entryCount = Math.min(entryCount, Integer.highestOneBit(Integer.MAX_VALUE / 2));
+		ENTRIES = new long[(int)entryCount * 2];
+		MASK = (int)entryCount - 1;
+	}
+	/**
+	 * 새로운 탐색을 시작할 때 부르는 매서드, 이전 탐색에서 저장된 항목들은 깊이와 관계없이 교체될 수 있다.
+	 */
+	public void newSearch() {
+		age = (age + 1) & ((1 << AGE_BITS) - 1);
+	}
+	/**
+	 * 모든 항목을 지우는 매서드
+	 */
+	public void clear() {
+		for(int index = 0; index < ENTRIES.length; index++)	ENTRIES[index] = 0;
+	}
+	/**
+	 * 키에 해당하는 항목의 데이터를 반환하는 매서드, 데이터는 getMove, getScore, getDepth, getFlag로 해석한다.
+	 * @param key 장기판의 Zobrist 키
+	 * @return 항목의 데이터, 없으면 0
+	 */
+	public long probe(long key) {
+		int index = ((int)key & MASK) << 1;
+		long data = ENTRIES[index + 1];
+		return (ENTRIES[index] ^ data) == key ? data : 0;
+	}
+	/**
+	 * 탐색 결과를 저장하는 매서드, 칸에 이번 탐색에서 더 깊이 탐색한 다른 장기판의 항목이 있으면 저장하지 않는다.
+	 * @param key 장기판의 Zobrist 키
+	 * @param move 최선의 이동, 없으면 Move.NONE
+	 * @param score 점수
+	 * @param depth 남은 탐색 깊이
+	 * @param flag EXACT, LOWER_BOUND, UPPER_BOUND 중 하나
+	 */
+	public void store(long key, int move, int score, int depth, int flag) {
+		int index = ((int)key & MASK) << 1;
+		long previousData = ENTRIES[index + 1];
+		boolean isSameKey = (ENTRIES[index] ^ previousData) == key;
+		
+		if(previousData != 0 && !isSameKey && getAge(previousData) == age && getDepth(previousData) > depth)	return;
+		if(isSameKey && move == Move.NONE)	move = getMove(previousData);
+		
+		long data = pack(move == Move.NONE ? 0 : move, MOVE_SHIFT, MOVE_BITS)
+				| pack(score, SCORE_SHIFT, SCORE_BITS)
+				| pack(depth, DEPTH_SHIFT, DEPTH_BITS)
+				| pack(flag, FLAG_SHIFT, FLAG_BITS)
+				| pack(age, AGE_SHIFT, AGE_BITS);
+		ENTRIES[index] = key ^ data;
+		ENTRIES[index + 1] = data;
+	}
+	/**
+	 * 표가 사용하는 메모리의 크기를 반환하는 매서드
+	 * @return 바이트 수
+	 */
+	public long getBytes() {
+		return (long)ENTRIES.length * Long.BYTES;
+	}
+	/**
+	 * 항목의 데이터에서 최선의 이동을 반환하는 매서드
+	 * @param data probe의 결과
+	 * @return 부호화된 이동, 없으면 Move.NONE
+	 */
+	public static int getMove(long data) {
+		int move = (int)unpack(data, MOVE_SHIFT, MOVE_BITS);
+		return (data == 0 || move == 0) ? Move.NONE : move;
+	}
+	/**
+	 * 항목의 데이터에서 점수를 반환하는 매서드
+	 * @param data probe의 결과
+	 * @return 점수
+	 */
+	public static int getScore(long data) {
+		return (short)unpack(data, SCORE_SHIFT, SCORE_BITS);
+	}
+	/**
+	 * 항목의 데이터에서 남은 탐색 깊이를 반환하는 매서드
+	 * @param data probe의 결과
+	 * @return 남은 탐색 깊이
+	 */
+	public static int getDepth(long data) {
+		return (int)unpack(data, DEPTH_SHIFT, DEPTH_BITS);
+	}
+	/**
+	 * 항목의 데이터에서 점수의 종류를 반환하는 매서드
+	 * @param data probe의 결과
+	 * @return EXACT, LOWER_BOUND, UPPER_BOUND 중 하나, 항목이 없으면 0
+	 */
+	public static int getFlag(long data) {
+		return (int)unpack(data, FLAG_SHIFT, FLAG_BITS);
+	}
+	
+	private static int getAge(long data) {
+		return (int)unpack(data, AGE_SHIFT, AGE_BITS);
+	}
+	
+	private static long pack(long value, int shift, int bits) {
+		return (value & ((1L << bits) - 1)) << shift;
+	}
+	
+	private static long unpack(long data, int shift, int bits) {
+		return (data >>> shift) & ((1L << bits) - 1);
+	}
+}
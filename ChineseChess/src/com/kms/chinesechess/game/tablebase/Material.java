@@ -0,0 +1,229 @@
+package com.kms.chinesechess.game.tablebase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.kms.chinesechess.game.data.ChessManType;
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.game.data.board.BoardNotation;
+import com.kms.chinesechess.game.data.board.ReadableBoardStatus;
+import com.kms.chinesechess.support.Location;
+
+/**
+ * 테이블베이스 하나가 다루는 장기말의 구성과, 그 구성의 장기판과 인덱스 사이의 변환을 제공하는 클래스
+ * 이름은 팀마다 장기말을 K(궁), A(사), E(상), H(마), R(차), C(포), P(졸)로 적어 HOME팀, AWAY팀의 순서로 '-'로 이은 것이다. 예: "KR-KAA"
+ * 장기말은 HOME팀, AWAY팀의 순서로, 팀 안에서는 BoardNotation.CHESS_MAN_LETTERS의 순서로 정렬하며, 팀마다 궁이 하나씩 있어야한다.
+ * 장기말마다 놓일 수 있는 칸을 궁, 사는 자기 궁성, 졸은 뒤로 갈 수 없으므로 출발한 줄과 그 앞쪽, 나머지는 모든 칸으로 제한하고,
+ * 인덱스는 장기말마다 그 칸들 안에서의 순서를 자리로 하는 혼합 기수의 수에 이동할 팀(HOME 0, AWAY 1)을 가장 낮은 자리로 붙인 값이다.
+ * 같은 종류의 장기말끼리 자리를 바꾼 배치도 따로 인덱스하므로 인덱스의 일부는 같은 장기판을 가리키며, 장기판에서 인덱스를 구할 때는 칸의 순서로 배정한다.
+ * @author Kwon
+ *
+ */
+public class Material {
+	static final ChessManType[] CHESS_MAN_TYPES = new ChessManType[BoardNotation.CHESS_MAN_LETTERS.length()];	// 이름에 적는 순서의 장기말
+	static {
+		for(int position = 0; position < CHESS_MAN_TYPES.length; position++)	CHESS_MAN_TYPES[position] = BoardNotation.getChessManType(BoardNotation.CHESS_MAN_LETTERS.charAt(position));
+	}
+	private static final int TEAM_TYPE_COUNT = 2;
+	
+	private final String NAME;
+	private final ChessManType[] SLOT_CHESS_MAN_TYPES;		// 장기말(슬롯)마다의 종류
+	private final TeamType[] SLOT_TEAM_TYPES;				// 장기말(슬롯)마다의 팀
+	private final int[][] SQUARES;							// 장기말마다 놓일 수 있는 칸(Location.INDEX)들
+	private final int[][] SQUARE_ORDERS;					// 장기말마다 Location.INDEX에서 SQUARES 안의 순서로의 변환, 놓일 수 없는 칸은 -1
+	private final long SIZE;								// 인덱스의 수(이동할 팀 포함)
+	
+	private Material(List<ChessManType> chessManTypes, List<TeamType> teamTypes) {
+		int count = chessManTypes.size();
+		this.SLOT_CHESS_MAN_TYPES = chessManTypes.toArray(new ChessManType[count]);
+		this.SLOT_TEAM_TYPES = teamTypes.toArray(new TeamType[count]);
+		this.SQUARES = new int[count][];
+		this.SQUARE_ORDERS = new int[count][];
+		
+		StringBuilder name = new StringBuilder();
+		long size = TEAM_TYPE_COUNT;
+		for(int slot = 0; slot < count; slot++) {
+			if(slot > 0 && SLOT_TEAM_TYPES[slot] != SLOT_TEAM_TYPES[slot - 1])	name.append('-');
+			name.append(BoardNotation.getLetter(SLOT_CHESS_MAN_TYPES[slot]));
+			
+			SQUARES[slot] = getSquares(SLOT_CHESS_MAN_TYPES[slot], SLOT_TEAM_TYPES[slot]);
+			SQUARE_ORDERS[slot] = new int[Location.COUNT];
+			for(int index = 0; index < Location.COUNT; index++)	SQUARE_ORDERS[slot][index] = -1;
+			for(int order = 0; order < SQUARES[slot].length; order++)	SQUARE_ORDERS[slot][SQUARES[slot][order]] = order;
+			
+			size *= SQUARES[slot].length;
+		}
+		
+		this.NAME = name.toString();
+		this.SIZE = size;
+	}
+	/**
+	 * 이름으로 장기말의 구성을 만드는 매서드, 팀 안의 장기말은 어떤 순서로 적어도 된다.
+	 * @param name "KR-KAA"와 같은 이름
+	 * @return 장기말의 구성
+	 * @throws IllegalArgumentException 이름의 형식이 잘못되었거나 팀마다 궁이 하나가 아닌 경우
+	 */
+	public static Material parse(String name) {
+		String[] teams = name.split("-", -1);
+		if(teams.length != TEAM_TYPE_COUNT)	throw new IllegalArgumentException("Material: " + name);
+		
+		int[][] counts = new int[TEAM_TYPE_COUNT][CHESS_MAN_TYPES.length];
+		for(int team = 0; team < TEAM_TYPE_COUNT; team++) {
+			for(char letter : teams[team].toCharArray()) {
+				ChessManType chessManType = BoardNotation.getChessManType(letter);
+				if(chessManType == null)	throw new IllegalArgumentException("Material: " + name);
+				counts[team][chessManType.ordinal()]++;
+			}
+		}
+		
+		return of(counts);
+	}
+	
+	private static Material of(int[][] counts) {
+		List<ChessManType> chessManTypes = new ArrayList<>();
+		List<TeamType> teamTypes = new ArrayList<>();
+		for(int team = 0; team < TEAM_TYPE_COUNT; team++) {
+			if(counts[team][ChessManType.KING.ordinal()] != 1)	throw new IllegalArgumentException("King count: " + counts[team][ChessManType.KING.ordinal()]);
+			
+			for(ChessManType chessManType : CHESS_MAN_TYPES) {
+				for(int count = 0; count < counts[team][chessManType.ordinal()]; count++) {
+					chessManTypes.add(chessManType);
+					teamTypes.add(team == 0 ? TeamType.HOME : TeamType.AWAY);
+				}
+			}
+		}
+		
+		return new Material(chessManTypes, teamTypes);
+	}
+	/**
+	 * 장기말이 놓일 수 있는 칸들을 반환하는 매서드
+	 */
+	private static int[] getSquares(ChessManType chessManType, TeamType teamType) {
+		List<Integer> squares = new ArrayList<>();
+		for(int index = 0; index < Location.COUNT; index++) {
+			Location location = Location.instanceAt(index);
+			Location homeLocation = (teamType == TeamType.HOME) ? location : location.getAwayLocation();
+			switch(chessManType) {
+			case KING :
+			case ADVISER :
+				if(homeLocation.ROW < Location.MAX_ROW - 2 || homeLocation.COL < 4 || homeLocation.COL > 6)	continue;
+				break;
+			case SOLDIER :
+				if(homeLocation.ROW > Location.MAX_ROW - 3)	continue;
+				break;
+			default :
+				break;
+			}
+			squares.add(index);
+		}
+		
+		int[] result = new int[squares.size()];
+		for(int position = 0; position < result.length; position++)	result[position] = squares.get(position);
+		return result;
+	}
+	/**
+	 * slot번째 장기말을 잡은 후의 구성을 반환하는 매서드, 남은 장기말의 순서는 유지된다.
+	 * @param slot 잡힌 장기말, 궁이면 안된다.
+	 * @return 장기말의 구성
+	 */
+	public Material without(int slot) {
+		if(SLOT_CHESS_MAN_TYPES[slot] == ChessManType.KING)	throw new IllegalArgumentException("King slot: " + slot);
+		
+		List<ChessManType> chessManTypes = new ArrayList<>();
+		List<TeamType> teamTypes = new ArrayList<>();
+		for(int index = 0; index < SLOT_CHESS_MAN_TYPES.length; index++) {
+			if(index == slot)	continue;
+			chessManTypes.add(SLOT_CHESS_MAN_TYPES[index]);
+			teamTypes.add(SLOT_TEAM_TYPES[index]);
+		}
+		
+		return new Material(chessManTypes, teamTypes);
+	}
+	/**
+	 * 장기말들의 칸과 이동할 팀으로 인덱스를 구하는 매서드
+	 * @param squares 장기말(슬롯)마다의 칸(Location.INDEX)
+	 * @param teamType 이동할 팀
+	 * @return 인덱스, 놓일 수 없는 칸에 놓인 장기말이 있으면 -1
+	 */
+	public long getIndex(int[] squares, TeamType teamType) {
+		long index = 0;
+		for(int slot = 0; slot < SQUARES.length; slot++) {
+			int order = SQUARE_ORDERS[slot][squares[slot]];
+			if(order < 0)	return -1;
+			index = index * SQUARES[slot].length + order;
+		}
+		
+		return index * TEAM_TYPE_COUNT + (teamType == TeamType.HOME ? 0 : 1);
+	}
+	/**
+	 * 장기판과 이동할 팀으로 인덱스를 구하는 매서드, 같은 종류의 장기말은 칸의 순서로 슬롯에 배정한다.
+	 * @param boardStatus 장기판
+	 * @param teamType 이동할 팀
+	 * @param squares 슬롯마다의 칸을 담을 배열, 크기는 getPieceCount() 이상이어야한다.
+	 * @return 인덱스, 장기판의 장기말들이 본 구성과 다르거나 놓일 수 없는 칸에 놓인 장기말이 있으면 -1
+	 */
+	public long getIndex(ReadableBoardStatus boardStatus, TeamType teamType, int[] squares) {
+		int assignedCount = 0;
+		for(int slot = 0; slot < SQUARES.length; slot++)	squares[slot] = -1;
+		
+		for(int index = 0; index < Location.COUNT; index++) {
+			if(boardStatus.isSpace(index))	continue;
+			
+			int slot = findEmptySlot(boardStatus.getChessManType(index), boardStatus.getTeamType(index), squares);
+			if(slot < 0)	return -1;
+			squares[slot] = index;
+			assignedCount++;
+		}
+		
+		return assignedCount == SQUARES.length ? getIndex(squares, teamType) : -1;
+	}
+	
+	private int findEmptySlot(ChessManType chessManType, TeamType teamType, int[] squares) {
+		for(int slot = 0; slot < SQUARES.length; slot++) {
+			if(squares[slot] < 0 && SLOT_CHESS_MAN_TYPES[slot] == chessManType && SLOT_TEAM_TYPES[slot] == teamType)	return slot;
+		}
+		
+		return -1;
+	}
+	/**
+	 * 인덱스에서 장기말들의 칸을 구하는 매서드
+	 * @param index 인덱스
+	 * @param squares 슬롯마다의 칸을 담을 배열, 크기는 getPieceCount() 이상이어야한다.
+	 * @return 이동할 팀
+	 */
+	public TeamType getSquares(long index, int[] squares) {
+		TeamType teamType = (index % TEAM_TYPE_COUNT == 0) ? TeamType.HOME : TeamType.AWAY;
+		index /= TEAM_TYPE_COUNT;
+		for(int slot = SQUARES.length - 1; slot >= 0; slot--) {
+			squares[slot] = SQUARES[slot][(int)(index % SQUARES[slot].length)];
+			index /= SQUARES[slot].length;
+		}
+		
+		return teamType;
+	}
+	
+	public String getName() {
+		return NAME;
+	}
+	
+	public int getPieceCount() {
+		return SLOT_CHESS_MAN_TYPES.length;
+	}
+	
+	public ChessManType getChessManType(int slot) {
+		return SLOT_CHESS_MAN_TYPES[slot];
+	}
+	
+	public TeamType getTeamType(int slot) {
+		return SLOT_TEAM_TYPES[slot];
+	}
+	
+	public long getSize() {
+		return SIZE;
+	}
+	
+	@Override
+	public String toString() {
+		return NAME;
+	}
+}
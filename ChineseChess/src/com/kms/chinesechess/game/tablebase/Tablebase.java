@@ -0,0 +1,182 @@
+package com.kms.chinesechess.game.tablebase;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.game.data.board.ReadableBoardStatus;
+
+/**
+ * 장기말의 구성 하나에 대한 모든 장기판의 승패와 외통까지의 거리를 담은 엔드게임 테이블베이스 클래스
+ * 값은 장기판(Material의 인덱스)마다 1바이트로, DRAW(비김 또는 MAX_DISTANCE 안에 끝나지 않음), INVALID(불가능한 장기판),
+ * 또는 FIRST_DISTANCE + 외통까지의 수(ply)이며, 수가 홀수면 이동할 팀의 승, 짝수면 이동할 팀의 패이다.
+ * 파일은 헤더(MAGIC, VERSION, 장기판의 수, 블록의 수, 구성의 이름), 블록마다의 파일 안의 위치, Deflater로 압축한 BLOCK_SIZE개씩의 값들로 구성되며,
+ * 파일 전체를 읽기 전용으로 매핑하고 조회할 때 필요한 블록만 스레드마다 풀어서 보관한다. 파일은 TablebaseGenerator로 만든다.
+ * 여러 스레드가 한 인스턴스를 공유해도 된다.
+ * @author Kwon
+ *
+ */
+public class Tablebase implements Closeable {
+	public static final int DRAW = 0, INVALID = 1;
+	public static final int FIRST_DISTANCE = 2;						// 외통까지 0수인 값
+	public static final int MAX_DISTANCE = 255 - FIRST_DISTANCE;	// 값으로 나타낼 수 있는 외통까지의 최대 수
+	static final int MAGIC = 0x4A544253;	// "JTBS"
+	static final int VERSION = 1;
+	static final int BLOCK_SIZE = 1 << 16;	// 한번에 압축하는 장기판의 수
+	static final String EXTENSION = ".jtb";
+	
+	private final FileChannel CHANNEL;
+	private final MappedByteBuffer BUFFER;
+	private final Material MATERIAL;
+	private final int BLOCK_COUNT, OFFSET_TABLE;	// 블록의 수, 블록마다의 위치가 시작하는 파일 안의 위치
+	private final ThreadLocal<Block> BLOCKS = ThreadLocal.withInitial(Block::new);
+	private final ThreadLocal<int[]> SQUARES;
+	/**
+	 * 테이블베이스 파일을 매핑하는 생성자
+	 * @param path 테이블베이스 파일의 경로
+	 * @throws IOException 파일을 열 수 없거나 테이블베이스 파일이 아닌 경우
+	 */
+	public Tablebase(Path path) throws IOException {
+		CHANNEL = FileChannel.open(path, StandardOpenOption.READ);
+		
+		try {
+			long size = CHANNEL.size();
+			if(size < 24 || size > Integer.MAX_VALUE)	throw new IOException("Not a tablebase: " + path);
+			
+			BUFFER = CHANNEL.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			if(BUFFER.getInt(0) != MAGIC || BUFFER.getInt(4) != VERSION)	throw new IOException("Not a tablebase: " + path);
+			
+			long positionCount = BUFFER.getLong(8);
+			BLOCK_COUNT = BUFFER.getInt(16);
+			int nameLength = BUFFER.getInt(20);
+			if(nameLength <= 0 || 24 + nameLength > size)	throw new IOException("Not a tablebase: " + path);
+			
+			byte[] name = new byte[nameLength];
+			for(int position = 0; position < nameLength; position++)	name[position] = BUFFER.get(24 + position);
+			MATERIAL = Material.parse(new String(name, StandardCharsets.US_ASCII));
+			OFFSET_TABLE = 24 + nameLength;
+			if(MATERIAL.getSize() != positionCount || BLOCK_COUNT != getBlockCount(positionCount)
+					|| OFFSET_TABLE + (BLOCK_COUNT + 1) * 8L > size || BUFFER.getLong(OFFSET_TABLE + BLOCK_COUNT * 8) != size)
+				throw new IOException("Not a tablebase: " + path);
+		} catch(IOException | IllegalArgumentException e) {
+			CHANNEL.close();
+			throw (e instanceof IOException) ? (IOException)e : new IOException("Not a tablebase: " + path, e);
+		}
+		
+		SQUARES = ThreadLocal.withInitial(() -> new int[MATERIAL.getPieceCount()]);
+	}
+	
+	static int getBlockCount(long positionCount) {
+		return (int)((positionCount + BLOCK_SIZE - 1) / BLOCK_SIZE);
+	}
+	
+	public Material getMaterial() {
+		return MATERIAL;
+	}
+	/**
+	 * 장기판의 값을 반환하는 매서드
+	 * @param boardStatus 장기판
+	 * @param teamType 이동할 팀
+	 * @return 장기판의 값, 장기판의 장기말들이 본 테이블베이스의 구성과 다르면 INVALID
+	 */
+	public int probe(ReadableBoardStatus boardStatus, TeamType teamType) {
+		long index = MATERIAL.getIndex(boardStatus, teamType, SQUARES.get());
+		return index < 0 ? INVALID : getValue(index);
+	}
+	/**
+	 * 인덱스의 값을 반환하는 매서드, 스레드가 마지막으로 푼 블록이 아니면 블록을 풀어서 보관한다.
+	 * @param index Material의 인덱스
+	 * @return 장기판의 값
+	 */
+	public int getValue(long index) {
+		Block block = BLOCKS.get();
+		int blockNumber = (int)(index / BLOCK_SIZE);
+		if(block.blockNumber != blockNumber)	block.inflate(blockNumber);
+		
+		return block.VALUES[(int)(index % BLOCK_SIZE)] & 0xFF;
+	}
+	/**
+	 * 값이 이동할 팀의 승인지를 반환하는 매서드
+	 */
+	public static boolean isWin(int value) {
+		return value >= FIRST_DISTANCE && ((value - FIRST_DISTANCE) & 1) == 1;
+	}
+	/**
+	 * 값이 이동할 팀의 패인지를 반환하는 매서드
+	 */
+	public static boolean isLoss(int value) {
+		return value >= FIRST_DISTANCE && ((value - FIRST_DISTANCE) & 1) == 0;
+	}
+	/**
+	 * 승패가 정해진 값의 외통까지의 수를 반환하는 매서드
+	 * @param value isWin 또는 isLoss가 true인 값
+	 * @return 외통까지의 수(ply)
+	 */
+	public static int getDistance(int value) {
+		return value - FIRST_DISTANCE;
+	}
+	
+	static int toValue(int distance) {
+		return FIRST_DISTANCE + distance;
+	}
+	/**
+	 * 파일을 닫는 매서드, 매핑된 메모리는 GC가 회수할 때 해제된다.
+	 */
+	@Override
+	public void close() throws IOException {
+		CHANNEL.close();
+	}
+	/**
+	 * 스레드마다 마지막으로 푼 블록과 압축을 푸는 데 쓰는 버퍼들
+	 * Inflater는 네이티브 메모리를 사용하므로 스레드마다 보관하지 않고 블록을 풀 때마다 생성하고 end()로 해제한다.
+	 * @author Kwon
+	 *
+	 */
+	private class Block {
+		private final byte[] VALUES = new byte[BLOCK_SIZE];
+		private final ByteBuffer SOURCE = BUFFER.duplicate();	// 스레드마다 위치를 따로 갖는 파일의 뷰
+		
+		private byte[] compressed = new byte[256];
+		private int blockNumber = -1;
+		
+		/**
+		 * 블록의 압축을 VALUES에 푸는 매서드
+		 * @param blockNumber 풀 블록
+		 * @throws IllegalStateException 블록이 손상되었거나 풀린 값의 수가 블록의 장기판의 수(마지막 블록은 남은 수)와 다른 경우
+		 */
+		private void inflate(int blockNumber) {
+			int start = (int)BUFFER.getLong(OFFSET_TABLE + blockNumber * 8), end = (int)BUFFER.getLong(OFFSET_TABLE + (blockNumber + 1) * 8);
+			int expectedLength = (int)Math.min(BLOCK_SIZE, MATERIAL.getSize() - (long)blockNumber * BLOCK_SIZE);
+			if(compressed.length < end - start)	compressed = new byte[end - start];
+			SOURCE.position(start);
+			SOURCE.get(compressed, 0, end - start);
+			
+			this.blockNumber = -1;
+			Inflater inflater = new Inflater();
+			try {
+				inflater.setInput(compressed, 0, end - start);
+				int length = 0;
+				while(!inflater.finished() && length < expectedLength) {
+					int inflated = inflater.inflate(VALUES, length, expectedLength - length);
+					if(inflated == 0 && (inflater.needsInput() || inflater.needsDictionary()))	break;
+					length += inflated;
+				}
+				if(length != expectedLength)	throw new IllegalStateException("Truncated tablebase block: " + blockNumber + " (" + length + " of " + expectedLength + ")");
+			} catch(DataFormatException e) {
+				throw new IllegalStateException("Corrupted tablebase block: " + blockNumber, e);
+			} finally {
+				inflater.end();
+			}
+			
+			this.blockNumber = blockNumber;
+		}
+	}
+}
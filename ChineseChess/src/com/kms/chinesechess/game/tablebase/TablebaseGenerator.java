@@ -0,0 +1,380 @@
+package com.kms.chinesechess.game.tablebase;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+
+import com.kms.chinesechess.game.chess_men_paths.MoveGenerator;
+import com.kms.chinesechess.game.chess_men_paths.PathMasks;
+import com.kms.chinesechess.game.data.ChessManType;
+import com.kms.chinesechess.game.data.Move;
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.game.data.board.BoardStatus;
+import com.kms.chinesechess.game.data.board.BoxStatus;
+import com.kms.chinesechess.support.Location;
+
+/**
+ * 장기말의 구성마다 모든 장기판의 승패와 외통까지의 거리를 후퇴 분석으로 계산하여 Tablebase 파일로 쓰는 클래스
+ * 이동의 규칙(궁성, 궁성의 대각선, 포의 넘기 등)은 MoveGenerator와 PathMasks를 그대로 사용하며, 장기말을 잡는 이동은 잡힌 후의 구성의 값을 사용하므로
+ * 구성보다 장기말이 적은 구성들을 먼저 계산한다(재귀, 메모리에 보관).
+ * 먼저 모든 장기판에서 불가능한 장기판(장기말이 겹치거나 이동하지 않는 팀이 장군을 받는 경우)과 외통(0수 패)을 표시하고,
+ * 이후 n = 1, 2, ...번째 단계마다 정해지지 않은 장기판 중에서 n이 홀수면 n - 1수 패인 장기판으로 가는 이동이 있는 장기판을 n수 승으로,
+ * n이 짝수면 모든 합법적인 이동이 n - 1수 이하의 승인 장기판으로 가는 장기판을 n수 패로 표시한다.
+ * 단계마다 값이 n인 장기판만 새로 쓰고 n - 1 이하의 값만 읽으므로 장기판들을 ForkJoinPool에서 나누어 동시에 계산해도 결과가 같다.
+ * 더 이상 정해지는 장기판이 없으면 남은 장기판은 비김(움직일 수 없는 장기판 포함)이다.
+ * 사용법: TablebaseGenerator [테이블베이스 디렉토리] [구성 이름]...
+ * @author Kwon
+ *
+ */
+public class TablebaseGenerator {
+	private static final int THRESHOLD = 1 << 12;	// 한 작업이 나누지 않고 계산할 장기판의 최대 수
+	private static final int BUFFER_SIZE = 1 << 16;
+	
+	private final ForkJoinPool FORK_JOIN_POOL;
+	private final Map<String, byte[]> VALUES = new HashMap<>();	// 계산한 구성마다의 값들
+	private final ThreadLocal<Worker> WORKERS = ThreadLocal.withInitial(Worker::new);
+	
+	public TablebaseGenerator() {
+		this(ForkJoinPool.commonPool());
+	}
+	/**
+	 * @param forkJoinPool 계산에 사용할 ForkJoinPool
+	 */
+	public TablebaseGenerator(ForkJoinPool forkJoinPool) {
+		this.FORK_JOIN_POOL = forkJoinPool;
+	}
+	/**
+	 * 구성의 값들을 계산하는 매서드, 이미 계산한 구성이면 보관한 값들을 반환한다.
+	 * @param material 장기말의 구성, 장기판의 수가 Integer.MAX_VALUE보다 크면 안된다.
+	 * @return Material의 인덱스마다의 값
+	 */
+	public byte[] generate(Material material) {
+		byte[] values = VALUES.get(material.getName());
+		if(values != null)	return values;
+		if(material.getSize() > Integer.MAX_VALUE)	throw new IllegalArgumentException("Too many positions: " + material);
+		
+		Material[] capturedMaterials = new Material[material.getPieceCount()];
+		byte[][] capturedValues = new byte[material.getPieceCount()][];
+		int maxCapturedDistance = -1;
+		for(int slot = 0; slot < material.getPieceCount(); slot++) {
+			if(material.getChessManType(slot) == ChessManType.KING)	continue;
+			
+			capturedMaterials[slot] = material.without(slot);
+			capturedValues[slot] = generate(capturedMaterials[slot]);
+			maxCapturedDistance = Math.max(maxCapturedDistance, getMaxDistance(capturedValues[slot]));
+		}
+		
+		values = new byte[(int)material.getSize()];
+		Table table = new Table(material, values, capturedMaterials, capturedValues);
+		FORK_JOIN_POOL.invoke(new Pass(table, -1, 0, values.length, null));
+		
+		int unchangedCount = 0;
+		for(int distance = 1; distance <= Tablebase.MAX_DISTANCE && (distance <= maxCapturedDistance + 1 || unchangedCount < 2); distance++) {
+			LongAdder changedCount = new LongAdder();
+			FORK_JOIN_POOL.invoke(new Pass(table, distance, 0, values.length, changedCount));
+			unchangedCount = (changedCount.sum() == 0) ? unchangedCount + 1 : 0;
+		}
+		
+		VALUES.put(material.getName(), values);
+		return values;
+	}
+	
+	private static int getMaxDistance(byte[] values) {
+		int maxDistance = -1;
+		for(byte value : values) {
+			if((value & 0xFF) >= Tablebase.FIRST_DISTANCE)	maxDistance = Math.max(maxDistance, Tablebase.getDistance(value & 0xFF));
+		}
+		
+		return maxDistance;
+	}
+	/**
+	 * 구성의 값들을 계산하여 디렉토리에 "구성 이름.jtb" 파일로 쓰는 매서드
+	 * 임시 파일에 쓴 후 옮기므로 같은 파일을 매핑하고 있는 Tablebase는 이전 파일을 계속 읽는다.
+	 * @param material 장기말의 구성
+	 * @param directory 테이블베이스 디렉토리
+	 * @return 쓴 파일의 경로
+	 * @throws IOException 파일에 쓸 수 없는 경우
+	 */
+	public Path write(Material material, Path directory) throws IOException {
+		byte[] values = generate(material);
+		byte[] name = material.getName().getBytes(StandardCharsets.US_ASCII);
+		int blockCount = Tablebase.getBlockCount(values.length);
+		long[] offsets = new long[blockCount + 1];
+		
+		Path path = directory.resolve(material.getName() + Tablebase.EXTENSION);
+		Path temporaryPath = directory.resolve(material.getName() + Tablebase.EXTENSION + ".tmp");
+		try(FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			long dataStart = 24 + name.length + offsets.length * 8L;
+			channel.position(dataStart);
+			
+			Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+			byte[] compressed = new byte[BUFFER_SIZE];
+			offsets[0] = dataStart;
+			for(int block = 0; block < blockCount; block++) {
+				int start = block * Tablebase.BLOCK_SIZE;
+				deflater.reset();
+				deflater.setInput(values, start, Math.min(Tablebase.BLOCK_SIZE, values.length - start));
+				deflater.finish();
+				while(!deflater.finished()) {
+					int length = deflater.deflate(compressed);
+					writeFully(channel, ByteBuffer.wrap(compressed, 0, length));
+				}
+				offsets[block + 1] = channel.position();
+			}
+			deflater.end();
+			
+			ByteBuffer header = ByteBuffer.allocate((int)dataStart);
+			header.putInt(Tablebase.MAGIC);
+			header.putInt(Tablebase.VERSION);
+			header.putLong(values.length);
+			header.putInt(blockCount);
+			header.putInt(name.length);
+			header.put(name);
+			for(long offset : offsets)	header.putLong(offset);
+			header.flip();
+			channel.position(0);
+			writeFully(channel, header);
+			channel.force(false);
+		}
+		
+		Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		return path;
+	}
+	/**
+	 * 지금까지 계산한 모든 구성(잡힌 후의 구성 포함)을 디렉토리에 파일로 쓰는 매서드, 탐색에서 잡는 이동 후의 장기판도 찾아볼 수 있게 한다.
+	 * @param directory 테이블베이스 디렉토리
+	 * @return 쓴 파일의 수
+	 * @throws IOException 파일에 쓸 수 없는 경우
+	 */
+	public int writeAll(Path directory) throws IOException {
+		for(String name : VALUES.keySet())	write(Material.parse(name), directory);
+		return VALUES.size();
+	}
+	
+	private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while(buffer.hasRemaining())	channel.write(buffer);
+	}
+	/**
+	 * 구성과 그 값들, 장기말마다 잡힌 후의 구성과 값들
+	 */
+	private static class Table {
+		private final Material MATERIAL;
+		private final byte[] VALUES;
+		private final Material[] CAPTURED_MATERIALS;	// 슬롯마다 그 장기말이 잡힌 후의 구성, 궁은 null
+		private final byte[][] CAPTURED_VALUES;
+		
+		private Table(Material material, byte[] values, Material[] capturedMaterials, byte[][] capturedValues) {
+			this.MATERIAL = material;
+			this.VALUES = values;
+			this.CAPTURED_MATERIALS = capturedMaterials;
+			this.CAPTURED_VALUES = capturedValues;
+		}
+	}
+	/**
+	 * [start, end) 구간의 장기판들에 대한 한 단계의 계산 작업, 구간이 THRESHOLD보다 크면 반으로 나눈다.
+	 * distance가 -1이면 불가능한 장기판과 외통을 표시하는 첫 단계이다.
+	 * @author Kwon
+	 *
+	 */
+	private class Pass extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		
+		private final Table TABLE;
+		private final int DISTANCE, START, END;
+		private final LongAdder CHANGED_COUNT;
+		
+		private Pass(Table table, int distance, int start, int end, LongAdder changedCount) {
+			this.TABLE = table;
+			this.DISTANCE = distance;
+			this.START = start;
+			this.END = end;
+			this.CHANGED_COUNT = changedCount;
+		}
+		
+		@Override
+		protected void compute() {
+			if(END - START > THRESHOLD) {
+				int middle = (START + END) >>> 1;
+				invokeAll(new Pass(TABLE, DISTANCE, START, middle, CHANGED_COUNT), new Pass(TABLE, DISTANCE, middle, END, CHANGED_COUNT));
+				return;
+			}
+			
+			Worker worker = WORKERS.get();
+			worker.setTable(TABLE);
+			int changedCount = 0;
+			for(int index = START; index < END; index++) {
+				if(TABLE.VALUES[index] != Tablebase.DRAW)	continue;
+				
+				int value = (DISTANCE < 0) ? worker.getInitialValue(index) : worker.getValue(index, DISTANCE);
+				if(value == Tablebase.DRAW)	continue;
+				
+				TABLE.VALUES[index] = (byte)value;
+				changedCount++;
+			}
+			if(CHANGED_COUNT != null)	CHANGED_COUNT.add(changedCount);
+		}
+	}
+	/**
+	 * 스레드마다의 장기판과 이동 목록, 장기판에는 현재 계산 중인 구성의 장기말들만 놓여있다.
+	 * 연속한 인덱스는 대부분 마지막 장기말의 칸이나 이동할 팀만 다르므로 달라진 장기말만 옮겨 놓는다.
+	 * @author Kwon
+	 *
+	 */
+	private static class Worker {
+		private final BoardStatus BOARD_STATUS = new BoardStatus();
+		private final MoveGenerator MOVE_GENERATOR = new MoveGenerator(BOARD_STATUS);
+		private final int[] MOVES = new int[MoveGenerator.MAX_MOVE_COUNT];
+		
+		private Table table = null;
+		private int[] squares = new int[0], placedSquares = new int[0], childSquares = new int[0];	// 인덱스의 칸들, 장기판에 놓인 칸들(없으면 -1), 이동 후의 칸들
+		
+		private void setTable(Table table) {
+			if(this.table == table)	return;
+			
+			for(int square : placedSquares) {
+				if(square >= 0)	BOARD_STATUS.setBoxStatus(Location.instanceAt(square), BoxStatus.SPACE);
+			}
+			this.table = table;
+			int pieceCount = table.MATERIAL.getPieceCount();
+			squares = new int[pieceCount];
+			childSquares = new int[pieceCount];
+			placedSquares = new int[pieceCount];
+			for(int slot = 0; slot < pieceCount; slot++)	placedSquares[slot] = -1;
+		}
+		/**
+		 * 첫 단계의 값을 반환하는 매서드
+		 * @return 불가능한 장기판이면 INVALID, 외통이면 0수 패, 그 외에는 DRAW
+		 */
+		private int getInitialValue(int index) {
+			TeamType teamType = setPosition(index);
+			if(teamType == null)	return Tablebase.INVALID;
+			
+			TeamType partnerTeamType = getPartnerTeamType(teamType);
+			if(isChecked(partnerTeamType, teamType))	return Tablebase.INVALID;
+			
+			int count = MOVE_GENERATOR.generateMoves(teamType, MOVES, 0);
+			for(int position = 0; position < count; position++) {
+				if(isLegal(MOVES[position], teamType, partnerTeamType))	return Tablebase.DRAW;
+			}
+			
+			return isChecked(teamType, partnerTeamType) ? Tablebase.toValue(0) : Tablebase.DRAW;
+		}
+		/**
+		 * distance번째 단계의 값을 반환하는 매서드
+		 * @return distance가 홀수면 distance - 1수 패로 가는 이동이 있을 때, 짝수면 모든 합법적인 이동이 distance - 1수 이하의 승으로 갈 때 distance수의 값, 그 외에는 DRAW
+		 */
+		private int getValue(int index, int distance) {
+			TeamType teamType = setPosition(index), partnerTeamType = getPartnerTeamType(teamType);
+			boolean isWinPass = (distance & 1) == 1;
+			int legalCount = 0, count = MOVE_GENERATOR.generateMoves(teamType, MOVES, 0);
+			for(int position = 0; position < count; position++) {
+				int move = MOVES[position];
+				if(!isLegal(move, teamType, partnerTeamType))	continue;
+				
+				legalCount++;
+				int childValue = getChildValue(move, partnerTeamType);
+				if(isWinPass) {
+					if(childValue == Tablebase.toValue(distance - 1))	return Tablebase.toValue(distance);
+				} else if(!Tablebase.isWin(childValue) || Tablebase.getDistance(childValue) > distance - 1) {
+					return Tablebase.DRAW;
+				}
+			}
+			
+			return (!isWinPass && legalCount > 0) ? Tablebase.toValue(distance) : Tablebase.DRAW;
+		}
+		/**
+		 * 이동 후의 장기판의 값을 반환하는 매서드, 장기말을 잡으면 잡힌 후의 구성의 값을 읽는다.
+		 */
+		private int getChildValue(int move, TeamType partnerTeamType) {
+			int source = Move.getSource(move), destination = Move.getDestination(move);
+			int capturedSlot = -1;
+			for(int slot = 0; slot < squares.length; slot++) {
+				childSquares[slot] = (squares[slot] == source) ? destination : squares[slot];
+				if(squares[slot] == destination)	capturedSlot = slot;
+			}
+			
+			if(capturedSlot < 0)	return table.VALUES[(int)getChildIndex(table.MATERIAL, childSquares, partnerTeamType)] & 0xFF;
+			
+			for(int slot = capturedSlot; slot < squares.length - 1; slot++)	childSquares[slot] = childSquares[slot + 1];
+			Material material = table.CAPTURED_MATERIALS[capturedSlot];
+			return table.CAPTURED_VALUES[capturedSlot][(int)getChildIndex(material, childSquares, partnerTeamType)] & 0xFF;
+		}
+		
+		private static long getChildIndex(Material material, int[] squares, TeamType teamType) {
+			long index = material.getIndex(squares, teamType);
+			if(index < 0)	throw new IllegalStateException("Square out of " + material + " after a legal move");
+			return index;
+		}
+		/**
+		 * 인덱스의 장기판을 놓는 매서드, 달라진 장기말만 치운 후 다시 놓는다.
+		 * @return 이동할 팀, 장기말이 겹치는 인덱스면 장기판을 바꾸지 않고 null
+		 */
+		private TeamType setPosition(int index) {
+			Material material = table.MATERIAL;
+			TeamType teamType = material.getSquares(index, squares);
+			for(int slot = 0; slot < squares.length; slot++) {
+				for(int other = slot + 1; other < squares.length; other++) {
+					if(squares[slot] == squares[other])	return null;
+				}
+			}
+			
+			for(int slot = 0; slot < squares.length; slot++) {
+				if(placedSquares[slot] >= 0 && placedSquares[slot] != squares[slot])	BOARD_STATUS.setBoxStatus(Location.instanceAt(placedSquares[slot]), BoxStatus.SPACE);
+			}
+			for(int slot = 0; slot < squares.length; slot++) {
+				if(placedSquares[slot] == squares[slot])	continue;
+				
+				BOARD_STATUS.setBoxStatus(Location.instanceAt(squares[slot]), material.getChessManType(slot), material.getTeamType(slot));
+				placedSquares[slot] = squares[slot];
+			}
+			
+			return teamType;
+		}
+		
+		private boolean isLegal(int move, TeamType teamType, TeamType partnerTeamType) {
+			BOARD_STATUS.makeMove(Location.instanceAt(Move.getSource(move)), Location.instanceAt(Move.getDestination(move)));
+			boolean isLegal = !isChecked(teamType, partnerTeamType);
+			BOARD_STATUS.unmakeMove();
+			return isLegal;
+		}
+		
+		private boolean isChecked(TeamType teamType, TeamType partnerTeamType) {
+			Location kingLocation = BOARD_STATUS.getKingLocation(teamType);
+			return kingLocation == null || PathMasks.isAttacked(BOARD_STATUS.getBitBoardStatus(), kingLocation.INDEX, partnerTeamType);
+		}
+		
+		private static TeamType getPartnerTeamType(TeamType teamType) {
+			return (teamType == TeamType.AWAY) ? TeamType.HOME : TeamType.AWAY;
+		}
+	}
+	
+	public static void main(String[] args) throws IOException {
+		if(args.length < 2) {
+			System.out.println("usage: TablebaseGenerator <tablebase directory> <material>...");
+			return;
+		}
+		
+		Path directory = Paths.get(args[0]);
+		Files.createDirectories(directory);
+		TablebaseGenerator generator = new TablebaseGenerator();
+		for(int position = 1; position < args.length; position++) {
+			long startTime = System.nanoTime();
+			Material material = Material.parse(args[position]);
+			generator.generate(material);
+			System.out.println(material + ": " + material.getSize() + " positions, " + (System.nanoTime() - startTime) / 1_000_000 + " ms");
+		}
+		System.out.println("files: " + generator.writeAll(directory));
+	}
+}
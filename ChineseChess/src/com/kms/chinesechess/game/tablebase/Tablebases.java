@@ -0,0 +1,92 @@
+package com.kms.chinesechess.game.tablebase;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.kms.chinesechess.game.data.ChessManType;
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.game.data.board.BoardNotation;
+import com.kms.chinesechess.game.data.board.ReadableBoardStatus;
+import com.kms.chinesechess.support.Location;
+
+/**
+ * 테이블베이스 디렉토리의 모든 Tablebase 파일을 장기말의 구성의 이름으로 찾아주는 클래스
+ * 조회할 때는 장기판의 장기말을 세어 구성의 이름을 만들고 그 구성의 Tablebase에서 값을 읽으며, 장기말이 MAX_PIECE_COUNT보다 많으면 세지 않는다.
+ * 여러 스레드가 한 인스턴스를 공유해도 된다.
+ * @author Kwon
+ *
+ */
+public class Tablebases implements Closeable {
+	private final Map<String, Tablebase> TABLEBASES = new HashMap<>();
+	private final int MAX_PIECE_COUNT;	// 가장 큰 구성의 장기말의 수
+	/**
+	 * 디렉토리의 ".jtb" 파일들을 모두 매핑하는 생성자
+	 * @param directory 테이블베이스 디렉토리
+	 * @throws IOException 디렉토리나 파일을 읽을 수 없는 경우
+	 */
+	public Tablebases(Path directory) throws IOException {
+		int maxPieceCount = 0;
+		try(DirectoryStream<Path> paths = Files.newDirectoryStream(directory, "*" + Tablebase.EXTENSION)) {
+			for(Path path : paths) {
+				Tablebase tablebase = new Tablebase(path);
+				TABLEBASES.put(tablebase.getMaterial().getName(), tablebase);
+				maxPieceCount = Math.max(maxPieceCount, tablebase.getMaterial().getPieceCount());
+			}
+		} catch(IOException e) {
+			close();
+			throw e;
+		}
+		
+		this.MAX_PIECE_COUNT = maxPieceCount;
+	}
+	
+	public int getTablebaseCount() {
+		return TABLEBASES.size();
+	}
+	/**
+	 * 장기판의 값을 반환하는 매서드
+	 * @param boardStatus 장기판
+	 * @param teamType 이동할 팀
+	 * @return Tablebase의 값, 장기판의 구성의 Tablebase가 없으면 -1
+	 */
+	public int probe(ReadableBoardStatus boardStatus, TeamType teamType) {
+		Tablebase tablebase = TABLEBASES.get(getName(boardStatus));
+		return tablebase == null ? -1 : tablebase.probe(boardStatus, teamType);
+	}
+	/**
+	 * 장기판의 구성의 이름을 만드는 매서드
+	 * @return 구성의 이름, 장기말이 MAX_PIECE_COUNT보다 많으면 null
+	 */
+	private String getName(ReadableBoardStatus boardStatus) {
+		int[][] counts = new int[2][Material.CHESS_MAN_TYPES.length];
+		int pieceCount = 0;
+		for(int index = 0; index < Location.COUNT; index++) {
+			if(boardStatus.isSpace(index))	continue;
+			if(++pieceCount > MAX_PIECE_COUNT)	return null;
+			
+			counts[boardStatus.getTeamType(index) == TeamType.HOME ? 0 : 1][boardStatus.getChessManType(index).ordinal()]++;
+		}
+		
+		StringBuilder name = new StringBuilder(pieceCount + 1);
+		for(int team = 0; team < counts.length; team++) {
+			if(team > 0)	name.append('-');
+			for(ChessManType chessManType : Material.CHESS_MAN_TYPES) {
+				for(int count = 0; count < counts[team][chessManType.ordinal()]; count++)	name.append(BoardNotation.getLetter(chessManType));
+			}
+		}
+		
+		return name.toString();
+	}
+	/**
+	 * 모든 파일을 닫는 매서드
+	 */
+	@Override
+	public void close() throws IOException {
+		for(Tablebase tablebase : TABLEBASES.values())	tablebase.close();
+	}
+}
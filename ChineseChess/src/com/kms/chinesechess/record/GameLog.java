@@ -0,0 +1,198 @@
+package com.kms.chinesechess.record;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.kms.chinesechess.game.data.Move;
+import com.kms.chinesechess.game.engine.Game;
+import com.kms.chinesechess.game.engine.GameStatus;
+
+/**
+ * 시작 배치에서 시작한 한 대국의 결과, 시작 시각, 종료 시각과 모든 이동을 담는 데이터 클래스
+ * 게임 기록 파일에서는 아래의 형식으로 저장되며, 이동 하나는 Move 부호(0 ~ 11519)를 그대로 2바이트로 저장한다.
+ * 파일 헤더: MAGIC(4바이트), VERSION(1바이트)
+ * 대국 하나: 결과(1바이트), 시작 시각(8바이트), 종료 시각(8바이트), 이동의 수(2바이트, 부호 없음), 이동들(이동마다 2바이트)
+ * @author Kwon
+ *
+ */
+public class GameLog {
+	static final int MAGIC = 0x4A474C47;	// "JGLG"
+	static final byte VERSION = 1;
+	static final int FILE_HEADER_SIZE = 5;
+	
+	static final int HEADER_SIZE = 19;	// 결과, 시작 시각, 종료 시각, 이동의 수
+	public static final int MAX_MOVE_COUNT = 0xFFFF;
+	static final int MAX_RECORD_SIZE = HEADER_SIZE + MAX_MOVE_COUNT * 2;
+	
+	private final GameStatus RESULT;
+	private final long START_TIME, END_TIME;
+	private final int[] MOVES;	// 적용된 순서의 Move 부호
+	/**
+	 * @param result 대국의 결과, 진행 중에 저장하는 대국이면 GameStatus.PLAYING
+	 * @param startTime 대국의 시작 시각(System.currentTimeMillis())
+	 * @param endTime 대국의 종료 시각, 진행 중이면 0
+	 * @param moves 적용된 순서의 Move 부호들, 복사하여 보관한다.
+	 * @throws IllegalArgumentException 이동이 MAX_MOVE_COUNT개보다 많거나 Move로 해석할 수 없는 부호가 있는 경우
+	 */
+	public GameLog(GameStatus result, long startTime, long endTime, int[] moves) {
+		if(moves.length > MAX_MOVE_COUNT)	throw new IllegalArgumentException("Moves: " + moves.length);
+		for(int move : moves) {
+			if(!Move.isValid(move))	throw new IllegalArgumentException("Move: " + move);
+		}
+		
+		this.RESULT = result;
+		this.START_TIME = startTime;
+		this.END_TIME = endTime;
+		this.MOVES = Arrays.copyOf(moves, moves.length);
+	}
+	/**
+	 * 파일에서 읽은 값들로 생성하는 생성자, 검증과 복사를 하지 않는다.
+	 */
+	private GameLog(int[] moves, GameStatus result, long startTime, long endTime) {
+		this.RESULT = result;
+		this.START_TIME = startTime;
+		this.END_TIME = endTime;
+		this.MOVES = moves;
+	}
+	/**
+	 * 대국의 현재까지의 기록으로 GameLog를 생성하는 매서드
+	 * @param game 시작 배치에서 시작한 대국, GameEngine에서 제거되기 전이어야 한다.
+	 * @return 대국의 기록
+	 */
+	public static GameLog of(Game game) {
+		return new GameLog(game.getGameStatus(), game.START_TIME, game.getEndTime(), game.getHistory());
+	}
+	
+	public GameStatus getResult() {
+		return RESULT;
+	}
+	
+	public long getStartTime() {
+		return START_TIME;
+	}
+	
+	public long getEndTime() {
+		return END_TIME;
+	}
+	
+	public int getMoveCount() {
+		return MOVES.length;
+	}
+	/**
+	 * position번째 이동의 Move 부호를 반환하는 매서드
+	 * @param position 0부터 시작하는 이동의 순서
+	 * @return Move 부호, Move.getSource(), Move.getDestination()으로 해석한다.
+	 */
+	public int getMove(int position) {
+		return MOVES[position];
+	}
+	
+	public int[] getMoves() {
+		return Arrays.copyOf(MOVES, MOVES.length);
+	}
+	
+	int getRecordSize() {
+		return HEADER_SIZE + MOVES.length * 2;
+	}
+	/**
+	 * 파일 헤더를 buffer에 쓰는 매서드
+	 * @param buffer FILE_HEADER_SIZE 이상 남은 버퍼
+	 */
+	static void writeFileHeader(ByteBuffer buffer) {
+		buffer.putInt(MAGIC);
+		buffer.put(VERSION);
+	}
+	/**
+	 * 파일 헤더가 올바른지를 반환하는 매서드
+	 * @param buffer 파일 헤더를 읽을 버퍼, FILE_HEADER_SIZE만큼 읽는다.
+	 * @return MAGIC과 VERSION이 일치하면 true, 그렇지 않으면 false
+	 */
+	static boolean readFileHeader(ByteBuffer buffer) {
+		return buffer.getInt() == MAGIC && buffer.get() == VERSION;
+	}
+	/**
+	 * 대국 하나의 기록을 buffer에 쓰는 매서드
+	 * @param buffer getRecordSize() 이상 남은 버퍼
+	 */
+	void write(ByteBuffer buffer) {
+		buffer.put(encodeResult(RESULT));
+		buffer.putLong(START_TIME);
+		buffer.putLong(END_TIME);
+		buffer.putShort((short)MOVES.length);
+		for(int move : MOVES)	buffer.putShort((short)move);
+	}
+	/**
+	 * buffer의 현재 위치의 대국 기록의 크기를 반환하는 매서드, buffer의 위치는 바뀌지 않는다.
+	 * @param buffer HEADER_SIZE 이상 남은 버퍼
+	 * @return 헤더를 포함한 대국 기록의 바이트 수
+	 */
+	static int peekRecordSize(ByteBuffer buffer) {
+		return HEADER_SIZE + (buffer.getShort(buffer.position() + HEADER_SIZE - 2) & 0xFFFF) * 2;
+	}
+	/**
+	 * buffer에서 대국 하나의 기록을 읽는 매서드
+	 * @param buffer peekRecordSize() 이상 남은 버퍼
+	 * @return 읽은 대국의 기록
+	 * @throws IllegalArgumentException 결과의 값이 잘못되었거나 Move로 해석할 수 없는 이동이 있는 경우, 버퍼의 위치는 기록의 끝으로 옮겨져 다음 기록을 읽을 수 있다.
+	 */
+	static GameLog read(ByteBuffer buffer) {
+		int end = buffer.position() + peekRecordSize(buffer);
+		try {
+			GameStatus result = decodeResult(buffer.get());
+			long startTime = buffer.getLong(), endTime = buffer.getLong();
+			
+			int[] moves = new int[buffer.getShort() & 0xFFFF];
+			for(int position = 0; position < moves.length; position++) {
+				moves[position] = buffer.getShort();
+				if(!Move.isValid(moves[position]))	throw new IllegalArgumentException("Move: " + moves[position]);
+			}
+			
+			return new GameLog(moves, result, startTime, endTime);
+		} finally {
+			buffer.position(end);
+		}
+	}
+	/**
+	 * 결과를 파일에 저장할 값으로 바꾸는 매서드, 열거형의 순서가 바뀌어도 파일을 읽을 수 있도록 ordinal()을 사용하지 않는다.
+	 * @param result 대국의 결과
+	 * @return 저장할 값
+	 */
+	private static byte encodeResult(GameStatus result) {
+		switch(result) {
+		case HOME_WIN :
+			return 1;
+		case AWAY_WIN :
+			return 2;
+		case DRAW :
+			return 3;
+		default :
+			return 0;
+		}
+	}
+	
+	private static GameStatus decodeResult(byte code) {
+		switch(code) {
+		case 0 :
+			return GameStatus.PLAYING;
+		case 1 :
+			return GameStatus.HOME_WIN;
+		case 2 :
+			return GameStatus.AWAY_WIN;
+		case 3 :
+			return GameStatus.DRAW;
+		default :
+			throw new IllegalArgumentException("Result: " + code);
+		}
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder(RESULT + " " + START_TIME + "-" + END_TIME + " [");
+		for(int position = 0; position < MOVES.length; position++) {
+			if(position > 0)	builder.append(' ');
+			builder.append(Move.getSource(MOVES[position])).append('-').append(Move.getDestination(MOVES[position]));
+		}
+		
+		return builder.append(']').toString();
+	}
+}
@@ -0,0 +1,95 @@
+package com.kms.chinesechess.record;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 게임 기록 파일의 대국들을 앞에서부터 하나씩 읽는 클래스
+ * 파일 전체를 읽어들이지 않고 고정된 크기의 버퍼로 조금씩 읽으므로 파일의 크기와 관계없이 메모리를 일정하게 사용한다.
+ * 마지막 대국의 기록이 중간에 끊겨 있으면(쓰는 도중에 프로그램이 종료된 경우) 그 앞까지만 읽는다.
+ * 기록의 결과나 이동의 값이 잘못되었으면 hasNext()가 IllegalArgumentException을 던지며, 다시 호출하면 그 다음 기록부터 읽는다.
+ * @author Kwon
+ *
+ */
+public class GameLogReader implements Iterator<GameLog>, Closeable {
+	private static final int BUFFER_SIZE = 1 << 18;	// 가장 긴 대국의 기록(GameLog.MAX_RECORD_SIZE)보다 커야한다.
+	
+	private final FileChannel CHANNEL;
+	private final ByteBuffer BUFFER = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	
+	private GameLog nextGameLog = null;	// hasNext()에서 미리 읽어둔 대국
+	private boolean isEnd = false;	// 파일의 끝까지 버퍼로 읽었는지
+	/**
+	 * 게임 기록 파일을 여는 생성자
+	 * @param path 게임 기록 파일의 경로
+	 * @throws IOException 파일을 열 수 없거나 게임 기록 파일이 아닌 경우
+	 */
+	public GameLogReader(Path path) throws IOException {
+		CHANNEL = FileChannel.open(path, StandardOpenOption.READ);
+		BUFFER.flip();
+		
+		try {
+			if(!fill(GameLog.FILE_HEADER_SIZE) || !GameLog.readFileHeader(BUFFER))	throw new IOException("Not a game log: " + path);
+		} catch(IOException e) {
+			CHANNEL.close();
+			throw e;
+		}
+	}
+	
+	@Override
+	public boolean hasNext() {
+		if(nextGameLog == null) {
+			try {
+				nextGameLog = readNext();
+			} catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		
+		return nextGameLog != null;
+	}
+	
+	@Override
+	public GameLog next() {
+		if(!hasNext())	throw new NoSuchElementException();
+		
+		GameLog gameLog = nextGameLog;
+		nextGameLog = null;
+		return gameLog;
+	}
+	
+	private GameLog readNext() throws IOException {
+		if(!fill(GameLog.HEADER_SIZE))	return null;
+		if(!fill(GameLog.peekRecordSize(BUFFER)))	return null;
+		
+		return GameLog.read(BUFFER);
+	}
+	/**
+	 * 버퍼에 읽지 않은 바이트가 size개 이상 남도록 파일에서 읽어오는 매서드
+	 * @param size 필요한 바이트 수, BUFFER_SIZE 이하여야 한다.
+	 * @return size개 이상 남았으면 true, 파일의 끝에 도달하여 부족하면 false
+	 */
+	private boolean fill(int size) throws IOException {
+		while(BUFFER.remaining() < size) {
+			if(isEnd)	return false;
+			
+			BUFFER.compact();
+			if(CHANNEL.read(BUFFER) < 0)	isEnd = true;
+			BUFFER.flip();
+		}
+		
+		return true;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		CHANNEL.close();
+	}
+}
@@ -0,0 +1,125 @@
+package com.kms.chinesechess.record;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.kms.chinesechess.game.engine.Game;
+
+/**
+ * 끝난 대국들의 GameLog를 게임 기록 파일의 끝에 이어서 쓰는 클래스
+ * 대국마다 파일을 열고 닫지 않고, 하나의 FileChannel을 열어둔 채 직접 버퍼에 모았다가 버퍼가 차거나 flush(), close()될 때 한꺼번에 쓴다.
+ * 쓰는 도중에 프로그램이 종료되어 마지막 대국의 기록이 끊겨 있으면, 파일을 열 때 그 기록을 잘라내고 마지막 온전한 기록 뒤부터 쓴다.
+ * 매서드들은 synchronized이므로 여러 스레드가 한 인스턴스에 대국을 추가해도 된다.
+ * @author Kwon
+ *
+ */
+public class GameLogWriter implements Closeable {
+	private static final int BUFFER_SIZE = 1 << 18;	// 가장 긴 대국의 기록(GameLog.MAX_RECORD_SIZE)보다 커야한다.
+	
+	private final FileChannel CHANNEL;
+	private final ByteBuffer BUFFER = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	/**
+	 * 게임 기록 파일을 마지막 온전한 기록의 끝에서부터 쓰도록 여는 생성자, 파일이 없거나 비어있으면 파일 헤더를 쓴다.
+	 * @param path 게임 기록 파일의 경로
+	 * @throws IOException 파일을 열 수 없거나 게임 기록 파일이 아닌 경우
+	 */
+	public GameLogWriter(Path path) throws IOException {
+		CHANNEL = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		
+		try {
+			if(CHANNEL.size() == 0) {
+				GameLog.writeFileHeader(BUFFER);
+			} else {
+				ByteBuffer fileHeader = ByteBuffer.allocate(GameLog.FILE_HEADER_SIZE);
+				while(fileHeader.hasRemaining() && CHANNEL.read(fileHeader, fileHeader.position()) > 0);
+				fileHeader.flip();
+				if(fileHeader.remaining() < GameLog.FILE_HEADER_SIZE || !GameLog.readFileHeader(fileHeader))	throw new IOException("Not a game log: " + path);
+				
+				long end = findLastRecordEnd();
+				if(end < CHANNEL.size())	CHANNEL.truncate(end);
+			}
+			
+			CHANNEL.position(CHANNEL.size());
+		} catch(IOException e) {
+			CHANNEL.close();
+			throw e;
+		}
+	}
+	/**
+	 * 파일 헤더 뒤의 기록들을 헤더의 이동의 수로 건너뛰며 마지막 온전한 기록의 끝을 찾는 매서드
+	 * 기록마다 읽지 않도록 BUFFER에 파일을 크게 읽어두고, 다음 기록의 헤더가 BUFFER 밖에 있을 때만 그 위치부터 다시 읽는다.
+	 * @return 마지막 온전한 기록의 끝의 파일 위치, 기록이 없으면 파일 헤더의 끝
+	 */
+	private long findLastRecordEnd() throws IOException {
+		long size = CHANNEL.size(), end = GameLog.FILE_HEADER_SIZE, bufferStart = end;	// bufferStart: BUFFER의 첫 바이트의 파일 위치
+		BUFFER.limit(0);
+		
+		try {
+			while(size - end >= GameLog.HEADER_SIZE) {
+				if(end + GameLog.HEADER_SIZE > bufferStart + BUFFER.limit()) {
+					bufferStart = end;
+					BUFFER.clear();
+					while(BUFFER.hasRemaining() && CHANNEL.read(BUFFER, bufferStart + BUFFER.position()) > 0);
+					BUFFER.flip();
+				}
+				
+				BUFFER.position((int)(end - bufferStart));
+				int recordSize = GameLog.peekRecordSize(BUFFER);
+				if(size - end < recordSize)	break;
+				end += recordSize;
+			}
+		} finally {
+			BUFFER.clear();
+		}
+		
+		return end;
+	}
+	/**
+	 * 대국의 기록을 추가하는 매서드, 버퍼가 차기 전까지는 파일에 쓰지 않는다.
+	 * @param gameLog 추가할 대국의 기록
+	 * @throws IOException 버퍼를 파일에 쓰지 못한 경우
+	 */
+	public synchronized void append(GameLog gameLog) throws IOException {
+		if(BUFFER.remaining() < gameLog.getRecordSize())	flush();
+		
+		gameLog.write(BUFFER);
+	}
+	/**
+	 * 대국의 현재까지의 기록을 추가하는 매서드
+	 * @param game 시작 배치에서 시작한 대국, GameEngine에서 제거되기 전이어야 한다.
+	 * @throws IOException 버퍼를 파일에 쓰지 못한 경우
+	 */
+	public void append(Game game) throws IOException {
+		append(GameLog.of(game));
+	}
+	/**
+	 * 버퍼에 모인 기록들을 파일에 쓰는 매서드
+	 * @throws IOException 파일에 쓰지 못한 경우
+	 */
+	public synchronized void flush() throws IOException {
+		BUFFER.flip();
+		try {
+			while(BUFFER.hasRemaining())	CHANNEL.write(BUFFER);
+		} finally {
+			BUFFER.compact();
+		}
+	}
+	/**
+	 * 버퍼에 남은 기록들을 파일에 쓰고 디스크에 반영한 후 파일을 닫는 매서드
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if(!CHANNEL.isOpen())	return;
+		
+		try {
+			flush();
+			CHANNEL.force(false);
+		} finally {
+			CHANNEL.close();
+		}
+	}
+}
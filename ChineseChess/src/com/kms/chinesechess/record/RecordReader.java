@@ -5,30 +5,69 @@ import java.io.File;
 import java.io.FileInputStream;
 
 /**
- * 지정 File에 문자열로 저장되어있는 사용자의 게임 전적을 실질적인 데이터로써 읽어오는 클래스
+ * StatsService를 통해서 이 컴퓨터의 사용자의 게임 전적을 실질적인 데이터로써 읽어오는 클래스
+ * 전적은 StatsService가 메모리에 보관하므로 화면을 보여줄 때마다 파일을 읽지 않는다.
+ * 전적 파일을 처음 만들 때 이전 형식(String.format("%03d%03d%03d", win, draw, lose))의 전적 파일이 있으면 그 전적을 가져오며, 프로그램이 종료될 때 모아둔 게임 결과를 쓴다.
  * @author Kwon
  *
  */
 public class RecordReader {
-	private final String FILE_PATH = RecordReader.class.getResource("./").getPath() + "record.txt";
-	final File FILE = new File( FILE_PATH );
+	private final String DIRECTORY_PATH = RecordReader.class.getResource("./").getPath();
+	private final File LEGACY_FILE = new File( DIRECTORY_PATH + "record.txt" );	// 이전 형식의 전적 파일
+	final File FILE = new File( DIRECTORY_PATH + "record.dat" );
 	
+	static final long LOCAL_PLAYER_ID = 1;	// 이 컴퓨터의 사용자의 식별자
+	private static final int CACHE_CAPACITY = 1024;
+	private static final long FLUSH_INTERVAL_MILLIS = 1000;
+	
+	final StatsService STATS_SERVICE = openStatsService();	// 전적 파일을 열 수 없으면 null
 	private final Record RECORD = new Record();
 	
 	static final RecordReader INSTANCE = new RecordReader();
 	
 	private RecordReader() {}
 	/**
-	 * 파일에 String 형식으로 저장되어있는 게임 전적의 정보를 실질적인 데이터의 집합으로 구성된 Record 클래스의 인스턴스로 생성하여 반환해주는 매서드
-	 * @return 파일을 문제없이 읽어올 경우에 파일에 저장되어있는 전적의 정보를 Record 인스턴스로 반환, 파일을 읽어오는데 문제가 발생한 경우에는 초기화된 게임 전적 정보를 반환한다.
+	 * 전적 파일에 저장되어있는 게임 전적의 정보를 실질적인 데이터의 집합으로 구성된 Record 클래스의 인스턴스로 반환해주는 매서드
+	 * @return 전적 파일에 저장되어있는 전적의 정보를 Record 인스턴스로 반환, 전적 파일을 열 수 없는 경우에는 초기화된 게임 전적 정보를 반환한다.
 	 */
 	Record getRecord() {
+		RECORD.setRecord( ( STATS_SERVICE != null ) ? STATS_SERVICE.getStats( LOCAL_PLAYER_ID ) : Stats.EMPTY );
+		
+		return RECORD;
+	}
+	/**
+	 * 전적 파일을 열고 StatsService를 생성하는 매서드, 전적 파일에 아무 사용자도 없으면 이전 형식의 전적 파일의 전적을 가져온다.
+	 * @return 생성된 StatsService, 전적 파일을 열 수 없으면 null
+	 */
+	private StatsService openStatsService() {
+		try {
+			StatsStore statsStore = new StatsStore( FILE.toPath() );
+			if( statsStore.getPlayerCount() == 0 && LEGACY_FILE.exists() )	importLegacyRecord( statsStore );
+			
+			StatsService statsService = new StatsService( statsStore, CACHE_CAPACITY, FLUSH_INTERVAL_MILLIS );
+			Runtime.getRuntime().addShutdownHook( new Thread( () -> {
+				try {
+					statsService.close();
+					statsStore.close();
+				} catch(Exception e) { e.printStackTrace(); }
+			} ) );
+			
+			return statsService;
+		} catch(Exception e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+	
+	private void importLegacyRecord( StatsStore statsStore ) {
 		DataInputStream reader = null;
 		
 		try {
-			 reader = new DataInputStream( new FileInputStream( FILE ) );
-			 RECORD.setRecord( reader.readUTF() );
-		} catch(Exception e) { RECORD.setRecord(null); }
+			reader = new DataInputStream( new FileInputStream( LEGACY_FILE ) );
+			String record = reader.readUTF();
+			
+			statsStore.add( LOCAL_PLAYER_ID, Integer.parseInt( record.substring( 0, 3 ) ), Integer.parseInt( record.substring( 3, 6 ) ), Integer.parseInt( record.substring( 6, 9 ) ) );
+		} catch(Exception e) { e.printStackTrace(); }
 		finally {
 			try {
 				if( reader != null )	reader.close();
@@ -36,12 +75,9 @@ public class RecordReader {
 			
 			reader = null;
 		}
-		
-		return RECORD;
 	}
 	/**
-	 * String으로 저장되어있는 게임 전적을 실질적인 값(승, 무, 패, 승률)으로 치환하여 저장하고 있는 데이터 클래스
-	 * String.format( "%03d%03d%03d", win, draw, lose ) 형식의 문자열에서 실질적인 값인 integer형식의 win, draw, lose로 저장한다.
+	 * 전적 파일에서 읽은 Stats의 값(승, 무, 패, 승률)을 저장하고 있는 데이터 클래스
 	 * @author Kwon
 	 *
 	 */
@@ -66,28 +102,10 @@ public class RecordReader {
 			return ( win + draw + lose > 0 ) ? (float)win * 100 / ( win + draw + lose ) : 0.0f;
 		}
 		
-		private void setRecord( String record ) {
-			win = convertToWinCount( record );
-			draw = convertToDrawCount( record );
-			lose = convertToLoseCount( record );
-		}
-		
-		private int convertToWinCount( String record ) {
-			if( record == null )	return 0;
-			
-			return Integer.parseInt( record.substring( 0, 3 ) );
-		}
-		
-		private int convertToDrawCount( String record ) {
-			if( record == null )	return 0;
-			
-			return Integer.parseInt( record.substring( 3, 6 ) );
-		}
-		
-		private int convertToLoseCount( String record ) {
-			if( record == null )	return 0;
-			
-			return Integer.parseInt( record.substring( 6, 9 ) );
+		private void setRecord( Stats stats ) {
+			win = stats.getWinCount();
+			draw = stats.getDrawCount();
+			lose = stats.getLoseCount();
 		}
 	}
 }
@@ -0,0 +1,62 @@
+package com.kms.chinesechess.record;
+
+/**
+ * 한 사용자의 게임 전적(승, 무, 패)을 담는 불변 데이터 클래스
+ * @author Kwon
+ *
+ */
+public class Stats {
+	public static final Stats EMPTY = new Stats(0, 0, 0);
+	
+	private final int WIN, DRAW, LOSE;
+	
+	public Stats(int win, int draw, int lose) {
+		this.WIN = win;
+		this.DRAW = draw;
+		this.LOSE = lose;
+	}
+	
+	public int getWinCount() {
+		return WIN;
+	}
+	
+	public int getDrawCount() {
+		return DRAW;
+	}
+	
+	public int getLoseCount() {
+		return LOSE;
+	}
+	
+	public float getWinPercentage() {
+		return ( WIN + DRAW + LOSE > 0 ) ? (float)WIN * 100 / ( WIN + DRAW + LOSE ) : 0.0f;
+	}
+	/**
+	 * 전적에 승, 무, 패의 수를 더한 전적을 반환하는 매서드
+	 * @param win 더할 승의 수
+	 * @param draw 더할 무의 수
+	 * @param lose 더할 패의 수
+	 * @return 더한 전적, 본 인스턴스는 변경되지 않는다.
+	 */
+	public Stats plus(int win, int draw, int lose) {
+		return new Stats(WIN + win, DRAW + draw, LOSE + lose);
+	}
+	
+	@Override
+	public boolean equals(Object object) {
+		if(!(object instanceof Stats))	return false;
+		
+		Stats stats = (Stats)object;
+		return WIN == stats.WIN && DRAW == stats.DRAW && LOSE == stats.LOSE;
+	}
+	
+	@Override
+	public int hashCode() {
+		return (WIN * 31 + DRAW) * 31 + LOSE;
+	}
+	
+	@Override
+	public String toString() {
+		return WIN + "승 " + DRAW + "무 " + LOSE + "패";
+	}
+}
@@ -0,0 +1,165 @@
+package com.kms.chinesechess.record;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.kms.chinesechess.game.data.ResultType;
+
+/**
+ * 사용자별 게임 전적을 메모리에 두고 제공하며, 게임 결과를 모아서 주기적으로 StatsStore에 쓰는 클래스
+ * 최근에 조회되거나 갱신된 사용자의 전적은 최대 cacheCapacity명까지 LRU 순서로 보관하고, 넘치면 가장 오래 사용되지 않은 사용자부터 버린다.
+ * 게임 결과는 사용자마다 아직 쓰지 않은 승, 무, 패의 수로 모아두었다가 flushIntervalMillis마다 한꺼번에 StatsStore에 더한다.
+ * 버려진 사용자를 다시 조회하면 StatsStore의 전적에 아직 쓰지 않은 수를 더하여 읽으므로 조회 결과는 항상 모든 게임 결과를 반영한다.
+ * 메모리의 전적과 모아둔 수는 작은 잠금(CACHE) 안에서 맵의 연산만으로 바뀌며, StatsStore를 읽고 쓰는 것은 이 잠금 밖에서 한다.
+ * 쓰는 중인 수와 StatsStore를 섞어 읽지 않도록 StatsStore에서 읽는 조회와 쓰기는 FLUSH_LOCK으로만 서로를 기다린다.
+ * 쓰기 전에 프로그램이 비정상 종료되면 마지막 주기의 게임 결과는 잃어버리므로, 종료할 때는 close()를 호출해야한다.
+ * @author Kwon
+ *
+ */
+public class StatsService implements Closeable {
+	private final StatsStore STATS_STORE;
+	private final Map<Long, Stats> CACHE;	// 최근에 사용된 사용자의 전적(아직 쓰지 않은 수 포함), 접근 순서, pending과 함께 synchronized(CACHE)로 보호한다.
+	private final ReadWriteLock FLUSH_LOCK = new ReentrantReadWriteLock();	// StatsStore에서 읽는 조회는 읽기 잠금, 쓰기는 쓰기 잠금
+	private final ScheduledExecutorService WRITER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "stats-write-behind");
+		thread.setDaemon(true);
+		return thread;
+	});
+	
+	private Map<Long, int[]> pending = new HashMap<>();	// 사용자마다 아직 쓰지 않은 승, 무, 패의 수, 쓸 때는 새 맵으로 바꾼다.
+	private boolean isClosed = false;	// synchronized(CACHE)에서만 변경된다.
+	/**
+	 * @param statsStore 전적을 쓸 StatsStore, 닫는 것은 호출한 쪽에서 해야한다.
+	 * @param cacheCapacity 메모리에 보관할 사용자의 최대 수
+	 * @param flushIntervalMillis 모아둔 게임 결과를 쓰는 주기
+	 */
+	public StatsService(StatsStore statsStore, int cacheCapacity, long flushIntervalMillis) {
+		if(cacheCapacity <= 0)	throw new IllegalArgumentException("Capacity: " + cacheCapacity);
+		
+		this.STATS_STORE = statsStore;
+		this.CACHE = new LinkedHashMap<Long, Stats>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, Stats> eldest) {
+				return size() > cacheCapacity;
+			}
+		};
+		
+		WRITER.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+	}
+	/**
+	 * 사용자의 전적을 반환하는 매서드, 메모리에 없으면 StatsStore에서 읽어서 보관한다.
+	 * @param playerId 사용자의 식별자
+	 * @return 아직 쓰지 않은 게임 결과까지 반영된 사용자의 전적
+	 */
+	public Stats getStats(long playerId) {
+		synchronized(CACHE) {
+			Stats stats = CACHE.get(playerId);
+			if(stats != null)	return stats;
+		}
+		
+		FLUSH_LOCK.readLock().lock();
+		try {
+			Stats storedStats = STATS_STORE.getStats(playerId);
+			synchronized(CACHE) {
+				Stats stats = CACHE.get(playerId);
+				if(stats != null)	return stats;
+				
+				stats = storedStats;
+				int[] counts = pending.get(playerId);
+				if(counts != null)	stats = stats.plus(counts[0], counts[1], counts[2]);
+				
+				CACHE.put(playerId, stats);
+				return stats;
+			}
+		} finally {
+			FLUSH_LOCK.readLock().unlock();
+		}
+	}
+	/**
+	 * 게임의 결과를 사용자의 전적에 더하는 매서드, 메모리의 전적은 바로 바뀌고 StatsStore에는 다음 주기에 쓴다.
+	 * 메모리에 없는 사용자는 모아둔 수에만 더하며, 다음에 조회할 때 StatsStore의 전적에 더해진다.
+	 * @param playerId 사용자의 식별자, 0이면 안된다.
+	 * @param resultType 게임의 결과(승, 무, 패)
+	 * @throws IllegalStateException close()가 호출된 후인 경우
+	 */
+	public void addResult(long playerId, ResultType resultType) {
+		if(playerId == 0)	throw new IllegalArgumentException("Player id: 0");
+		
+		int win = (resultType == ResultType.WIN) ? 1 : 0, draw = (resultType == ResultType.DRAW) ? 1 : 0, lose = (resultType == ResultType.LOSE) ? 1 : 0;
+		synchronized(CACHE) {
+			if(isClosed)	throw new IllegalStateException("StatsService closed");
+			
+			Stats stats = CACHE.get(playerId);
+			if(stats != null)	CACHE.put(playerId, stats.plus(win, draw, lose));
+			addPending(playerId, win, draw, lose);
+		}
+	}
+	/**
+	 * 모아둔 게임 결과를 StatsStore에 쓰는 매서드, 주기마다 호출되며 바로 쓰고자 할 때 호출해도 된다.
+	 * 모아둔 맵을 새 맵으로 바꾼 후 CACHE의 잠금 밖에서 쓰므로 쓰는 동안에도 게임 결과를 더하거나 메모리의 전적을 조회할 수 있다.
+	 * 쓰지 못한 사용자의 수는 다시 모아두고 다음 주기에 쓴다.
+	 */
+	public void flush() {
+		FLUSH_LOCK.writeLock().lock();
+		try {
+			Map<Long, int[]> flushed;
+			synchronized(CACHE) {
+				if(pending.isEmpty())	return;
+				
+				flushed = pending;
+				pending = new HashMap<>();
+			}
+			
+			for(Map.Entry<Long, int[]> entry : flushed.entrySet()) {
+				int[] counts = entry.getValue();
+				try {
+					STATS_STORE.add(entry.getKey(), counts[0], counts[1], counts[2]);
+				} catch(Exception e) {
+					e.printStackTrace();
+					synchronized(CACHE) {
+						addPending(entry.getKey(), counts[0], counts[1], counts[2]);
+					}
+				}
+			}
+		} finally {
+			FLUSH_LOCK.writeLock().unlock();
+		}
+	}
+	/**
+	 * 사용자의 아직 쓰지 않은 수를 더하는 매서드, synchronized(CACHE)에서 호출해야한다.
+	 */
+	private void addPending(long playerId, int win, int draw, int lose) {
+		int[] counts = pending.computeIfAbsent(playerId, id -> new int[3]);
+		counts[0] += win;
+		counts[1] += draw;
+		counts[2] += lose;
+	}
+	/**
+	 * 주기적인 쓰기를 멈추고 모아둔 게임 결과를 쓴 후 디스크에 반영하는 매서드, 이후의 addResult()는 IllegalStateException을 던진다.
+	 */
+	@Override
+	public void close() {
+		synchronized(CACHE) {
+			isClosed = true;
+		}
+		
+		WRITER.shutdown();
+		try {
+			WRITER.awaitTermination(1, TimeUnit.SECONDS);
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		
+		flush();
+		STATS_STORE.force();
+	}
+}
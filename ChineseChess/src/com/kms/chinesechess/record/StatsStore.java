@@ -0,0 +1,253 @@
+package com.kms.chinesechess.record;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.kms.chinesechess.game.data.ResultType;
+
+/**
+ * 사용자별 게임 전적을 메모리 매핑된 고정 형식의 파일에 저장하는 클래스
+ * 파일은 HEADER_SIZE 바이트의 헤더(MAGIC, VERSION, 행의 수)와 사용자마다 ROW_SIZE 바이트의 행으로 구성된다.
+ * 행은 사용자의 식별자와 두 개의 슬롯(순번, 승, 무, 패, 체크섬)을 가지며, 전적을 갱신할 때는 현재 슬롯이 아닌 다른 슬롯에 순번을 올려서 쓴다.
+ * 쓰는 도중에 종료되어 슬롯이 깨지더라도 체크섬이 맞지 않으므로 다른 슬롯의 이전 전적을 읽는다.
+ * 행의 갱신은 행마다 정해진 LOCK_COUNT개의 잠금 중 하나로만 보호하므로 서로 다른 사용자의 전적은 동시에 갱신된다.
+ * 파일은 SEGMENT_ROWS개의 행 단위로 매핑하며, 사용자가 늘어나면 다음 구간을 매핑한다.
+ * 갱신은 매핑된 메모리에 바로 반영되어 프로그램이 종료되어도 운영체제가 파일에 쓰며, 전원이 꺼지는 경우에 대비하려면 force()를 호출해야한다.
+ * @author Kwon
+ *
+ */
+public class StatsStore implements Closeable {
+	private static final int MAGIC = 0x4A535453;	// "JSTS"
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 64;
+	private static final int ROW_COUNT_OFFSET = 8;
+	
+	private static final int ROW_SIZE = 64;
+	private static final int SLOT_OFFSET = 8, SLOT_SIZE = 24;	// 행의 처음 8바이트는 사용자의 식별자
+	private static final int SEQUENCE = 0, WIN = 4, DRAW = 8, LOSE = 12, CHECKSUM = 16;	// 슬롯 안의 위치
+	private static final int SEGMENT_ROWS = 1 << 14;
+	private static final int LOCK_COUNT = 64;	// 2의 거듭제곱이어야 한다.
+	
+	private final FileChannel CHANNEL;
+	private final MappedByteBuffer HEADER;
+	private final Map<Long, Integer> ROWS = new ConcurrentHashMap<>();	// 사용자의 식별자와 행의 번호
+	private final Object[] LOCKS = new Object[LOCK_COUNT];
+	
+	private volatile MappedByteBuffer[] segments;
+	private int rowCount;	// synchronized(ROWS)에서만 변경된다.
+	/**
+	 * 전적 파일을 여는 생성자, 파일이 없으면 새로 만든다.
+	 * @param path 전적 파일의 경로
+	 * @throws IOException 파일을 열 수 없거나 전적 파일이 아닌 경우
+	 */
+	public StatsStore(Path path) throws IOException {
+		CHANNEL = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		
+		try {
+			boolean isNew = CHANNEL.size() == 0;
+			HEADER = CHANNEL.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+			if(isNew) {
+				HEADER.putInt(0, MAGIC);
+				HEADER.putInt(4, VERSION);
+				HEADER.putInt(ROW_COUNT_OFFSET, 0);
+			} else if(HEADER.getInt(0) != MAGIC || HEADER.getInt(4) != VERSION) {
+				throw new IOException("Not a stats file: " + path);
+			}
+			
+			rowCount = HEADER.getInt(ROW_COUNT_OFFSET);
+			segments = new MappedByteBuffer[0];
+			while(segments.length * SEGMENT_ROWS < Math.max(rowCount, 1))	mapNextSegment();
+			
+			for(int row = 0; row < rowCount; row++)	ROWS.putIfAbsent(getSegment(row).getLong(getOffset(row)), row);
+		} catch(IOException e) {
+			CHANNEL.close();
+			throw e;
+		}
+		
+		for(int index = 0; index < LOCK_COUNT; index++)	LOCKS[index] = new Object();
+	}
+	/**
+	 * 사용자의 전적을 반환하는 매서드
+	 * @param playerId 사용자의 식별자
+	 * @return 사용자의 전적, 기록이 없으면 Stats.EMPTY
+	 */
+	public Stats getStats(long playerId) {
+		Integer row = ROWS.get(playerId);
+		if(row == null)	return Stats.EMPTY;
+		
+		synchronized(LOCKS[row & (LOCK_COUNT - 1)]) {
+			MappedByteBuffer segment = getSegment(row);
+			int slot = getCurrentSlot(segment, getOffset(row), playerId);
+			if(slot < 0)	return Stats.EMPTY;
+			
+			return new Stats(segment.getInt(slot + WIN), segment.getInt(slot + DRAW), segment.getInt(slot + LOSE));
+		}
+	}
+	/**
+	 * 게임의 결과를 사용자의 전적에 더하는 매서드
+	 * @param playerId 사용자의 식별자, 0이면 안된다.
+	 * @param resultType 게임의 결과(승, 무, 패)
+	 */
+	public void addResult(long playerId, ResultType resultType) {
+		switch(resultType) {
+		case WIN :
+			add(playerId, 1, 0, 0);
+			break;
+		case DRAW :
+			add(playerId, 0, 1, 0);
+			break;
+		case LOSE :
+			add(playerId, 0, 0, 1);
+			break;
+		}
+	}
+	/**
+	 * 승, 무, 패의 수를 사용자의 전적에 더하는 매서드, 사용자의 행이 없으면 새로 만든다.
+	 * @param playerId 사용자의 식별자, 0이면 안된다.
+	 * @param win 더할 승의 수
+	 * @param draw 더할 무의 수
+	 * @param lose 더할 패의 수
+	 * @throws IllegalArgumentException playerId가 0인 경우
+	 */
+	public void add(long playerId, int win, int draw, int lose) {
+		int row = getOrCreateRow(playerId);
+		
+		synchronized(LOCKS[row & (LOCK_COUNT - 1)]) {
+			MappedByteBuffer segment = getSegment(row);
+			int offset = getOffset(row);
+			int currentSlot = getCurrentSlot(segment, offset, playerId);
+			
+			int sequence = 0, currentWin = 0, currentDraw = 0, currentLose = 0;
+			if(currentSlot >= 0) {
+				sequence = segment.getInt(currentSlot + SEQUENCE);
+				currentWin = segment.getInt(currentSlot + WIN);
+				currentDraw = segment.getInt(currentSlot + DRAW);
+				currentLose = segment.getInt(currentSlot + LOSE);
+			}
+			
+			int nextSlot = (currentSlot == offset + SLOT_OFFSET) ? offset + SLOT_OFFSET + SLOT_SIZE : offset + SLOT_OFFSET;
+			writeSlot(segment, nextSlot, playerId, sequence + 1, currentWin + win, currentDraw + draw, currentLose + lose);
+		}
+	}
+	
+	public int getPlayerCount() {
+		return ROWS.size();
+	}
+	/**
+	 * 매핑된 메모리의 변경을 디스크에 반영하는 매서드
+	 */
+	public void force() {
+		HEADER.force();
+		for(MappedByteBuffer segment : segments)	segment.force();
+	}
+	/**
+	 * 변경을 디스크에 반영하고 파일을 닫는 매서드, 매핑된 메모리는 GC가 회수할 때 해제된다.
+	 */
+	@Override
+	public void close() throws IOException {
+		if(!CHANNEL.isOpen())	return;
+		
+		try {
+			force();
+		} finally {
+			CHANNEL.close();
+		}
+	}
+	/**
+	 * 사용자의 행의 번호를 반환하는 매서드, 행이 없으면 파일의 끝에 행을 추가한다.
+	 * 행을 추가할 때만 ROWS에 대해서 동기화하며, 행에 식별자를 쓴 후에 헤더의 행의 수를 올리므로 도중에 종료되어도 파일이 깨지지 않는다.
+	 * @param playerId 사용자의 식별자
+	 * @return 행의 번호
+	 */
+	private int getOrCreateRow(long playerId) {
+		Integer row = ROWS.get(playerId);
+		if(row != null)	return row;
+		if(playerId == 0)	throw new IllegalArgumentException("Player id: 0");
+		
+		synchronized(ROWS) {
+			row = ROWS.get(playerId);
+			if(row != null)	return row;
+			
+			if(rowCount == segments.length * SEGMENT_ROWS) {
+				try {
+					mapNextSegment();
+				} catch(IOException e) {
+					throw new IllegalStateException("Cannot extend the stats file", e);
+				}
+			}
+			
+			row = rowCount;
+			MappedByteBuffer segment = getSegment(row);
+			int offset = getOffset(row);
+			segment.putLong(offset, playerId);
+			for(int position = SLOT_OFFSET; position < ROW_SIZE; position++)	segment.put(offset + position, (byte)0);
+			
+			HEADER.putInt(ROW_COUNT_OFFSET, ++rowCount);
+			ROWS.put(playerId, row);
+			return row;
+		}
+	}
+	
+	private void mapNextSegment() throws IOException {
+		MappedByteBuffer[] next = Arrays.copyOf(segments, segments.length + 1);
+		next[segments.length] = CHANNEL.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + (long)segments.length * SEGMENT_ROWS * ROW_SIZE, (long)SEGMENT_ROWS * ROW_SIZE);
+		segments = next;
+	}
+	
+	private MappedByteBuffer getSegment(int row) {
+		return segments[row / SEGMENT_ROWS];
+	}
+	
+	private static int getOffset(int row) {
+		return (row % SEGMENT_ROWS) * ROW_SIZE;
+	}
+	/**
+	 * 행의 두 슬롯 중 체크섬이 맞고 순번이 더 큰 슬롯의 위치를 반환하는 매서드
+	 * @param segment 행이 있는 구간
+	 * @param offset 구간에서의 행의 위치
+	 * @param playerId 행의 사용자의 식별자
+	 * @return 구간에서의 슬롯의 위치, 두 슬롯 모두 체크섬이 맞지 않으면(한번도 갱신되지 않은 행) -1
+	 */
+	private static int getCurrentSlot(MappedByteBuffer segment, int offset, long playerId) {
+		int first = offset + SLOT_OFFSET, second = first + SLOT_SIZE;
+		boolean isFirstValid = isValidSlot(segment, first, playerId), isSecondValid = isValidSlot(segment, second, playerId);
+		
+		if(isFirstValid && isSecondValid)	return segment.getInt(second + SEQUENCE) - segment.getInt(first + SEQUENCE) > 0 ? second : first;
+		if(isFirstValid)	return first;
+		if(isSecondValid)	return second;
+		return -1;
+	}
+	
+	private static boolean isValidSlot(MappedByteBuffer segment, int slot, long playerId) {
+		return segment.getInt(slot + CHECKSUM) == checksum(playerId, segment.getInt(slot + SEQUENCE), segment.getInt(slot + WIN), segment.getInt(slot + DRAW), segment.getInt(slot + LOSE));
+	}
+	/**
+	 * 슬롯에 전적을 쓰는 매서드, 체크섬은 다른 값들을 모두 쓴 후에 쓴다.
+	 */
+	private static void writeSlot(MappedByteBuffer segment, int slot, long playerId, int sequence, int win, int draw, int lose) {
+		segment.putInt(slot + SEQUENCE, sequence);
+		segment.putInt(slot + WIN, win);
+		segment.putInt(slot + DRAW, draw);
+		segment.putInt(slot + LOSE, lose);
+		segment.putInt(slot + CHECKSUM, checksum(playerId, sequence, win, draw, lose));
+	}
+	/**
+	 * 슬롯의 값들로 체크섬을 계산하는 매서드, 0으로 채워진 슬롯의 체크섬은 0이 아니므로 쓰지 않은 슬롯은 맞지 않는다.
+	 */
+	private static int checksum(long playerId, int sequence, int win, int draw, int lose) {
+		long hash = 0x5A17C0DE;
+		hash = (hash ^ playerId) * 0x9E3779B97F4A7C15L;
+		hash = (hash ^ sequence) * 0x9E3779B97F4A7C15L;
+		hash = (hash ^ win) * 0x9E3779B97F4A7C15L;
+		hash = (hash ^ draw) * 0x9E3779B97F4A7C15L;
+		hash = (hash ^ lose) * 0x9E3779B97F4A7C15L;
+		return (int)(hash ^ (hash >>> 32)) | 1;
+	}
+}
@@ -1,5 +1,9 @@
 package com.kms.chinesechess.support;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * 장기판 안에서의 좌표 정보를 제공해주는 클래스
  * @author Kwon
@@ -8,20 +12,27 @@ package com.kms.chinesechess.support;
 public class Location {
 	public static final int MIN_ROW = 1, MIN_COL = 1;
 	public static final int MAX_ROW = 10, MAX_COL = 9;
+	public static final int COUNT = MAX_ROW * MAX_COL;	// 장기판의 모든 좌표의 수, INDEX는 0 ~ COUNT - 1의 값을 갖는다.
 	
 	public final int ROW, COL;
+	public final int INDEX;	// (ROW - MIN_ROW) * MAX_COL + (COL - MIN_COL), 좌표를 배열의 인덱스로 사용할 때 쓰인다.
 	
 	private static final Location[][] INSTANCE = new Location[MAX_ROW + 1][MAX_COL + 1];
+	private static final Location[] INDEXED_INSTANCE = new Location[COUNT];
+	private static final List<Location> VALUES = Collections.unmodifiableList(Arrays.asList(INDEXED_INSTANCE));	// INDEXED_INSTANCE의 변경할 수 없는 뷰
 	
 	static {
 		for( int row = 1; row <= MAX_ROW; row++ ) 
-			for( int col = 1; col <= MAX_COL; col++ ) 
+			for( int col = 1; col <= MAX_COL; col++ ) {
 				INSTANCE[row][col] = new Location(row, col);
+				INDEXED_INSTANCE[INSTANCE[row][col].INDEX] = INSTANCE[row][col];
+			}
 	}
 	
 	private Location( int row, int col ) {
 		this.ROW = row;
 		this.COL = col;
+		this.INDEX = (row - MIN_ROW) * MAX_COL + (col - MIN_COL);
 	}
 	/**
 	 * 원하는 좌표 정보를 가지고 있는 INSTANCE를 반환해주는 매서드
@@ -35,19 +46,22 @@ public class Location {
 		return INSTANCE[row][col];
 	}
 	/**
-	 * 장기판에서의 모든 좌표를 반환하는 매서드
-	 * @return 장기판에서의 모든 좌표
+	 * 해당 INDEX를 가지는 INSTANCE를 반환해주는 매서드
+	 * @param index 0 ~ COUNT - 1까지의 INDEX
+	 * @return INDEX가 index인 INSTANCE
 	 */
-	public static Location[][] values() {
-		Location[][] values = new Location[MAX_ROW][MAX_COL];
-		
-		for(int row = 0; row < MAX_ROW; row++) {
-			for(int col = 0; col < MAX_COL; col++) {
-				values[row][col] = INSTANCE[row + 1][col + 1];
-			}
-		}
+	public static Location instanceAt( int index ) {
+		if( index < 0 || index >= COUNT )	return null;
 		
-		return values;
+		return INDEXED_INSTANCE[index];
+	}
+	/**
+	 * 장기판에서의 모든 좌표를 반환하는 매서드
+	 * 매번 새로 생성하지 않고 미리 만들어둔 변경할 수 없는 리스트를 반환하며, 반복문에서는 instanceAt(int)와 COUNT를 사용하는 것이 빠르다.
+	 * @return INDEX 순서의 장기판에서의 모든 좌표, 변경하면 UnsupportedOperationException이 발생한다.
+	 */
+	public static List<Location> values() {
+		return VALUES;
 	}
 	/**
 	 * 장기판에서 본 위치에서 상하좌우 반전시킨 위치를 반환하는 매서드 
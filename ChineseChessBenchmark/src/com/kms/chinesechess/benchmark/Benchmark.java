@@ -0,0 +1,137 @@
+package com.kms.chinesechess.benchmark;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * 하나의 연산을 반복 실행하여 실행 시간의 분포와 메모리 할당량을 측정하는 클래스
+ * JMH의 sample 모드와 gc 프로파일러를 따라 예열 반복으로 JIT 컴파일을 마친 후, 측정 반복 동안 연산 한번마다 실행 시간을 재고
+ * 스레드가 할당한 바이트 수(com.sun.management.ThreadMXBean)와 GC의 횟수, 시간을 측정 전후로 비교한다.
+ * 연산의 반환 값은 sink에 누적하여 연산이 최적화로 제거되지 않게 한다.
+ * @author Kwon
+ *
+ */
+public class Benchmark {
+	private static final int WARMUP_ITERATIONS = 5, MEASUREMENT_ITERATIONS = 5;
+	private static final long WARMUP_NANOS = 200_000_000L, MEASUREMENT_NANOS = 500_000_000L;
+	private static final int MAX_SAMPLE_COUNT = 1 << 20;	// 저장할 실행 시간의 최대 수, 넘으면 저수지 표본 추출로 교체한다.
+	
+	private static final long[] SAMPLES = new long[MAX_SAMPLE_COUNT];
+	private static volatile long sink = 0;
+	
+	private final String NAME;
+	private final Runnable SET_UP;
+	private final Operation OPERATION;
+	private final Runnable TEAR_DOWN;
+	
+	public Benchmark(String name, Operation operation) {
+		this(name, null, operation, null);
+	}
+	
+	public Benchmark(String name, Operation operation, Runnable tearDown) {
+		this(name, null, operation, tearDown);
+	}
+	/**
+	 * 측정하지 않는 Benchmark는 준비 작업을 실행하지 않으므로 파일처럼 정리해야 하는 상태는 생성할 때가 아닌 준비 작업에서 만든다.
+	 * 되돌리는 작업은 준비 작업이나 측정이 예외로 끝나도 실행되므로 일부만 준비된 상태도 정리할 수 있어야한다.
+	 * @param name 결과에 기록할 이름, '부분 시스템.연산'의 형식으로 짓는다.
+	 * @param setUp 측정하기 전에 실행하여 연산이 사용할 상태(파일 등)를 준비하는 작업, 없으면 null
+	 * @param operation 측정할 연산
+	 * @param tearDown 측정이 끝난 후 실행하여 연산이 변경한 상태(파일 등)를 되돌리는 작업, 없으면 null
+	 */
+	public Benchmark(String name, Runnable setUp, Operation operation, Runnable tearDown) {
+		this.NAME = name;
+		this.SET_UP = setUp;
+		this.OPERATION = operation;
+		this.TEAR_DOWN = tearDown;
+	}
+	
+	public String getName() {
+		return NAME;
+	}
+	/**
+	 * 준비 작업과 예열 반복 후 측정 반복을 실행하여 결과를 반환하는 매서드
+	 * @return 측정 결과
+	 */
+	public BenchmarkResult run() {
+		try {
+			if(SET_UP != null)	SET_UP.run();
+			
+			int invocation = 0;
+			for(int iteration = 0; iteration < WARMUP_ITERATIONS; iteration++) {
+				long endTime = System.nanoTime() + WARMUP_NANOS;
+				while(System.nanoTime() < endTime)	sink += OPERATION.run(invocation++);
+			}
+			
+			com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+			long threadId = Thread.currentThread().getId();
+			long gcCount = -getGcCount(), gcMillis = -getGcMillis();
+			long allocatedBytes = -threadMXBean.getThreadAllocatedBytes(threadId);
+			long operationCount = 0, elapsedNanos = 0, random = 0x9E3779B97F4A7C15L;
+			
+			for(int iteration = 0; iteration < MEASUREMENT_ITERATIONS; iteration++) {
+				long iterationNanos = 0;
+				while(iterationNanos < MEASUREMENT_NANOS) {
+					long startTime = System.nanoTime();
+					sink += OPERATION.run(invocation++);
+					long nanos = System.nanoTime() - startTime;
+					iterationNanos += nanos;
+					
+					if(operationCount < MAX_SAMPLE_COUNT) {
+						SAMPLES[(int)operationCount] = nanos;
+					} else {
+						random ^= random << 13;
+						random ^= random >>> 7;
+						random ^= random << 17;
+						long position = (random >>> 1) % (operationCount + 1);
+						if(position < MAX_SAMPLE_COUNT)	SAMPLES[(int)position] = nanos;
+					}
+					operationCount++;
+				}
+				elapsedNanos += iterationNanos;
+			}
+			
+			allocatedBytes += threadMXBean.getThreadAllocatedBytes(threadId);
+			gcCount += getGcCount();
+			gcMillis += getGcMillis();
+			
+			int sampleCount = (int)Math.min(operationCount, MAX_SAMPLE_COUNT);
+			Arrays.sort(SAMPLES, 0, sampleCount);
+			return new BenchmarkResult(NAME, operationCount, (double)elapsedNanos / operationCount,
+					getPercentile(sampleCount, 0.50), getPercentile(sampleCount, 0.99), SAMPLES[sampleCount - 1],
+					(double)allocatedBytes / operationCount, allocatedBytes * 1000.0 / elapsedNanos, gcCount, gcMillis);
+		} finally {
+			if(TEAR_DOWN != null)	TEAR_DOWN.run();
+		}
+	}
+	
+	private static long getPercentile(int sampleCount, double percentile) {
+		return SAMPLES[(int)Math.min(sampleCount - 1, Math.ceil(sampleCount * percentile) - 1)];
+	}
+	
+	private static long getGcCount() {
+		long count = 0;
+		for(GarbageCollectorMXBean gcMXBean : ManagementFactory.getGarbageCollectorMXBeans())	count += Math.max(gcMXBean.getCollectionCount(), 0);
+		return count;
+	}
+	
+	private static long getGcMillis() {
+		long millis = 0;
+		for(GarbageCollectorMXBean gcMXBean : ManagementFactory.getGarbageCollectorMXBeans())	millis += Math.max(gcMXBean.getCollectionTime(), 0);
+		return millis;
+	}
+	/**
+	 * 측정할 연산
+	 * @author Kwon
+	 *
+	 */
+	public interface Operation {
+		/**
+		 * 연산을 한번 실행하는 매서드
+		 * @param invocation 0부터 시작하는 실행 순번, 여러 장기판을 번갈아 사용하거나 이동과 되돌리기를 번갈아 실행할 때 사용한다.
+		 * @return 연산의 결과에서 얻은 임의의 값
+		 */
+		long run(int invocation);
+	}
+}
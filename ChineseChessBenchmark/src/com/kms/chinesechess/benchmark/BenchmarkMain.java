@@ -0,0 +1,67 @@
+package com.kms.chinesechess.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.kms.chinesechess.game.chess_men_paths.PathsBenchmarks;
+import com.kms.chinesechess.game.data.board.BoardBenchmarks;
+import com.kms.chinesechess.record.RecordBenchmarks;
+
+/**
+ * 서버가 이동마다 호출하는 chess_men_paths, data.board, record의 연산들을 측정하고 결과를 JSON 파일로 저장하는 실행 클래스
+ * 릴리스마다 실행하여 저장된 JSON 파일들을 비교하면 연산별 실행 시간과 할당량의 추이를 볼 수 있다.
+ * 사용법: BenchmarkMain [결과 파일(기본 benchmark-result.json)] [이름에 포함될 문자열]
+ * @author Kwon
+ *
+ */
+public class BenchmarkMain {
+	private static final String DEFAULT_RESULT_FILE = "benchmark-result.json";
+	
+	public static void main(String[] args) throws IOException {
+		File resultFile = new File(args.length > 0 ? args[0] : DEFAULT_RESULT_FILE);
+		String filter = args.length > 1 ? args[1] : "";
+		
+		List<Benchmark> benchmarks = new ArrayList<>();
+		benchmarks.addAll(PathsBenchmarks.create());
+		benchmarks.addAll(BoardBenchmarks.create());
+		benchmarks.addAll(RecordBenchmarks.create());
+		
+		List<BenchmarkResult> results = new ArrayList<>();
+		for(Benchmark benchmark : benchmarks) {
+			if(!benchmark.getName().contains(filter))	continue;
+			
+			BenchmarkResult result = benchmark.run();
+			results.add(result);
+			System.out.println(result);
+		}
+		
+		writeResults(resultFile, results);
+		System.out.println("results: " + resultFile.getAbsolutePath());
+	}
+	/**
+	 * 실행 환경과 측정 결과들을 JSON 파일로 저장하는 매서드
+	 * @param resultFile 저장할 파일
+	 * @param results 측정 결과들
+	 */
+	private static void writeResults(File resultFile, List<BenchmarkResult> results) throws IOException {
+		try(Writer writer = new OutputStreamWriter(new FileOutputStream(resultFile), StandardCharsets.UTF_8)) {
+			writer.write("{\n");
+			writer.write("  \"timestamp\": " + System.currentTimeMillis() + ",\n");
+			writer.write("  \"javaVersion\": \"" + System.getProperty("java.version") + "\",\n");
+			writer.write("  \"vm\": \"" + System.getProperty("java.vm.name") + "\",\n");
+			writer.write("  \"availableProcessors\": " + Runtime.getRuntime().availableProcessors() + ",\n");
+			writer.write("  \"results\": [\n");
+			for(int index = 0; index < results.size(); index++) {
+				writer.write("    " + results.get(index).toJson() + (index < results.size() - 1 ? ",\n" : "\n"));
+			}
+			writer.write("  ]\n");
+			writer.write("}\n");
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package com.kms.chinesechess.benchmark;
+
+import java.util.Locale;
+
+/**
+ * Benchmark 하나의 측정 결과를 저장하는 데이터 클래스
+ * @author Kwon
+ *
+ */
+public class BenchmarkResult {
+	public final String NAME;
+	public final long OPERATION_COUNT;
+	public final double NANOS_PER_OPERATION;
+	public final long P50_NANOS, P99_NANOS, MAX_NANOS;
+	public final double BYTES_PER_OPERATION;	// JMH gc 프로파일러의 gc.alloc.rate.norm
+	public final double ALLOCATION_MB_PER_SECOND;	// JMH gc 프로파일러의 gc.alloc.rate
+	public final long GC_COUNT, GC_MILLIS;
+	
+	BenchmarkResult(String name, long operationCount, double nanosPerOperation, long p50Nanos, long p99Nanos, long maxNanos,
+			double bytesPerOperation, double allocationMBPerSecond, long gcCount, long gcMillis) {
+		this.NAME = name;
+		this.OPERATION_COUNT = operationCount;
+		this.NANOS_PER_OPERATION = nanosPerOperation;
+		this.P50_NANOS = p50Nanos;
+		this.P99_NANOS = p99Nanos;
+		this.MAX_NANOS = maxNanos;
+		this.BYTES_PER_OPERATION = bytesPerOperation;
+		this.ALLOCATION_MB_PER_SECOND = allocationMBPerSecond;
+		this.GC_COUNT = gcCount;
+		this.GC_MILLIS = gcMillis;
+	}
+	/**
+	 * 결과를 JSON 객체의 문자열로 반환하는 매서드
+	 * @return JSON 객체
+	 */
+	public String toJson() {
+		return String.format(Locale.ROOT, "{\"benchmark\":\"%s\",\"operations\":%d,\"nsPerOp\":%.2f,\"p50Nanos\":%d,\"p99Nanos\":%d,\"maxNanos\":%d,"
+				+ "\"bytesPerOp\":%.2f,\"allocationMBPerSec\":%.2f,\"gcCount\":%d,\"gcMillis\":%d}",
+				NAME, OPERATION_COUNT, NANOS_PER_OPERATION, P50_NANOS, P99_NANOS, MAX_NANOS, BYTES_PER_OPERATION, ALLOCATION_MB_PER_SECOND, GC_COUNT, GC_MILLIS);
+	}
+	
+	@Override
+	public String toString() {
+		return String.format(Locale.ROOT, "%-45s %10.1f ns/op  p50 %8d ns  p99 %8d ns  %10.1f B/op  %8.1f MB/s  gc %d (%d ms)",
+				NAME, NANOS_PER_OPERATION, P50_NANOS, P99_NANOS, BYTES_PER_OPERATION, ALLOCATION_MB_PER_SECOND, GC_COUNT, GC_MILLIS);
+	}
+}
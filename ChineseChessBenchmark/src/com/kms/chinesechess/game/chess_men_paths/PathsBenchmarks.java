@@ -0,0 +1,81 @@
+package com.kms.chinesechess.game.chess_men_paths;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.kms.chinesechess.benchmark.Benchmark;
+import com.kms.chinesechess.game.data.Move;
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.game.data.board.BoardNotation;
+import com.kms.chinesechess.game.data.board.BoardStatus;
+import com.kms.chinesechess.game.perft.PerftMain;
+import com.kms.chinesechess.support.Location;
+
+/**
+ * chess_men_paths의 이동 경로 계산 연산들의 Benchmark를 생성하는 클래스
+ * 연산마다 PerftMain.TEST_POSITIONS의 장기판들을 번갈아 사용한다.
+ * @author Kwon
+ *
+ */
+public class PathsBenchmarks {
+	private PathsBenchmarks() {}
+	
+	public static List<Benchmark> create() {
+		int count = PerftMain.TEST_POSITIONS.length;
+		BoardStatus[] boardStatuses = new BoardStatus[count];
+		TeamType[] teamTypes = new TeamType[count];
+		ChessMenPaths[] chessMenPaths = new ChessMenPaths[count];
+		MoveGenerator[] moveGenerators = new MoveGenerator[count];
+		Location[][] quietMoves = new Location[count][];	// 증분 계산에 사용할 잡지 않는 이동, 되돌릴 때 잡힌 장기말을 복원할 필요가 없다.
+		int[] moves = new int[MoveGenerator.MAX_MOVE_COUNT];
+		
+		for(int position = 0; position < count; position++) {
+			boardStatuses[position] = new BoardStatus();
+			teamTypes[position] = BoardNotation.setUp(boardStatuses[position], PerftMain.TEST_POSITIONS[position]);
+			chessMenPaths[position] = new ChessMenPaths(boardStatuses[position]);
+			chessMenPaths[position].setPaths();
+			moveGenerators[position] = new MoveGenerator(boardStatuses[position]);
+			quietMoves[position] = getQuietMove(boardStatuses[position], chessMenPaths[position], teamTypes[position], moves);
+		}
+		
+		List<Benchmark> benchmarks = new ArrayList<>();
+		benchmarks.add(new Benchmark("chess_men_paths.setPaths", invocation -> {
+			chessMenPaths[invocation % count].setPaths();
+			return 0;
+		}));
+		benchmarks.add(new Benchmark("chess_men_paths.setPaths.incremental", invocation -> {
+			int position = (invocation >>> 1) % count;	// 같은 장기판에서 이동과 되돌리기를 번갈아 실행한다.
+			Location before = quietMoves[position][(invocation & 1)], after = quietMoves[position][1 - (invocation & 1)];
+			boardStatuses[position].moveBoxStatus(before, after);
+			chessMenPaths[position].setPaths(before, after);
+			return 0;
+		}));
+		benchmarks.add(new Benchmark("chess_men_paths.getAllMovablePaths", invocation -> {
+			int position = invocation % count;
+			return chessMenPaths[position].getAllMovablePaths(teamTypes[position]).size();
+		}));
+		benchmarks.add(new Benchmark("chess_men_paths.getAllMoves", invocation -> {
+			int position = invocation % count;
+			return chessMenPaths[position].getAllMoves(teamTypes[position], moves);
+		}));
+		benchmarks.add(new Benchmark("chess_men_paths.isChecked", invocation -> {
+			int position = invocation % count;
+			return chessMenPaths[position].isChecked(teamTypes[position]) ? 1 : 0;
+		}));
+		benchmarks.add(new Benchmark("chess_men_paths.MoveGenerator.generateMoves", invocation -> {
+			int position = invocation % count;
+			return moveGenerators[position].generateMoves(teamTypes[position], moves, 0);
+		}));
+		
+		return benchmarks;
+	}
+	
+	private static Location[] getQuietMove(BoardStatus boardStatus, ChessMenPaths paths, TeamType teamType, int[] moves) {
+		int count = paths.getAllMoves(teamType, moves);
+		for(int position = 0; position < count; position++) {
+			if(boardStatus.isSpace(Move.getDestination(moves[position])))
+				return new Location[] { Location.instanceAt(Move.getSource(moves[position])), Location.instanceAt(Move.getDestination(moves[position])) };
+		}
+		throw new IllegalStateException("No quiet move");
+	}
+}
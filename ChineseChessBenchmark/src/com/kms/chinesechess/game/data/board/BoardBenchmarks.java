@@ -0,0 +1,72 @@
+package com.kms.chinesechess.game.data.board;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.kms.chinesechess.benchmark.Benchmark;
+import com.kms.chinesechess.game.chess_men_paths.MoveGenerator;
+import com.kms.chinesechess.game.data.Move;
+import com.kms.chinesechess.game.data.TeamType;
+import com.kms.chinesechess.game.perft.PerftMain;
+import com.kms.chinesechess.support.Location;
+
+/**
+ * data.board의 장기판 연산들의 Benchmark를 생성하는 클래스
+ * 연산마다 PerftMain.TEST_POSITIONS의 장기판들을 번갈아 사용한다.
+ * @author Kwon
+ *
+ */
+public class BoardBenchmarks {
+	private BoardBenchmarks() {}
+	
+	public static List<Benchmark> create() {
+		int count = PerftMain.TEST_POSITIONS.length;
+		BoardStatus[] boardStatuses = new BoardStatus[count];
+		TeamType[] teamTypes = new TeamType[count];
+		Location[][] madeMoves = new Location[count][];	// makeMove에 사용할 이동, 잡는 이동이 있으면 잡는 이동을 사용한다.
+		int[] moves = new int[MoveGenerator.MAX_MOVE_COUNT];
+		
+		for(int position = 0; position < count; position++) {
+			boardStatuses[position] = new BoardStatus();
+			teamTypes[position] = BoardNotation.setUp(boardStatuses[position], PerftMain.TEST_POSITIONS[position]);
+			madeMoves[position] = getMove(boardStatuses[position], teamTypes[position], moves);
+		}
+		BoardStatus copy = new BoardStatus();
+		
+		List<Benchmark> benchmarks = new ArrayList<>();
+		benchmarks.add(new Benchmark("board.BoardStatus.copy", invocation -> {
+			copy.copy(boardStatuses[invocation % count]);
+			return copy.getZobristKey();
+		}));
+		benchmarks.add(new Benchmark("board.BoardStatus.makeMove/unmakeMove", invocation -> {
+			BoardStatus boardStatus = boardStatuses[(invocation >>> 1) % count];	// 같은 장기판에서 이동과 되돌리기를 번갈아 실행한다.
+			if((invocation & 1) == 0) {
+				Location[] madeMove = madeMoves[(invocation >>> 1) % count];
+				boardStatus.makeMove(madeMove[0], madeMove[1]);
+			} else {
+				boardStatus.unmakeMove();
+			}
+			return boardStatus.getZobristKey();
+		}));
+		benchmarks.add(new Benchmark("board.BoardNotation.toNotation", invocation -> {
+			int position = invocation % count;
+			return BoardNotation.toNotation(boardStatuses[position], teamTypes[position]).length();
+		}));
+		benchmarks.add(new Benchmark("board.BoardNotation.setUp", invocation -> {
+			return BoardNotation.setUp(copy, PerftMain.TEST_POSITIONS[invocation % count]).ordinal();
+		}));
+		
+		return benchmarks;
+	}
+	
+	private static Location[] getMove(BoardStatus boardStatus, TeamType teamType, int[] moves) {
+		int count = new MoveGenerator(boardStatus).generateMoves(teamType, moves, 0), selected = 0;
+		for(int position = 0; position < count; position++) {
+			if(!boardStatus.isSpace(Move.getDestination(moves[position]))) {
+				selected = position;
+				break;
+			}
+		}
+		return new Location[] { Location.instanceAt(Move.getSource(moves[selected])), Location.instanceAt(Move.getDestination(moves[selected])) };
+	}
+}
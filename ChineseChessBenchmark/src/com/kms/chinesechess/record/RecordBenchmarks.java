@@ -0,0 +1,148 @@
+package com.kms.chinesechess.record;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.kms.chinesechess.benchmark.Benchmark;
+import com.kms.chinesechess.game.data.Move;
+import com.kms.chinesechess.game.data.ResultType;
+import com.kms.chinesechess.game.engine.GameStatus;
+import com.kms.chinesechess.record.RecordReader.Record;
+
+/**
+ * record의 게임 전적 읽기, 최신화, 게임 기록 쓰기, 읽기 연산들의 Benchmark를 생성하는 클래스
+ * 실제 전적 파일을 읽고 쓰므로 생성할 때 파일의 내용을 백업하고 측정이 끝나면 복원한다.
+ * 게임 기록은 측정을 준비할 때 만든 임시 파일에 쓰고 측정이 끝나면 지우므로, 측정하지 않는 Benchmark는 파일을 만들지 않는다.
+ * @author Kwon
+ *
+ */
+public class RecordBenchmarks {
+	private static final ResultType[] RESULT_TYPES = ResultType.values();
+	private static final int GAME_LOG_MOVE_COUNT = 80;	// 측정에 사용할 대국 하나의 이동의 수
+	private static final int SCANNED_GAME_COUNT = 1000;	// 읽기 측정에서 한번에 읽을 대국의 수
+	
+	private RecordBenchmarks() {}
+	
+	public static List<Benchmark> create() {
+		byte[] backup = readBackup();
+		Runnable restore = () -> restoreBackup(backup);
+		
+		List<Benchmark> benchmarks = new ArrayList<>();
+		benchmarks.add(new Benchmark("record.RecordReader.getRecord", invocation -> {
+			Record record = RecordReader.INSTANCE.getRecord();
+			return record.getWinCount() + record.getDrawCount() + record.getLoseCount();
+		}, restore));
+		benchmarks.add(new Benchmark("record.RecordUpdater.updateRecord", invocation -> {
+			RecordUpdater.INSTANCE.updateRecord(RESULT_TYPES[invocation % RESULT_TYPES.length]);
+			return 0;
+		}, restore));
+		benchmarks.addAll(createGameLogBenchmarks());
+		
+		return benchmarks;
+	}
+	/**
+	 * 임시 파일에 게임 기록을 이어서 쓰는 연산과, 대국 SCANNED_GAME_COUNT개를 처음부터 읽는 연산의 Benchmark를 생성하는 매서드
+	 * @return 생성된 Benchmark들
+	 */
+	private static List<Benchmark> createGameLogBenchmarks() {
+		int[] moves = new int[GAME_LOG_MOVE_COUNT];
+		for(int position = 0; position < moves.length; position++)	moves[position] = Move.encode(position, position + 9);
+		GameLog gameLog = new GameLog(GameStatus.HOME_WIN, 0, 0, moves);
+		
+		List<Benchmark> benchmarks = new ArrayList<>();
+		TempGameLog appendLog = new TempGameLog(gameLog, 0, true);
+		benchmarks.add(new Benchmark("record.GameLogWriter.append", appendLog::setUp, invocation -> {
+			try {
+				appendLog.writer.append(gameLog);
+			} catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			return 0;
+		}, appendLog::tearDown));
+		
+		TempGameLog scanLog = new TempGameLog(gameLog, SCANNED_GAME_COUNT, false);
+		benchmarks.add(new Benchmark("record.GameLogReader.scan", scanLog::setUp, invocation -> {
+			long moveCount = 0;
+			try(GameLogReader reader = new GameLogReader(scanLog.path)) {
+				while(reader.hasNext())	moveCount += reader.next().getMoveCount();
+			} catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			return moveCount;
+		}, scanLog::tearDown));
+		
+		return benchmarks;
+	}
+	/**
+	 * 전적 파일의 내용을 읽어오는 매서드
+	 * @return 파일의 내용, 파일이 없으면 null
+	 */
+	private static byte[] readBackup() {
+		try {
+			return RecordReader.INSTANCE.FILE.exists() ? Files.readAllBytes(RecordReader.INSTANCE.FILE.toPath()) : null;
+		} catch(IOException e) {
+			throw new IllegalStateException("Cannot back up " + RecordReader.INSTANCE.FILE, e);
+		}
+	}
+	
+	/**
+	 * 전적 파일을 백업한 내용으로 되돌리는 매서드, 전적 파일은 StatsStore가 매핑하고 있으므로 파일을 줄이지 않고 덮어쓴다.
+	 * StatsService가 모아둔 게임 결과가 되돌린 후에 쓰이지 않도록 먼저 쓰게 한다.
+	 * @param backup 백업한 내용, null이면 파일을 지운다.
+	 */
+	private static void restoreBackup(byte[] backup) {
+		try {
+			if(RecordReader.INSTANCE.STATS_SERVICE != null)	RecordReader.INSTANCE.STATS_SERVICE.flush();
+			if(backup == null)	Files.deleteIfExists(RecordReader.INSTANCE.FILE.toPath());
+			else	Files.write(RecordReader.INSTANCE.FILE.toPath(), backup, StandardOpenOption.WRITE);
+		} catch(IOException e) { e.printStackTrace(); }
+	}
+	/**
+	 * 측정하는 동안만 존재하는 임시 게임 기록 파일, setUp()에서 만들고 tearDown()에서 닫고 지운다.
+	 * @author Kwon
+	 *
+	 */
+	private static class TempGameLog {
+		private final GameLog GAME_LOG;
+		private final int GAME_COUNT;			// 만들 때 미리 써둘 대국의 수
+		private final boolean IS_WRITER_OPEN;	// 만든 후 이어서 쓸 수 있도록 writer를 열어둘지 여부
+		
+		private Path path = null;
+		private GameLogWriter writer = null;	// IS_WRITER_OPEN이면 열어둔 writer, 아니면 null
+		
+		private TempGameLog(GameLog gameLog, int gameCount, boolean isWriterOpen) {
+			this.GAME_LOG = gameLog;
+			this.GAME_COUNT = gameCount;
+			this.IS_WRITER_OPEN = isWriterOpen;
+		}
+		
+		private void setUp() {
+			try {
+				path = Files.createTempFile("benchmark", ".log");
+				Files.delete(path);
+				writer = new GameLogWriter(path);
+				for(int count = 0; count < GAME_COUNT; count++)	writer.append(GAME_LOG);
+				if(!IS_WRITER_OPEN) {
+					writer.close();
+					writer = null;
+				}
+			} catch(IOException e) {
+				throw new UncheckedIOException("Cannot create game log", e);
+			}
+		}
+		
+		private void tearDown() {
+			try {
+				if(writer != null)	writer.close();
+				if(path != null)	Files.deleteIfExists(path);
+			} catch(IOException e) { e.printStackTrace(); }
+			writer = null;
+			path = null;
+		}
+	}
+}